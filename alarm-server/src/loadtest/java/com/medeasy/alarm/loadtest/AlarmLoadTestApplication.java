@@ -0,0 +1,39 @@
+package com.medeasy.alarm.loadtest;
+
+import com.medeasy.alarm.MedeasyAlarmApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+
+/**
+ * 알림 전송 파이프라인 부하 테스트 실행
+ *
+ * 알림 서버 빈을 그대로 사용하되 다음을 바꾼다.
+ * - @EnableScheduling 을 사용하지 않아 AlarmScheduler 대신 AlarmLoadTestRunner 가 가상 시계로 tick 을 진행한다.
+ * - FirebaseMessaging 대신 FakeFcmGateway 로 전송한다. (firebase.enabled=false)
+ *
+ * 실행: ./gradlew loadTest -Dloadtest.users=1000000 (설정은 application-loadtest.yml)
+ * */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@AutoConfigurationPackage(basePackages = "com.medeasy.alarm")
+@ComponentScan(
+        basePackages = "com.medeasy.alarm",
+        excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = MedeasyAlarmApplication.class)
+)
+public class AlarmLoadTestApplication {
+
+    public static void main(String[] args) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(AlarmLoadTestApplication.class)
+                .profiles("loadtest")
+                .run(args);
+
+        // 부하 테스트는 ApplicationReadyEvent 에서 끝까지 실행된다.
+        System.exit(SpringApplication.exit(context));
+    }
+}
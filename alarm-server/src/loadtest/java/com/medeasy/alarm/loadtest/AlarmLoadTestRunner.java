@@ -0,0 +1,237 @@
+package com.medeasy.alarm.loadtest;
+
+import com.medeasy.alarm.domain.alarm.dto.RoutineAlarmTargetDto;
+import com.medeasy.alarm.domain.alarm.escalation.AlarmEscalationEngine;
+import com.medeasy.alarm.domain.alarm.escalation.AlarmEscalationQueue;
+import com.medeasy.alarm.domain.alarm.escalation.AlarmTier;
+import com.medeasy.alarm.domain.alarm.wheel.AlarmDispatchJitter;
+import com.medeasy.alarm.domain.alarm.wheel.RoutineTimingWheel;
+import com.medeasy.alarm.domain.alarm_due.db.AlarmDueRepository;
+import com.medeasy.alarm.domain.fcm.service.FcmService;
+import com.medeasy.alarm.domain.notification.service.NotificationBulkWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 가상 시계로 알림 전송 파이프라인 실행 후 결과 보고
+ *
+ * 1. 데이터 생성 (LoadTestSeeder)
+ * 2. 적재: alarm_due 에서 [peak-time, peak-time + duration-minutes] 구간 조회 후 타이밍 휠 적재 (AlarmScheduler 와 같은 분산 offset 적용)
+ * 3. 전송: 가상 시각을 1초씩 진행하며 AlarmScheduler 와 같이 타이밍 휠 + 단계 알림 큐에서 꺼내 AlarmEscalationEngine 으로 전송
+ *    clock-speed 0 이면 tick 사이에 대기하지 않고, 1 이면 실제 시간과 같은 속도로 진행한다.
+ * 4. 보고: 처리량, 단계별 지연 시간 분위수(AlarmMetrics), 힙 최대 사용량
+ *
+ * 샤드는 사용하지 않으며(모든 사용자 담당) 누락 알림 재전송은 실행하지 않는다.
+ * */
+@Slf4j
+@Component
+public class AlarmLoadTestRunner {
+
+    private static final long HEAP_SAMPLE_MILLIS = 50;
+
+    // 보고할 AlarmMetrics 지표
+    private static final List<String> STAGE_TIMERS = List.of(
+            "alarm.dispatch.tick",
+            "alarm.dispatch.scan",
+            "alarm.fcm.send",
+            "alarm.notification.persist",
+            "alarm.routine_check.latency"
+    );
+
+    private final LoadTestSeeder loadTestSeeder;
+    private final AlarmDueRepository alarmDueRepository;
+    private final AlarmDispatchJitter alarmDispatchJitter;
+    private final AlarmEscalationEngine alarmEscalationEngine;
+    private final AlarmEscalationQueue alarmEscalationQueue;
+    private final FcmService fcmService;
+    private final NotificationBulkWriter notificationBulkWriter;
+    private final FakeFcmGateway fakeFcmGateway;
+    private final MeterRegistry meterRegistry;
+    private final boolean seed;
+    private final String date;
+    private final LocalTime peakTime;
+    private final long durationMinutes;
+    private final double clockSpeed;
+
+    public AlarmLoadTestRunner(
+            LoadTestSeeder loadTestSeeder,
+            AlarmDueRepository alarmDueRepository,
+            AlarmDispatchJitter alarmDispatchJitter,
+            AlarmEscalationEngine alarmEscalationEngine,
+            AlarmEscalationQueue alarmEscalationQueue,
+            FcmService fcmService,
+            NotificationBulkWriter notificationBulkWriter,
+            FakeFcmGateway fakeFcmGateway,
+            MeterRegistry meterRegistry,
+            @Value("${loadtest.seed:true}") boolean seed,
+            @Value("${loadtest.date:}") String date,
+            @Value("${loadtest.peak-time:08:00}") String peakTime,
+            @Value("${loadtest.duration-minutes:61}") long durationMinutes,
+            @Value("${loadtest.clock-speed:0}") double clockSpeed
+    ) {
+        this.loadTestSeeder = loadTestSeeder;
+        this.alarmDueRepository = alarmDueRepository;
+        this.alarmDispatchJitter = alarmDispatchJitter;
+        this.alarmEscalationEngine = alarmEscalationEngine;
+        this.alarmEscalationQueue = alarmEscalationQueue;
+        this.fcmService = fcmService;
+        this.notificationBulkWriter = notificationBulkWriter;
+        this.fakeFcmGateway = fakeFcmGateway;
+        this.meterRegistry = meterRegistry;
+        this.seed = seed;
+        this.date = date;
+        this.peakTime = LocalTime.parse(peakTime);
+        this.durationMinutes = durationMinutes;
+        this.clockSpeed = clockSpeed;
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void run() {
+        // 기본값은 내일 (오늘 이미 지난 시각이면 타이밍 휠에서 바로 꺼내지므로)
+        LocalDate runDate = date.isBlank() ? LocalDate.now().plusDays(1) : LocalDate.parse(date);
+        LocalDateTime from = runDate.atTime(peakTime);
+        LocalDateTime to = from.plusMinutes(durationMinutes);
+
+        if (seed) {
+            loadTestSeeder.seed(runDate, peakTime);
+        }
+
+        HeapSampler heapSampler = new HeapSampler();
+        Thread sampler = Thread.ofPlatform().daemon().name("loadtest-heap-sampler").start(heapSampler);
+
+        try {
+            // 적재
+            long loadStart = System.currentTimeMillis();
+            RoutineTimingWheel wheel = new RoutineTimingWheel();
+            wheel.poll(from.minusSeconds(1));
+            List<RoutineAlarmTargetDto> targets = alarmDueRepository.findAlarmTargetsBetween(from.minusSeconds(1), to);
+            List<RoutineTimingWheel.Entry> entries = new ArrayList<>(targets.size());
+            for (RoutineAlarmTargetDto target : targets) {
+                long dueAt = alarmDispatchJitter.dueAt(target.getUserId(), RoutineTimingWheel.toEpochSecond(target.getDueAt()));
+                entries.add(new RoutineTimingWheel.Entry(target.getRoutineId(), target.getUserId(), dueAt, AlarmTier.PRIMARY));
+            }
+            wheel.addAll(entries);
+            long loadMillis = System.currentTimeMillis() - loadStart;
+            log.info("부하 테스트 적재 완료: {} ~ {}, 루틴 {}건, {}ms", from, to, targets.size(), loadMillis);
+
+            // 전송
+            long dispatched = 0;
+            long busyTicks = 0;
+            long maxTickMillis = 0;
+            long driveStart = System.nanoTime();
+            for (long second = RoutineTimingWheel.toEpochSecond(from); second <= RoutineTimingWheel.toEpochSecond(to); second++) {
+                long tickStart = System.nanoTime();
+
+                List<RoutineTimingWheel.Entry> dueEntries = new ArrayList<>(wheel.poll(LocalDateTime.ofEpochSecond(second, 0, ZoneOffset.UTC)));
+                dueEntries.addAll(alarmEscalationQueue.pollDue(second));
+                if (!dueEntries.isEmpty()) {
+                    alarmEscalationEngine.dispatch(dueEntries);
+                    dispatched += dueEntries.size();
+                    busyTicks++;
+                }
+                fcmService.drainRetryQueue();
+
+                long tickMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - tickStart);
+                maxTickMillis = Math.max(maxTickMillis, tickMillis);
+                if (clockSpeed > 0) {
+                    sleep((long) (1000 / clockSpeed) - tickMillis);
+                }
+            }
+            long driveMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - driveStart));
+
+            // 대기 중인 알림 저장까지 완료 (종료 시 다시 호출되어도 바로 반환)
+            notificationBulkWriter.shutdown();
+
+            report(targets.size(), loadMillis, dispatched, busyTicks, maxTickMillis, driveMillis, heapSampler.maxUsed.get());
+        } catch (Exception e) {
+            log.error("부하 테스트 중 오류 발생: {}", e.getMessage(), e);
+        } finally {
+            sampler.interrupt();
+        }
+    }
+
+    private void report(int routines, long loadMillis, long dispatched, long busyTicks, long maxTickMillis, long driveMillis, long heapMaxUsed) {
+        StringBuilder report = new StringBuilder("\n===== 알림 전송 부하 테스트 결과 =====\n");
+        report.append(String.format("적재: 루틴 %d건, %dms%n", routines, loadMillis));
+        report.append(String.format("전송: 엔트리 %d건, 전송 tick %d개, 최대 tick %dms, 전체 %dms%n", dispatched, busyTicks, maxTickMillis, driveMillis));
+        report.append(String.format("처리량: 엔트리 %.1f/s, FCM 메시지 %.1f/s%n",
+                dispatched * 1000.0 / driveMillis, fakeFcmGateway.getAccepted() * 1000.0 / driveMillis));
+        report.append(String.format("FCM: 요청 %d회, 성공 %d건, 실패 %d건%n",
+                fakeFcmGateway.getRequests(), fakeFcmGateway.getAccepted(), fakeFcmGateway.getRejected()));
+        report.append(String.format("힙 최대 사용량: %.1fMB%n", heapMaxUsed / 1024.0 / 1024.0));
+
+        for (String name : STAGE_TIMERS) {
+            for (Timer timer : meterRegistry.find(name).timers()) {
+                HistogramSnapshot snapshot = timer.takeSnapshot();
+                report.append(String.format("%s %s: %d회, 평균 %.1fms, 최대 %.1fms",
+                        name, timer.getId().getTags(), snapshot.count(), snapshot.mean(TimeUnit.MILLISECONDS), snapshot.max(TimeUnit.MILLISECONDS)));
+                for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+                    report.append(String.format(", p%s %.1fms",
+                            formatPercentile(percentile.percentile()), percentile.value(TimeUnit.MILLISECONDS)));
+                }
+                report.append('\n');
+            }
+        }
+
+        log.info(report.toString());
+    }
+
+    private static String formatPercentile(double percentile) {
+        double value = percentile * 100;
+        return value == Math.rint(value) ? String.valueOf((long) value) : String.valueOf(value);
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 힙 사용량을 주기적으로 조회하여 최대값 기록 (GC 직전 최대치에 가깝게 측정)
+     * */
+    private static class HeapSampler implements Runnable {
+
+        private final MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+        private final AtomicLong maxUsed = new AtomicLong();
+
+        @Override
+        public void run() {
+            while (!Thread.currentThread().isInterrupted()) {
+                maxUsed.accumulateAndGet(memoryMXBean.getHeapMemoryUsage().getUsed(), Math::max);
+                try {
+                    Thread.sleep(HEAP_SAMPLE_MILLIS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+}
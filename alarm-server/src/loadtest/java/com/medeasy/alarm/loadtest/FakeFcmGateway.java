@@ -0,0 +1,110 @@
+package com.medeasy.alarm.loadtest;
+
+import com.google.firebase.messaging.Message;
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.medeasy.alarm.domain.fcm.dto.FcmSendReport;
+import com.medeasy.alarm.domain.fcm.gateway.FcmGateway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 부하 테스트용 FCM 서버
+ *
+ * 요청마다 latency-millis ± latency-jitter-millis 만큼 대기한 후 메시지별로 오류 비율에 따라 실패를 반환한다.
+ * - invalid-token-rate: UNREGISTERED (token 정리)
+ * - unavailable-rate: UNAVAILABLE (backoff 재시도)
+ * - request-failure-rate: 요청 전체 실패 (오류 코드 없음)
+ * */
+@Component
+public class FakeFcmGateway implements FcmGateway {
+
+    private final long latencyMillis;
+    private final long latencyJitterMillis;
+    private final double invalidTokenRate;
+    private final double unavailableRate;
+    private final double requestFailureRate;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public FakeFcmGateway(
+            @Value("${loadtest.fcm.latency-millis:80}") long latencyMillis,
+            @Value("${loadtest.fcm.latency-jitter-millis:40}") long latencyJitterMillis,
+            @Value("${loadtest.fcm.invalid-token-rate:0.001}") double invalidTokenRate,
+            @Value("${loadtest.fcm.unavailable-rate:0.001}") double unavailableRate,
+            @Value("${loadtest.fcm.request-failure-rate:0}") double requestFailureRate
+    ) {
+        this.latencyMillis = latencyMillis;
+        this.latencyJitterMillis = latencyJitterMillis;
+        this.invalidTokenRate = invalidTokenRate;
+        this.unavailableRate = unavailableRate;
+        this.requestFailureRate = requestFailureRate;
+    }
+
+    @Override
+    public String send(Message message) {
+        requests.increment();
+        sleep();
+        accepted.increment();
+        return "fake-" + System.nanoTime();
+    }
+
+    @Override
+    public FcmSendReport sendEach(List<Message> messages, long timeoutSeconds) throws Exception {
+        requests.increment();
+        sleep();
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextDouble() < requestFailureRate) {
+            rejected.add(messages.size());
+            throw new IOException("fake FCM 요청 실패");
+        }
+
+        List<FcmSendReport.Failure> failures = new ArrayList<>();
+        for (int i = 0; i < messages.size(); i++) {
+            double p = random.nextDouble();
+            if (p < invalidTokenRate) {
+                failures.add(new FcmSendReport.Failure(i, MessagingErrorCode.UNREGISTERED, "fake unregistered"));
+            } else if (p < invalidTokenRate + unavailableRate) {
+                failures.add(new FcmSendReport.Failure(i, MessagingErrorCode.UNAVAILABLE, "fake unavailable"));
+            }
+        }
+
+        accepted.add(messages.size() - failures.size());
+        rejected.add(failures.size());
+        return new FcmSendReport(messages.size() - failures.size(), failures);
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getAccepted() {
+        return accepted.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    private void sleep() {
+        long jitter = latencyJitterMillis > 0 ? ThreadLocalRandom.current().nextLong(-latencyJitterMillis, latencyJitterMillis + 1) : 0;
+        long millis = Math.max(0, latencyMillis + jitter);
+        if (millis == 0) {
+            return;
+        }
+
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.medeasy.alarm.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 부하 테스트 데이터 생성
+ *
+ * main-server 스키마(alarm_due 포함)가 있는 PostgreSQL 을 대상으로 generate_series 로 한 번에 생성한다.
+ * - 사용자 users 명, 사용자마다 복용 시간 schedules-per-user 개 (첫 복용 시간이 peak-time)
+ * - 사용자마다 약 medicines-per-user 개, 약마다 복용 시간별 루틴 1건 (date 하루)
+ * - care-receiver-every 명 중 1명은 다른 부하 테스트 사용자 care-providers-per-receiver 명이 보호자
+ * - 모든 사용자의 fcm token (fcm_tokens:{userId})
+ *
+ * 이전 실행에서 생성한 사용자(email loadtest-*@medeasy.local)와 관련 데이터는 먼저 삭제한다.
+ * */
+@Slf4j
+@Component
+public class LoadTestSeeder {
+
+    private static final String EMAIL_PATTERN = "loadtest-%@medeasy.local";
+    private static final String LOADTEST_USER_IDS = "SELECT id FROM \"user\" WHERE email LIKE '" + EMAIL_PATTERN + "'";
+    private static final String FCM_TOKEN_KEY_PREFIX = "fcm_tokens:";
+    private static final int TOKEN_PIPELINE_SIZE = 10000;
+
+    // 기본 복용 시간 (아침, 점심, 저녁, 자기 전) 의 첫 복용 시간 기준 간격
+    private static final String[] SCHEDULE_NAMES = {"아침", "점심", "저녁", "자기 전"};
+    private static final int[] SCHEDULE_OFFSET_HOURS = {0, 4, 10, 14};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StringRedisTemplate jwtRedisTemplate;
+    private final int users;
+    private final int schedulesPerUser;
+    private final int medicinesPerUser;
+    private final int careReceiverEvery;
+    private final int careProvidersPerReceiver;
+
+    public LoadTestSeeder(
+            JdbcTemplate jdbcTemplate,
+            @Qualifier("jwtRedisTemplate") StringRedisTemplate jwtRedisTemplate,
+            @Value("${loadtest.users:100000}") int users,
+            @Value("${loadtest.schedules-per-user:4}") int schedulesPerUser,
+            @Value("${loadtest.medicines-per-user:2}") int medicinesPerUser,
+            @Value("${loadtest.care-receiver-every:10}") int careReceiverEvery,
+            @Value("${loadtest.care-providers-per-receiver:2}") int careProvidersPerReceiver
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jwtRedisTemplate = jwtRedisTemplate;
+        this.users = users;
+        this.schedulesPerUser = Math.clamp(schedulesPerUser, 1, SCHEDULE_NAMES.length);
+        this.medicinesPerUser = medicinesPerUser;
+        this.careReceiverEvery = careReceiverEvery;
+        this.careProvidersPerReceiver = careProvidersPerReceiver;
+    }
+
+    public SeedResult seed(LocalDate date, LocalTime peakTime) {
+        long start = System.currentTimeMillis();
+        clear();
+
+        jdbcTemplate.update(
+                "INSERT INTO \"user\" (email, name, password, gender, registered_at, logined_at, is_notification_agreed) " +
+                        "SELECT 'loadtest-' || g || '@medeasy.local', 'loadtest' || g, 'loadtest', 'MALE', now(), now(), true " +
+                        "FROM generate_series(1, ?) g",
+                users
+        );
+
+        List<Object> scheduleParams = new ArrayList<>();
+        StringBuilder scheduleValues = new StringBuilder();
+        for (int i = 0; i < schedulesPerUser; i++) {
+            scheduleValues.append(i == 0 ? "" : ", ").append("(?, ?::time)");
+            scheduleParams.add(SCHEDULE_NAMES[i]);
+            scheduleParams.add(peakTime.plusHours(SCHEDULE_OFFSET_HOURS[i]).toString());
+        }
+        jdbcTemplate.update(
+                "INSERT INTO user_schedule (user_id, name, take_time) " +
+                        "SELECT u.id, s.name, s.take_time FROM (" + LOADTEST_USER_IDS + ") u " +
+                        "CROSS JOIN (VALUES " + scheduleValues + ") AS s (name, take_time)",
+                scheduleParams.toArray()
+        );
+
+        jdbcTemplate.update(
+                "INSERT INTO routine_group (id, created_at, updated_at, nickname, medicine_id, dose, user_id) " +
+                        "SELECT nextval('routine_group_id_seq'), now(), now(), 'loadtest 약 ' || m, 'loadtest-' || m, 1, u.id " +
+                        "FROM (" + LOADTEST_USER_IDS + ") u CROSS JOIN generate_series(1, ?) m",
+                medicinesPerUser
+        );
+
+        int routines = jdbcTemplate.update(
+                "INSERT INTO routine (id, take_date, user_schedule_id, is_taken, routine_group_id) " +
+                        "SELECT nextval('routine_id_seq'), ?, us.id, false, rg.id " +
+                        "FROM routine_group rg JOIN user_schedule us ON us.user_id = rg.user_id " +
+                        "WHERE rg.user_id IN (" + LOADTEST_USER_IDS + ")",
+                date
+        );
+
+        // main-server 가 루틴 등록 시 갱신하는 알림 일정
+        jdbcTemplate.update(
+                "INSERT INTO alarm_due (routine_id, due_at, user_id, nickname, is_taken) " +
+                        "SELECT r.id, r.take_date + us.take_time, rg.user_id, rg.nickname, r.is_taken " +
+                        "FROM routine r " +
+                        "JOIN routine_group rg ON rg.id = r.routine_group_id " +
+                        "JOIN user_schedule us ON us.id = r.user_schedule_id " +
+                        "WHERE rg.user_id IN (" + LOADTEST_USER_IDS + ") " +
+                        "ON CONFLICT (routine_id) DO NOTHING"
+        );
+
+        // n 번째 사용자의 보호자: n+1 ~ n+k 번째 사용자
+        int careEdges = careReceiverEvery <= 0 || careProvidersPerReceiver <= 0 ? 0 : jdbcTemplate.update(
+                "WITH numbered AS (" +
+                        "SELECT id, row_number() OVER (ORDER BY id) - 1 AS n, count(*) OVER () AS total " +
+                        "FROM \"user\" WHERE email LIKE '" + EMAIL_PATTERN + "') " +
+                        "INSERT INTO user_care_mapping (id, care_provider_id, care_receiver_id, registered_at) " +
+                        "SELECT nextval('user_care_mapping_id_seq'), p.id, r.id, now() " +
+                        "FROM numbered r CROSS JOIN generate_series(1, ?) k " +
+                        "JOIN numbered p ON p.n = (r.n + k) % r.total " +
+                        "WHERE r.n % ? = 0 AND p.id <> r.id",
+                careProvidersPerReceiver, careReceiverEvery
+        );
+
+        jdbcTemplate.execute("ANALYZE \"user\", user_schedule, routine_group, routine, alarm_due, user_care_mapping");
+        writeFcmTokens();
+
+        SeedResult result = new SeedResult(users, routines, careEdges, System.currentTimeMillis() - start);
+        log.info("부하 테스트 데이터 생성 완료: {}", result);
+        return result;
+    }
+
+    private void clear() {
+        jdbcTemplate.update("DELETE FROM user_care_mapping WHERE care_provider_id IN (" + LOADTEST_USER_IDS + ") " +
+                "OR care_receiver_id IN (" + LOADTEST_USER_IDS + ")");
+        // alarm_due 는 FK 로 함께 삭제된다.
+        jdbcTemplate.update("DELETE FROM routine WHERE routine_group_id IN " +
+                "(SELECT id FROM routine_group WHERE user_id IN (" + LOADTEST_USER_IDS + "))");
+        jdbcTemplate.update("DELETE FROM routine_group WHERE user_id IN (" + LOADTEST_USER_IDS + ")");
+        jdbcTemplate.update("DELETE FROM user_schedule WHERE user_id IN (" + LOADTEST_USER_IDS + ")");
+        int deleted = jdbcTemplate.update("DELETE FROM \"user\" WHERE email LIKE '" + EMAIL_PATTERN + "'");
+        log.info("이전 부하 테스트 사용자 삭제: {}명", deleted);
+    }
+
+    private void writeFcmTokens() {
+        List<Long> userIds = jdbcTemplate.queryForList(LOADTEST_USER_IDS, Long.class);
+        for (int i = 0; i < userIds.size(); i += TOKEN_PIPELINE_SIZE) {
+            List<Long> chunk = userIds.subList(i, Math.min(i + TOKEN_PIPELINE_SIZE, userIds.size()));
+            jwtRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (Long userId : chunk) {
+                    connection.stringCommands().set(
+                            (FCM_TOKEN_KEY_PREFIX + userId).getBytes(StandardCharsets.UTF_8),
+                            ("loadtest-token-" + userId).getBytes(StandardCharsets.UTF_8)
+                    );
+                }
+                return null;
+            });
+        }
+    }
+
+    public record SeedResult(int users, int routines, int careEdges, long elapsedMillis) {
+    }
+}
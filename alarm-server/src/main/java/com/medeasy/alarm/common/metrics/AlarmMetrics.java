@@ -0,0 +1,225 @@
+package com.medeasy.alarm.common.metrics;
+
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.medeasy.alarm.domain.alarm.wheel.RoutineTimingWheel;
+import com.medeasy.alarm.domain.fcm.dto.FcmSendReport;
+import com.medeasy.alarm.domain.fcm.limiter.FcmPriority;
+import com.medeasy.alarm.domain.fcm.limiter.FcmRetryQueue;
+import io.micrometer.core.instrument.*;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 알림 서버 지표 (Micrometer, /actuator/prometheus 로 수집)
+ *
+ * - alarm.dispatch.*: tick 전송 단계별 처리량, 조회 시간
+ * - alarm.delivery.latency: 알림 시각부터 FCM 전송 완료까지 걸린 시간 (SLO 구간별 histogram)
+ * - alarm.fcm.*: FCM 전송 시간, 오류 코드별 결과, 전송 예산 부족, 재시도 큐 크기
+ * - alarm.notification.*: 알림 기록 저장 시간, 저장 대기열 크기와 대기 시간, 임시 보관 건수
+ * - alarm.routine_check.*: 복약 체크 이벤트 처리 지연, 미처리 이벤트 수
+ * - alarm.care_event.deliveries: 보호자 알림 전달 경로별(SSE, FCM) 건수
+ *
+ * 지표 이름과 태그는 이 클래스에서만 정의한다.
+ * */
+@Component
+public class AlarmMetrics {
+
+    private static final String NONE = "none";
+
+    // 알림 지연 SLO 구간 (복용 시각 기준 n초 이내 전송 비율)
+    private static final Duration[] DELIVERY_SLO = {
+            Duration.ofSeconds(1), Duration.ofSeconds(5), Duration.ofSeconds(10),
+            Duration.ofSeconds(30), Duration.ofSeconds(60), Duration.ofMinutes(5)
+    };
+
+    private final MeterRegistry meterRegistry;
+    private final Timer dispatchTimer;
+    private final Counter dispatchUsers;
+    private final Timer fcmSendTimer;
+    private final Timer routineCheckLatency;
+    private final AtomicLong routineCheckPending = new AtomicLong();
+    private final AtomicLong routineCheckLagSeconds = new AtomicLong();
+
+    public AlarmMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+
+        this.dispatchTimer = Timer.builder("alarm.dispatch.tick")
+                .description("tick 에 도래한 알림 전체 전송 시간")
+                .register(meterRegistry);
+        this.dispatchUsers = Counter.builder("alarm.dispatch.users")
+                .description("수신자를 조회한 사용자 수")
+                .register(meterRegistry);
+        this.fcmSendTimer = Timer.builder("alarm.fcm.send")
+                .description("FCM sendEach 청크(최대 500건) 전송 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.routineCheckLatency = Timer.builder("alarm.routine_check.latency")
+                .description("복약 체크 시각부터 이벤트 처리 완료까지 걸린 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        Gauge.builder("alarm.routine_check.pending", routineCheckPending, AtomicLong::get)
+                .description("읽었지만 ack 하지 않은 복약 체크 이벤트 수")
+                .register(meterRegistry);
+        Gauge.builder("alarm.routine_check.lag", routineCheckLagSeconds, AtomicLong::get)
+                .description("마지막으로 발행된 이벤트와 마지막으로 읽은 이벤트의 발행 시각 차이")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    public void recordDispatch(long elapsedMillis) {
+        dispatchTimer.record(elapsedMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param query 조회 종류 (routine: tick 청크 루틴 조회, catch_up: 누락 알림 조회)
+     * */
+    public void recordScan(String query, long elapsedMillis, int rows) {
+        Timer.builder("alarm.dispatch.scan")
+                .description("알림 대상 조회 쿼리 시간")
+                .tag("query", query)
+                .register(meterRegistry)
+                .record(elapsedMillis, TimeUnit.MILLISECONDS);
+        DistributionSummary.builder("alarm.dispatch.scan.rows")
+                .description("알림 대상 조회 쿼리 결과 행 수")
+                .tag("query", query)
+                .register(meterRegistry)
+                .record(rows);
+    }
+
+    public void recordUsersResolved(int users) {
+        dispatchUsers.increment(users);
+    }
+
+    public void recordMessagesBuilt(FcmPriority priority, int messages) {
+        Counter.builder("alarm.dispatch.messages")
+                .description("생성한 FCM 메시지 수")
+                .tag("priority", priority.name())
+                .register(meterRegistry)
+                .increment(messages);
+    }
+
+    /**
+     * 알림 시각(타이밍 휠 엔트리의 dueAt)부터 지금까지 걸린 시간을 단계별로 기록
+     * */
+    public void recordDeliveryLatency(List<RoutineTimingWheel.Entry> entries) {
+        long nowMillis = LocalDateTime.now().toInstant(ZoneOffset.UTC).toEpochMilli();
+        for (RoutineTimingWheel.Entry entry : entries) {
+            Timer.builder("alarm.delivery.latency")
+                    .description("알림 시각부터 FCM 전송 완료까지 걸린 시간")
+                    .tag("tier", entry.tier().name())
+                    .serviceLevelObjectives(DELIVERY_SLO)
+                    .register(meterRegistry)
+                    .record(Math.max(0, nowMillis - entry.dueAt() * 1000), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void recordFcmSend(long elapsedNanos) {
+        fcmSendTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 성공 건수와 오류 코드별 실패 건수 기록 (청크 전체 실패 등 오류 코드가 없는 실패는 error_code=none)
+     * */
+    public void recordFcmResults(FcmSendReport report) {
+        fcmResultCounter("success", NONE).increment(report.getSuccessCount());
+        for (FcmSendReport.Failure failure : report.getFailures()) {
+            MessagingErrorCode errorCode = failure.errorCode();
+            fcmResultCounter("failure", errorCode == null ? NONE : errorCode.name()).increment();
+        }
+    }
+
+    public void recordFcmDeferred(FcmPriority priority, int deferred, int dropped) {
+        Counter.builder("alarm.fcm.deferred")
+                .description("전송 예산 부족으로 재시도 큐에 넣은 메시지 수")
+                .tag("priority", priority.name())
+                .register(meterRegistry)
+                .increment(deferred);
+        Counter.builder("alarm.fcm.dropped")
+                .description("재시도 큐가 가득 차 전송하지 못한 메시지 수 (호출자에게 전송 실패로 반환)")
+                .tag("priority", priority.name())
+                .register(meterRegistry)
+                .increment(dropped);
+    }
+
+    public void registerFcmRetryQueue(FcmRetryQueue fcmRetryQueue) {
+        for (FcmPriority priority : FcmPriority.values()) {
+            Gauge.builder("alarm.fcm.retry.queue", fcmRetryQueue, queue -> queue.size(priority))
+                    .description("FCM 재시도 큐에 대기 중인 메시지 수")
+                    .tag("priority", priority.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    public void recordNotificationPersist(long elapsedMillis, boolean success) {
+        Timer.builder("alarm.notification.persist")
+                .description("알림 기록 저장 시간 (notification_event, notification_recipient, 안읽은 알림 수)")
+                .tag("result", success ? "success" : "failure")
+                .register(meterRegistry)
+                .record(elapsedMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void registerNotificationWriteQueue(BlockingQueue<?> writeQueue) {
+        Gauge.builder("alarm.notification.write.queue", writeQueue, BlockingQueue::size)
+                .description("알림 저장 대기열에 대기 중인 저장 요청 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 저장 대기열이 가득 차 호출 스레드가 기다린 시간 (accepted=false 면 기다린 후에도 자리가 없어 임시 보관)
+     * */
+    public void recordNotificationBackpressure(long waitNanos, boolean accepted) {
+        Timer.builder("alarm.notification.write.blocked")
+                .description("알림 저장 대기열이 가득 차 호출 스레드가 기다린 시간")
+                .tag("accepted", String.valueOf(accepted))
+                .register(meterRegistry)
+                .record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param reason queue_full: 저장 대기열 초과, write_failed: 재시도 후 저장 실패, shutdown: 종료 시 미처리
+     * */
+    public void recordNotificationSpill(String reason, int drafts) {
+        Counter.builder("alarm.notification.spilled")
+                .description("저장하지 못해 임시 보관한 알림 수")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment(drafts);
+    }
+
+    public void recordRoutineCheckLatency(LocalDateTime checkedAt) {
+        Duration latency = Duration.between(checkedAt, LocalDateTime.now());
+        routineCheckLatency.record(latency.isNegative() ? Duration.ZERO : latency);
+    }
+
+    public void setRoutineCheckBacklog(long pending, long lagSeconds) {
+        routineCheckPending.set(pending);
+        routineCheckLagSeconds.set(lagSeconds);
+    }
+
+    /**
+     * @param channel sse: main-server SSE 로 전달, fcm: SSE 미연결 또는 발행 실패로 FCM 전송
+     * */
+    public void recordCareEventDelivery(String channel, int deliveries) {
+        Counter.builder("alarm.care_event.deliveries")
+                .description("보호자 알림 전달 경로별 건수 (보호자 1명 기준)")
+                .tag("channel", channel)
+                .register(meterRegistry)
+                .increment(deliveries);
+    }
+
+    private Counter fcmResultCounter(String result, String errorCode) {
+        return Counter.builder("alarm.fcm.messages")
+                .description("FCM 전송 결과별 메시지 수")
+                .tag("result", result)
+                .tag("error_code", errorCode)
+                .register(meterRegistry);
+    }
+}
@@ -5,6 +5,7 @@ import com.google.firebase.FirebaseApp;
 import com.google.firebase.FirebaseOptions;
 import com.google.firebase.messaging.FirebaseMessaging;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -13,14 +14,18 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Configuration
 public class FirebaseConfig {
-    @Value("${firebase.account.url}")
-    private String firebaseAccountUrl;
 
+    /**
+     * firebase.enabled=false 이면 생성하지 않는다. (부하 테스트에서 FcmGateway 를 대체하는 경우)
+     * */
     @Bean
-    public FirebaseMessaging firebaseApp() throws IOException {
+    @ConditionalOnProperty(name = "firebase.enabled", havingValue = "true", matchIfMissing = true)
+    public FirebaseMessaging firebaseApp(@Value("${firebase.account.url}") String firebaseAccountUrl) throws IOException {
         FileInputStream serviceAccount = new FileInputStream(firebaseAccountUrl);
 
         GoogleCredentials credentials = GoogleCredentials.fromStream(serviceAccount)
@@ -34,4 +39,13 @@ public class FirebaseConfig {
 
         return FirebaseMessaging.getInstance();
     }
+
+    /**
+     * FCM 청크 전송용 가상 스레드 executor
+     * 동시 전송 청크 수는 FcmService 에서 제한한다.
+     * */
+    @Bean(name = "fcmSendExecutor", destroyMethod = "close")
+    public ExecutorService fcmSendExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
 }
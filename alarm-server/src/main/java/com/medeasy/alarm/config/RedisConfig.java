@@ -14,6 +14,7 @@ import org.springframework.data.redis.connection.lettuce.LettuceClientConfigurat
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
@@ -109,6 +110,22 @@ public class RedisConfig {
         return new StringRedisTemplate(redisConnectionFactoryJwt);
     }
 
+    // 알림 Redis에 대한 StringRedisTemplate (샤드 lease 등 문자열 값 저장용)
+    @Bean(name = "redisAlarmStringTemplate")
+    public StringRedisTemplate redisAlarmStringTemplate(
+            @Qualifier("redisConnectionFactoryAlarm") RedisConnectionFactory connectionFactory) {
+        return new StringRedisTemplate(connectionFactory);
+    }
+
+    // 알림 Redis pub/sub 구독 컨테이너 (main-server 루틴 변경 이벤트 수신)
+    @Bean(name = "redisAlarmMessageListenerContainer")
+    public RedisMessageListenerContainer redisAlarmMessageListenerContainer(
+            @Qualifier("redisConnectionFactoryAlarm") RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
     // 알림용 RedisTemplate - 제네릭 타입 문제 해결
     @Bean(name = "redisAlarmTemplate")
     public RedisTemplate<String, RoutineCheckEvent> redisAlarmTemplate(
@@ -57,7 +57,9 @@ public class WebSecurityConfig {
                                     "/v3/api-docs/**", // swagger 호출하는 주소
                                     "/",
                                     "favicon.ico",
-                                    "/error"
+                                    "/error",
+                                    "/actuator/health/**", // management 포트에서만 제공
+                                    "/actuator/prometheus"
                                     )
                             .permitAll()
                             .anyRequest().authenticated()
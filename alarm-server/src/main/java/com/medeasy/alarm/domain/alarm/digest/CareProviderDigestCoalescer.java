@@ -0,0 +1,71 @@
+package com.medeasy.alarm.domain.alarm.digest;
+
+import com.google.firebase.messaging.Message;
+import com.medeasy.alarm.domain.fcm.service.FcmService;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * 한 tick 에 같은 FCM token 으로 가는 보호자 push 를 하나의 요약 메시지로 묶는다.
+ *
+ * 여러 보호 대상자를 돌보는 보호자는 대상자별, 단계별로 같은 시각에 여러 push 를 받으므로
+ * 대상자별 루틴 수를 합쳐 1건으로 전송한다. (알림 기록은 대상자별로 그대로 저장)
+ * 예) "엄마님 외 1명의 복약 알림이 있어요." / "엄마님 2건, 아빠님 2건"
+ * */
+@Service
+public class CareProviderDigestCoalescer {
+
+    // 본문에 이름을 표시할 최대 대상자 수
+    private static final int MAX_BODY_RECEIVERS = 3;
+
+    private final FcmService fcmService;
+
+    public CareProviderDigestCoalescer(FcmService fcmService) {
+        this.fcmService = fcmService;
+    }
+
+    /**
+     * @return token -> 전송할 메시지 (push 가 처음 나온 순서)
+     * */
+    public Map<String, Message> coalesce(List<CareProviderPush> pushes) {
+        Map<String, List<CareProviderPush>> pushesByToken = new LinkedHashMap<>();
+        for (CareProviderPush push : pushes) {
+            pushesByToken.computeIfAbsent(push.fcmToken(), token -> new ArrayList<>()).add(push);
+        }
+
+        Map<String, Message> messages = new LinkedHashMap<>();
+        pushesByToken.forEach((token, tokenPushes) -> {
+            if (tokenPushes.size() == 1) {
+                CareProviderPush push = tokenPushes.getFirst();
+                messages.put(token, fcmService.buildFcmMessage(push.title(), push.body(), token));
+            } else {
+                messages.put(token, buildDigest(token, tokenPushes));
+            }
+        });
+        return messages;
+    }
+
+    private Message buildDigest(String token, List<CareProviderPush> tokenPushes) {
+        // 대상자별 루틴 수 합산 (단계가 달라도 같은 대상자는 합친다)
+        Map<String, Integer> routineCountByReceiver = new LinkedHashMap<>();
+        for (CareProviderPush push : tokenPushes) {
+            routineCountByReceiver.merge(push.careReceiverName(), push.routineCount(), Integer::sum);
+        }
+
+        List<String> receiverNames = new ArrayList<>(routineCountByReceiver.keySet());
+        String title = receiverNames.size() == 1
+                ? receiverNames.getFirst() + "님의 복약 알림이 " + tokenPushes.size() + "건 있어요."
+                : receiverNames.getFirst() + "님 외 " + (receiverNames.size() - 1) + "명의 복약 알림이 있어요.";
+
+        StringJoiner body = new StringJoiner(", ");
+        receiverNames.stream()
+                .limit(MAX_BODY_RECEIVERS)
+                .forEach(name -> body.add(name + "님 " + routineCountByReceiver.get(name) + "건"));
+        if (receiverNames.size() > MAX_BODY_RECEIVERS) {
+            body.add("외 " + (receiverNames.size() - MAX_BODY_RECEIVERS) + "명");
+        }
+
+        return fcmService.buildFcmMessage(title, body.toString(), token);
+    }
+}
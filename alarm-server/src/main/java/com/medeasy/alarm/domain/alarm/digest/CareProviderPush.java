@@ -0,0 +1,31 @@
+package com.medeasy.alarm.domain.alarm.digest;
+
+import com.medeasy.alarm.domain.alarm.escalation.AlarmTier;
+
+import java.util.List;
+
+/**
+ * 보호자에게 보낼 push 1건 (전송 전 묶음 처리용)
+ *
+ * @param careProviderId   받는 보호자 (token 정리, SSE 전달용)
+ * @param fcmToken         보호자 FCM token, 없으면 SSE 로만 전달
+ * @param careReceiverId   보호 대상자
+ * @param careReceiverName 보호 대상자 이름
+ * @param routineIds       알림 대상 루틴
+ * @param tier             알림 단계
+ * */
+public record CareProviderPush(
+        Long careProviderId,
+        String fcmToken,
+        String title,
+        String body,
+        Long careReceiverId,
+        String careReceiverName,
+        List<Long> routineIds,
+        AlarmTier tier
+) {
+
+    public int routineCount() {
+        return routineIds.size();
+    }
+}
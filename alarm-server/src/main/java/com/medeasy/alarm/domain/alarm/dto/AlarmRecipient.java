@@ -0,0 +1,23 @@
+package com.medeasy.alarm.domain.alarm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 알림 수신자 (사용자 또는 보호자) 최소 정보
+ * */
+@Getter
+@AllArgsConstructor
+@Builder
+public class AlarmRecipient {
+
+    private final Long userId;
+
+    private final String name;
+
+    private final boolean notificationAgreed;
+
+    // 토큰이 없는 경우 null
+    private final String fcmToken;
+}
@@ -0,0 +1,47 @@
+package com.medeasy.alarm.domain.alarm.dto;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 알림 전송 tick 단위로 일괄 조회한 수신자 정보 (불변)
+ *
+ * 사용자, 보호 관계, fcm token 을 tick 시작 시점에 한 번에 조회하고
+ * 이후 메시지 생성 단계에서는 DB, Redis 조회 없이 이 테이블만 참조한다.
+ * */
+public class AlarmRecipientTable {
+
+    private static final AlarmRecipientTable EMPTY = new AlarmRecipientTable(Map.of(), Map.of());
+
+    private final Map<Long, AlarmRecipient> recipients;
+    private final Map<Long, List<Long>> careProviderIdsByReceiverId;
+
+    public AlarmRecipientTable(
+            Map<Long, AlarmRecipient> recipients,
+            Map<Long, List<Long>> careProviderIdsByReceiverId
+    ) {
+        this.recipients = Map.copyOf(recipients);
+        this.careProviderIdsByReceiverId = careProviderIdsByReceiverId.entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, entry -> List.copyOf(entry.getValue())));
+    }
+
+    public static AlarmRecipientTable empty() {
+        return EMPTY;
+    }
+
+    /**
+     * 탈퇴 등으로 존재하지 않는 사용자는 null
+     * */
+    public AlarmRecipient getRecipient(Long userId) {
+        return recipients.get(userId);
+    }
+
+    public List<Long> getCareProviderIds(Long careReceiverId) {
+        return careProviderIdsByReceiverId.getOrDefault(careReceiverId, List.of());
+    }
+
+    public int size() {
+        return recipients.size();
+    }
+}
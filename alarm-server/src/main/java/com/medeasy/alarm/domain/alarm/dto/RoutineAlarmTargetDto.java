@@ -0,0 +1,24 @@
+package com.medeasy.alarm.domain.alarm.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 타이밍 휠 적재용 루틴 최소 정보
+ *
+ * 엔티티 그래프 대신 알림 시각 계산에 필요한 값만 조회한다.
+ * */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RoutineAlarmTargetDto {
+    private Long routineId;
+
+    private Long userId;
+
+    // take_date + take_time
+    private LocalDateTime dueAt;
+}
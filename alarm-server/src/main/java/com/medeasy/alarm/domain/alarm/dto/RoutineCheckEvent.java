@@ -8,6 +8,7 @@ import lombok.NoArgsConstructor;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @Builder
@@ -26,4 +27,6 @@ public class RoutineCheckEvent implements Serializable {
     private Long userId;
     @JsonProperty("checked_at")
     private LocalDateTime checkedAt;
+    @JsonProperty("routine_ids")
+    private List<Long> routineIds;
 }
@@ -0,0 +1,87 @@
+package com.medeasy.alarm.domain.alarm.escalation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * 알림 전송 기록 (routineId, tier, date)
+ *
+ * 전송 전에 일괄 조회하여 이미 전송된 알림을 제외하고, 전송 후 일괄 기록한다. (SET NX + TTL)
+ * 서버 재시작, 레플리카 간 샤드 이동, 지연된 tick 으로 같은 구간을 다시 처리해도 중복 전송되지 않는다.
+ * */
+@Slf4j
+@Service
+public class AlarmDeliveryLedger {
+
+    private static final String LEDGER_KEY_PREFIX = "alarm:delivered:";
+
+    private final StringRedisTemplate redisAlarmStringTemplate;
+    private final Duration ttl;
+
+    public AlarmDeliveryLedger(
+            @Qualifier("redisAlarmStringTemplate") StringRedisTemplate redisAlarmStringTemplate,
+            @Value("${alarm.ledger.ttl-hours:48}") long ttlHours
+    ) {
+        this.redisAlarmStringTemplate = redisAlarmStringTemplate;
+        this.ttl = Duration.ofHours(ttlHours);
+    }
+
+    public static String key(long routineId, AlarmTier tier, LocalDate date) {
+        return LEDGER_KEY_PREFIX + date + ":" + tier.name() + ":" + routineId;
+    }
+
+    /**
+     * 이미 전송 기록이 있는 key 목록 (MGET 1회), 수정 가능한 Set 으로 반환
+     * */
+    public Set<String> findDelivered(List<String> keys) {
+        Set<String> delivered = new HashSet<>();
+        if (keys.isEmpty()) {
+            return delivered;
+        }
+
+        List<String> values = redisAlarmStringTemplate.opsForValue().multiGet(keys);
+        if (values == null) {
+            return delivered;
+        }
+
+        for (int i = 0; i < keys.size(); i++) {
+            if (values.get(i) != null) {
+                delivered.add(keys.get(i));
+            }
+        }
+        return delivered;
+    }
+
+    /**
+     * 전송 기록 일괄 저장 (파이프라인 SET NX EX)
+     * */
+    public void markDelivered(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        String deliveredAt = String.valueOf(System.currentTimeMillis());
+        redisAlarmStringTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String key : keys) {
+                connection.stringCommands().set(
+                        key.getBytes(StandardCharsets.UTF_8),
+                        deliveredAt.getBytes(StandardCharsets.UTF_8),
+                        Expiration.from(ttl),
+                        RedisStringCommands.SetOption.SET_IF_ABSENT
+                );
+            }
+            return null;
+        });
+    }
+}
@@ -0,0 +1,47 @@
+package com.medeasy.alarm.domain.alarm.escalation;
+
+import com.medeasy.alarm.domain.alarm.dto.AlarmRecipient;
+import com.medeasy.alarm.domain.alarm.wheel.RoutineTimingWheel;
+import com.medeasy.alarm.domain.fcm.dto.FcmSendReport;
+import com.medeasy.alarm.domain.fcm.limiter.FcmPriority;
+
+import java.util.*;
+
+/**
+ * 청크의 사용자 알림 전송 결과로 엔트리별 처리 방법 결정
+ *
+ * - 전송 성공, 유효하지 않은 token: 전송 완료 (전송 기록 저장, 단계 알림 ack)
+ * - 재시도 큐에 넣은 메시지: 재시도 전송 이후 전송 완료 처리
+ * - 그 외 실패 (청크 전송 실패, 타임아웃, 재시도 큐 초과 등): 전송 실패, 전송 기록과 ack 없이 다시 전송 대상으로 남긴다.
+ *
+ * 사용자 메시지가 없는 엔트리 (알림 미동의, token 없음) 는 전송 완료로 본다.
+ * */
+class AlarmDeliveryOutcome {
+
+    private final Map<FcmPriority, Set<Long>> pendingUserIds = new EnumMap<>(FcmPriority.class);
+    private final Map<FcmPriority, Set<Long>> failedUserIds = new EnumMap<>(FcmPriority.class);
+
+    /**
+     * @param recipients 메시지별 수신자 (메시지와 같은 index)
+     * */
+    void record(FcmPriority priority, List<AlarmRecipient> recipients, FcmSendReport report) {
+        for (int index : report.getPendingIndexes()) {
+            pendingUserIds.computeIfAbsent(priority, key -> new HashSet<>()).add(recipients.get(index).getUserId());
+        }
+        for (int index : report.getUndeliveredIndexes()) {
+            failedUserIds.computeIfAbsent(priority, key -> new HashSet<>()).add(recipients.get(index).getUserId());
+        }
+    }
+
+    boolean isDelivered(RoutineTimingWheel.Entry entry) {
+        return !contains(pendingUserIds, entry) && !isFailed(entry);
+    }
+
+    boolean isFailed(RoutineTimingWheel.Entry entry) {
+        return contains(failedUserIds, entry);
+    }
+
+    private static boolean contains(Map<FcmPriority, Set<Long>> userIds, RoutineTimingWheel.Entry entry) {
+        return userIds.getOrDefault(entry.tier().getUserFcmPriority(), Set.of()).contains(entry.userId());
+    }
+}
@@ -0,0 +1,567 @@
+package com.medeasy.alarm.domain.alarm.escalation;
+
+import com.google.firebase.messaging.Message;
+import com.medeasy.alarm.common.metrics.AlarmMetrics;
+import com.medeasy.alarm.domain.alarm.digest.CareProviderDigestCoalescer;
+import com.medeasy.alarm.domain.alarm.digest.CareProviderPush;
+import com.medeasy.alarm.domain.alarm.dto.AlarmRecipient;
+import com.medeasy.alarm.domain.alarm.dto.AlarmRecipientTable;
+import com.medeasy.alarm.domain.alarm.service.AlarmRecipientResolver;
+import com.medeasy.alarm.domain.alarm.service.AlarmService;
+import com.medeasy.alarm.domain.alarm.wheel.RoutineTimingWheel;
+import com.medeasy.alarm.domain.care_event.dto.CareEvent;
+import com.medeasy.alarm.domain.care_event.dto.CareEventMessage;
+import com.medeasy.alarm.domain.care_event.service.CareEventPublisher;
+import com.medeasy.alarm.domain.fcm.dto.FcmFailureType;
+import com.medeasy.alarm.domain.fcm.dto.FcmSendReport;
+import com.medeasy.alarm.domain.fcm.limiter.FcmPriority;
+import com.medeasy.alarm.domain.fcm.service.FcmService;
+import com.medeasy.alarm.domain.notification.dto.NotificationDraft;
+import com.medeasy.alarm.domain.notification.service.NotificationBulkWriter;
+import com.medeasy.alarm.domain.routine.db.RoutineEntity;
+import com.medeasy.alarm.domain.routine.db.RoutineRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * 단계별 복약 알림 전송
+ *
+ * 한 tick 에 도래한 모든 단계(복용 시각 - 타이밍 휠, +30분, +60분 - 지연 작업 큐)의 알림을
+ * 청크 단위로 루틴 조회, 수신자 일괄 조회, FCM 전송 / 알림 저장 하고, 단계에 맞는 AlarmService 로 메시지를 생성한다.
+ * */
+@Slf4j
+@Service
+public class AlarmEscalationEngine {
+
+    private final RoutineRepository routineRepository;
+    private final AlarmRecipientResolver alarmRecipientResolver;
+    private final FcmService fcmService;
+    private final NotificationBulkWriter notificationBulkWriter;
+    private final Map<String, AlarmService> alarmServices;
+    private final AlarmEscalationQueue alarmEscalationQueue;
+    private final AlarmDeliveryLedger alarmDeliveryLedger;
+    private final CareProviderDigestCoalescer careProviderDigestCoalescer;
+    private final CareEventPublisher careEventPublisher;
+    private final AlarmMetrics alarmMetrics;
+    private final int chunkSize;
+    private final int queueCapacity;
+
+    public AlarmEscalationEngine(
+            RoutineRepository routineRepository,
+            AlarmRecipientResolver alarmRecipientResolver,
+            FcmService fcmService,
+            NotificationBulkWriter notificationBulkWriter,
+            Map<String, AlarmService> alarmServices,
+            AlarmEscalationQueue alarmEscalationQueue,
+            AlarmDeliveryLedger alarmDeliveryLedger,
+            CareProviderDigestCoalescer careProviderDigestCoalescer,
+            CareEventPublisher careEventPublisher,
+            AlarmMetrics alarmMetrics,
+            @Value("${alarm.dispatch.chunk-size:500}") int chunkSize,
+            @Value("${alarm.dispatch.queue-capacity:2}") int queueCapacity
+    ) {
+        this.routineRepository = routineRepository;
+        this.alarmRecipientResolver = alarmRecipientResolver;
+        this.fcmService = fcmService;
+        this.notificationBulkWriter = notificationBulkWriter;
+        this.alarmServices = alarmServices;
+        this.alarmEscalationQueue = alarmEscalationQueue;
+        this.alarmDeliveryLedger = alarmDeliveryLedger;
+        this.careProviderDigestCoalescer = careProviderDigestCoalescer;
+        this.careEventPublisher = careEventPublisher;
+        this.alarmMetrics = alarmMetrics;
+        this.chunkSize = chunkSize;
+        this.queueCapacity = queueCapacity;
+
+        // 단계별 AlarmService 누락 시 기동 실패
+        for (AlarmTier tier : AlarmTier.values()) {
+            getAlarmService(tier.getUserAlarmServiceName());
+            getAlarmService(tier.getCareProviderAlarmServiceName());
+        }
+    }
+
+    /**
+     * 도래한 알림을 사용자 단위 청크로 나누어 3단계 파이프라인으로 전송
+     *
+     * 1. 조회 (호출 스레드): 청크의 복용하지 않은 루틴 조회, 전송 기록 확인, 다음 단계 알림 예약
+     * 2. 생성 (가상 스레드): 수신자 일괄 조회, 메시지 / 알림 기록 생성
+     * 3. 전송 (가상 스레드): FCM 전송, 유효하지 않은 token 정리, 알림 기록 저장, 전송 기록 저장, 단계 알림 작업 ack
+     * 4. 보호자 요약 전송 (호출 스레드): 모든 청크의 보호자 push 를 token 별로 묶어 전송, 유효하지 않은 token 정리
+     *
+     * 단계 사이는 크기가 제한된 큐로 연결되어 메모리에는 최대 (큐 크기 + 단계 수) 개의 청크만 유지되며,
+     * 첫 청크의 알림은 나머지 청크 조회가 끝나기 전에 전송된다.
+     * 보호자의 보호 대상자는 여러 청크에 나뉠 수 있으므로 보호자 push 는 tick 의 모든 청크 처리 후 전송한다.
+     *
+     * @return 조회, 생성, 전송 중 오류로 전송하지 못한 엔트리 (전송 기록, 단계 알림 ack 가 저장되지 않아 다시 전송할 수 있다.)
+     * */
+    public List<RoutineTimingWheel.Entry> dispatch(List<RoutineTimingWheel.Entry> dueEntries) {
+        if (dueEntries.isEmpty()) {
+            return List.of();
+        }
+
+        long start = System.currentTimeMillis();
+        List<List<RoutineTimingWheel.Entry>> entryChunks = chunkByUser(dueEntries);
+
+        BlockingQueue<LoadedChunk> loadedQueue = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<BuiltChunk> builtQueue = new ArrayBlockingQueue<>(queueCapacity);
+
+        List<RoutineTimingWheel.Entry> failedEntries = Collections.synchronizedList(new ArrayList<>());
+        Thread builder = Thread.ofVirtual().name("alarm-dispatch-builder").start(() -> buildStage(loadedQueue, builtQueue, failedEntries));
+        List<CareProviderPush> careProviderPushes = new ArrayList<>();
+        Thread sender = Thread.ofVirtual().name("alarm-dispatch-sender").start(() -> sendStage(builtQueue, careProviderPushes, failedEntries));
+
+        int loaded = 0;
+        try {
+            for (List<RoutineTimingWheel.Entry> entryChunk : entryChunks) {
+                LoadedChunk loadedChunk = load(entryChunk, failedEntries);
+                if (loadedChunk != null) {
+                    loadedQueue.put(loadedChunk);
+                }
+                loaded++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            entryChunks.subList(loaded, entryChunks.size()).forEach(failedEntries::addAll);
+        } finally {
+            putQuietly(loadedQueue, LoadedChunk.END);
+            joinQuietly(builder);
+            joinQuietly(sender);
+        }
+
+        // join 이후이므로 sender 가 추가한 push 를 모두 볼 수 있다.
+        sendCareProviderDigests(careProviderPushes);
+
+        alarmMetrics.recordDispatch(System.currentTimeMillis() - start);
+        log.info("알림 전송 완료: 엔트리 {}건, 청크 {}개, 실패 {}건, {}ms",
+                dueEntries.size(), entryChunks.size(), failedEntries.size(), System.currentTimeMillis() - start);
+        return new ArrayList<>(failedEntries);
+    }
+
+    /**
+     * userId 순으로 정렬 후 한 사용자의 엔트리가 여러 청크로 나뉘지 않도록 청크 분할
+     * */
+    private List<List<RoutineTimingWheel.Entry>> chunkByUser(List<RoutineTimingWheel.Entry> dueEntries) {
+        List<RoutineTimingWheel.Entry> sorted = new ArrayList<>(dueEntries);
+        sorted.sort(Comparator.comparingLong(RoutineTimingWheel.Entry::userId));
+
+        List<List<RoutineTimingWheel.Entry>> chunks = new ArrayList<>();
+        List<RoutineTimingWheel.Entry> current = new ArrayList<>();
+        for (RoutineTimingWheel.Entry entry : sorted) {
+            if (current.size() >= chunkSize && current.getLast().userId() != entry.userId()) {
+                chunks.add(current);
+                current = new ArrayList<>();
+            }
+            current.add(entry);
+        }
+        if (!current.isEmpty()) {
+            chunks.add(current);
+        }
+        return chunks;
+    }
+
+    /**
+     * 1단계: 청크의 복용하지 않은 루틴 조회 후 단계 -> userId -> 루틴 리스트로 그룹화
+     * */
+    private LoadedChunk load(List<RoutineTimingWheel.Entry> entryChunk, List<RoutineTimingWheel.Entry> failedEntries) {
+        try {
+            // 휠 적재 이후 복용 체크된 루틴은 조회 단계에서 제외
+            List<Long> routineIds = entryChunk.stream().map(RoutineTimingWheel.Entry::routineId).distinct().toList();
+            Map<Long, RoutineEntity> routinesById = new HashMap<>();
+            long scanStart = System.currentTimeMillis();
+            List<RoutineEntity> routines = routineRepository.findAllByIdInAndIsTakenFalseWithMedicine(routineIds);
+            alarmMetrics.recordScan("routine", System.currentTimeMillis() - scanStart, routines.size());
+            routines.forEach(routineEntity -> routinesById.put(routineEntity.getId(), routineEntity));
+
+            // 이미 전송된 알림 제외 (재시작, 샤드 이동으로 같은 구간을 다시 처리한 경우)
+            Map<RoutineTimingWheel.Entry, String> ledgerKeys = new LinkedHashMap<>();
+            for (RoutineTimingWheel.Entry entry : entryChunk) {
+                RoutineEntity routineEntity = routinesById.get(entry.routineId());
+                if (routineEntity != null) {
+                    ledgerKeys.put(entry, AlarmDeliveryLedger.key(entry.routineId(), entry.tier(), routineEntity.getTakeDate()));
+                }
+            }
+            Set<String> delivered = alarmDeliveryLedger.findDelivered(new ArrayList<>(ledgerKeys.values()));
+            Set<String> deliveredBefore = new HashSet<>(delivered);
+
+            Map<AlarmTier, Map<Long, List<RoutineEntity>>> routinesByTier = new EnumMap<>(AlarmTier.class);
+            List<RoutineTimingWheel.Entry> primaryEntries = new ArrayList<>();
+            List<String> deliveryKeys = new ArrayList<>();
+            List<RoutineTimingWheel.Entry> deliveryEntries = new ArrayList<>();
+            List<RoutineTimingWheel.Entry> skippedEntries = new ArrayList<>();
+            for (RoutineTimingWheel.Entry entry : entryChunk) {
+                String ledgerKey = ledgerKeys.get(entry);
+                // 복용 완료, 이미 전송된 엔트리는 처리 완료 (같은 청크에 중복된 엔트리는 원본과 함께 ack 된다.)
+                if (ledgerKey == null || deliveredBefore.contains(ledgerKey)) {
+                    skippedEntries.add(entry);
+                    continue;
+                }
+                if (!delivered.add(ledgerKey)) {
+                    continue;
+                }
+                RoutineEntity routineEntity = routinesById.get(entry.routineId());
+                deliveryKeys.add(ledgerKey);
+                deliveryEntries.add(entry);
+
+                if (entry.tier() == AlarmTier.PRIMARY) {
+                    primaryEntries.add(entry);
+                }
+
+                routinesByTier.computeIfAbsent(entry.tier(), key -> new HashMap<>())
+                        .computeIfAbsent(routineEntity.getRoutineGroup().getUser().getId(), key -> new ArrayList<>())
+                        .add(routineEntity);
+            }
+
+            alarmEscalationQueue.ack(skippedEntries);
+
+            // 알림을 보낼 루틴이 없는 경우
+            if (routinesByTier.isEmpty()) {
+                return null;
+            }
+
+            // 복용하지 않은 루틴의 다음 단계 알림 예약 (전송 전에 적재하여 전송 중 종료되어도 단계 알림은 유지)
+            alarmEscalationQueue.enqueue(primaryEntries);
+
+            return new LoadedChunk(routinesByTier, deliveryKeys, deliveryEntries);
+        } catch (Exception e) {
+            log.error("알림 대상 루틴 조회 중 오류 발생: 엔트리 {}건, {}", entryChunk.size(), e.getMessage(), e);
+            failedEntries.addAll(entryChunk);
+            return null;
+        }
+    }
+
+    /**
+     * 2단계: 수신자 일괄 조회 후 메시지, 알림 기록 생성
+     * */
+    private void buildStage(
+            BlockingQueue<LoadedChunk> loadedQueue,
+            BlockingQueue<BuiltChunk> builtQueue,
+            List<RoutineTimingWheel.Entry> failedEntries
+    ) {
+        try {
+            while (true) {
+                LoadedChunk loadedChunk = loadedQueue.take();
+                if (loadedChunk == LoadedChunk.END) {
+                    break;
+                }
+
+                try {
+                    builtQueue.put(build(loadedChunk));
+                } catch (InterruptedException e) {
+                    throw e;
+                } catch (Exception e) {
+                    log.error("알림 메시지 생성 중 오류 발생: {}", e.getMessage(), e);
+                    failedEntries.addAll(loadedChunk.deliveryEntries());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            putQuietly(builtQueue, BuiltChunk.END);
+        }
+    }
+
+    private BuiltChunk build(LoadedChunk loadedChunk) {
+        // 사용자, 보호자, fcm token 일괄 조회
+        Set<Long> userIds = loadedChunk.routinesByTier().values().stream()
+                .flatMap(routinesByUserId -> routinesByUserId.keySet().stream())
+                .collect(Collectors.toSet());
+        AlarmRecipientTable recipientTable = alarmRecipientResolver.resolve(userIds);
+        alarmMetrics.recordUsersResolved(userIds.size());
+
+        Map<FcmPriority, UserMessages> messagesByPriority = new EnumMap<>(FcmPriority.class);
+        List<CareProviderPush> careProviderPushes = new ArrayList<>();
+        List<NotificationDraft> notificationDrafts=new ArrayList<>();
+
+        loadedChunk.routinesByTier().forEach((tier, routinesGroupedByUserId) -> {
+            log.info("알림 전송 시작: tier={}, 사용자 {}명", tier, routinesGroupedByUserId.size());
+            UserMessages messages = messagesByPriority.computeIfAbsent(tier.getUserFcmPriority(), priority -> new UserMessages());
+            addTierAlarms(tier, routinesGroupedByUserId, recipientTable, messages, careProviderPushes, notificationDrafts);
+        });
+
+        messagesByPriority.forEach((priority, messages) -> alarmMetrics.recordMessagesBuilt(priority, messages.messages().size()));
+        return new BuiltChunk(messagesByPriority, careProviderPushes, notificationDrafts, loadedChunk.deliveryKeys(), loadedChunk.deliveryEntries());
+    }
+
+    /**
+     * 3단계: FCM 전송, 유효하지 않은 token 정리, 알림 기록 저장
+     * 보호자 push 는 careProviderPushes 에 모아 tick 마지막에 전송한다.
+     * 재시도 큐에 넣어 아직 전송되지 않은 사용자 알림은 전송 기록, 단계 알림 ack 를 재시도 전송 이후로 미루고,
+     * 전송하지 못한 사용자 알림은 전송 기록, ack 없이 실패 엔트리로 반환한다. (AlarmDeliveryOutcome)
+     * (재시도 큐는 메모리에만 있으므로 전송 전 종료되면 단계 알림은 ack 기한 이후 다시 전송된다.)
+     * */
+    private void sendStage(
+            BlockingQueue<BuiltChunk> builtQueue,
+            List<CareProviderPush> careProviderPushes,
+            List<RoutineTimingWheel.Entry> failedEntries
+    ) {
+        try {
+            while (true) {
+                BuiltChunk builtChunk = builtQueue.take();
+                if (builtChunk == BuiltChunk.END) {
+                    break;
+                }
+
+                try {
+                    // 우선순위 순서로 전송 (EnumMap)
+                    Map<Long, String> invalidTokens = new HashMap<>();
+                    AlarmDeliveryOutcome outcome = new AlarmDeliveryOutcome();
+                    builtChunk.messagesByPriority().forEach((priority, messages) -> {
+                        FcmSendReport report = fcmService.sendMessages(messages.messages(), priority, index -> {
+                            Long userId = messages.recipients().get(index).getUserId();
+                            return () -> markDelivered(builtChunk, entry -> isUserDelivery(entry, priority, userId));
+                        });
+                        for (int index : report.getFailureIndexes(FcmFailureType.INVALID_TOKEN)) {
+                            AlarmRecipient user = messages.recipients().get(index);
+                            invalidTokens.put(user.getUserId(), user.getFcmToken());
+                        }
+                        outcome.record(priority, messages.recipients(), report);
+                    });
+                    alarmMetrics.recordDeliveryLatency(builtChunk.deliveryEntries());
+                    fcmService.pruneInvalidTokens(invalidTokens);
+                    careProviderPushes.addAll(builtChunk.careProviderPushes());
+                    notificationBulkWriter.writeAsync(builtChunk.notificationDrafts());
+                    markDelivered(builtChunk, outcome::isDelivered);
+
+                    // 전송하지 못한 엔트리는 watermark 를 유지하고 (복용 시각 알림), 단계 알림은 ack 기한 이후 다시 전송된다.
+                    builtChunk.deliveryEntries().stream().filter(outcome::isFailed).forEach(failedEntries::add);
+                } catch (Exception e) {
+                    log.error("알림 전송 중 오류 발생: {}", e.getMessage(), e);
+                    failedEntries.addAll(builtChunk.deliveryEntries());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 조건에 맞는 엔트리의 전송 기록 저장, 단계 알림 ack
+     * */
+    private void markDelivered(BuiltChunk builtChunk, Predicate<RoutineTimingWheel.Entry> filter) {
+        List<String> deliveryKeys = new ArrayList<>();
+        List<RoutineTimingWheel.Entry> deliveryEntries = new ArrayList<>();
+        for (int i = 0; i < builtChunk.deliveryEntries().size(); i++) {
+            RoutineTimingWheel.Entry entry = builtChunk.deliveryEntries().get(i);
+            if (filter.test(entry)) {
+                deliveryKeys.add(builtChunk.deliveryKeys().get(i));
+                deliveryEntries.add(entry);
+            }
+        }
+
+        alarmDeliveryLedger.markDelivered(deliveryKeys);
+        alarmEscalationQueue.ack(deliveryEntries);
+    }
+
+    private static boolean isUserDelivery(RoutineTimingWheel.Entry entry, FcmPriority priority, Long userId) {
+        return entry.userId() == userId && entry.tier().getUserFcmPriority() == priority;
+    }
+
+    private void addTierAlarms(
+            AlarmTier tier,
+            Map<Long, List<RoutineEntity>> routinesGroupedByUserId,
+            AlarmRecipientTable recipientTable,
+            UserMessages messages,
+            List<CareProviderPush> careProviderPushes,
+            List<NotificationDraft> notificationDrafts
+    ) {
+        AlarmService userAlarmService = getAlarmService(tier.getUserAlarmServiceName());
+        AlarmService careProviderAlarmService = getAlarmService(tier.getCareProviderAlarmServiceName());
+
+        routinesGroupedByUserId.forEach((userId, routineList) -> {
+            AlarmRecipient user = recipientTable.getRecipient(userId);
+            if (user == null) {
+                log.warn("알림 대상 사용자가 존재하지 않습니다: {}", userId);
+                return;
+            }
+
+            if (user.isNotificationAgreed()) {
+                messages.add(user, userAlarmService, routineList);
+            }
+            userAlarmService.addNotification(userId, List.of(userId), routineList, notificationDrafts);
+
+            // 보호자에게도 동일 루틴 리스트로 알림 전송, 알림 기록은 보호자 전체가 1건을 공유
+            List<Long> careProviderIds = new ArrayList<>();
+            recipientTable.getCareProviderIds(userId).forEach(careProviderId -> {
+                AlarmRecipient careProvider = recipientTable.getRecipient(careProviderId);
+                if (careProvider == null) {
+                    return;
+                }
+
+                if (careProvider.isNotificationAgreed()) {
+                    careProviderAlarmService.addPush(careProviderId, careProvider.getFcmToken(), userId, user.getName(), tier, routineList, careProviderPushes);
+                }
+                careProviderIds.add(careProviderId);
+            });
+            careProviderAlarmService.addNotification(userId, careProviderIds, routineList, notificationDrafts);
+        });
+    }
+
+    /**
+     * 4단계: SSE 로 연결된 보호자는 실시간 이벤트로 전달하고, 나머지는 같은 token 으로 가는 push 를 묶어 FCM 전송
+     * 유효하지 않은 token 은 그 token 을 사용하는 보호자 전체를 정리한다.
+     * */
+    private void sendCareProviderDigests(List<CareProviderPush> careProviderPushes) {
+        if (careProviderPushes.isEmpty()) {
+            return;
+        }
+
+        try {
+            sendCareProviderFcm(publishCareEvents(careProviderPushes));
+        } catch (Exception e) {
+            log.error("보호자 알림 전송 중 오류 발생: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 보호자 push 를 FCM token 기준으로 묶어 전송 (SSE 미연결 보호자)
+     * */
+    private void sendCareProviderFcm(List<CareProviderPush> careProviderPushes) {
+        List<CareProviderPush> fcmPushes = careProviderPushes.stream()
+                .filter(push -> push.fcmToken() != null)
+                .toList();
+        if (fcmPushes.isEmpty()) {
+            return;
+        }
+
+        try {
+            Map<String, Message> digestsByToken = careProviderDigestCoalescer.coalesce(fcmPushes);
+            List<String> tokens = new ArrayList<>(digestsByToken.keySet());
+            List<Message> digests = new ArrayList<>(digestsByToken.values());
+            FcmSendReport report = fcmService.sendMessages(digests, FcmPriority.CARE_PROVIDER);
+            alarmMetrics.recordCareEventDelivery("fcm", fcmPushes.size());
+
+            Set<String> invalidTokens = new HashSet<>();
+            report.getFailureIndexes(FcmFailureType.INVALID_TOKEN).forEach(index -> invalidTokens.add(tokens.get(index)));
+            Map<Long, String> invalidTokensByUserId = new HashMap<>();
+            fcmPushes.stream()
+                    .filter(push -> invalidTokens.contains(push.fcmToken()))
+                    .forEach(push -> invalidTokensByUserId.put(push.careProviderId(), push.fcmToken()));
+            fcmService.pruneInvalidTokens(invalidTokensByUserId);
+
+            log.info("보호자 알림 전송: push {}건 -> 메시지 {}건", fcmPushes.size(), digests.size());
+        } catch (Exception e) {
+            log.error("보호자 알림 FCM 전송 중 오류 발생: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * SSE 로 연결된 보호자의 push 를 같은 대상자, 단계끼리 묶어 실시간 이벤트로 발행
+     * SSE 로 전달되지 않은 보호자(발행 실패, 연결 종료)는 CareEventPublisher 가 전달 확인 이후 FCM 으로 전송한다.
+     *
+     * @return 바로 FCM 으로 전송할 push (SSE 미연결 보호자)
+     * */
+    private List<CareProviderPush> publishCareEvents(List<CareProviderPush> careProviderPushes) {
+        Set<Long> connectedIds = careEventPublisher.getConnectedCareProviderIds(
+                careProviderPushes.stream().map(CareProviderPush::careProviderId).toList()
+        );
+        if (connectedIds.isEmpty()) {
+            return careProviderPushes;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, CareEventMessage> messagesByEvent = new LinkedHashMap<>();
+        Map<Long, String> fcmTokens = new HashMap<>();
+        List<CareProviderPush> fcmPushes = new ArrayList<>();
+        for (CareProviderPush push : careProviderPushes) {
+            if (!connectedIds.contains(push.careProviderId())) {
+                fcmPushes.add(push);
+                continue;
+            }
+
+            String eventKey = push.careReceiverId() + ":" + push.tier();
+            messagesByEvent.computeIfAbsent(eventKey, key -> CareEventMessage.builder()
+                            .careProviderIds(new ArrayList<>())
+                            .event(CareEvent.builder()
+                                    .type(push.tier().getCareEventType())
+                                    .careReceiverId(push.careReceiverId())
+                                    .careReceiverName(push.careReceiverName())
+                                    .title(push.title())
+                                    .body(push.body())
+                                    .routineIds(push.routineIds())
+                                    .occurredAt(now)
+                                    .build())
+                            .build())
+                    .getCareProviderIds()
+                    .add(push.careProviderId());
+            if (push.fcmToken() != null) {
+                fcmTokens.put(push.careProviderId(), push.fcmToken());
+            }
+        }
+
+        careEventPublisher.publish(new ArrayList<>(messagesByEvent.values()), fcmTokens);
+        return fcmPushes;
+    }
+
+    private AlarmService getAlarmService(String beanName) {
+        AlarmService alarmService = alarmServices.get(beanName);
+        if (alarmService == null) {
+            throw new IllegalStateException("AlarmService 빈이 존재하지 않습니다: " + beanName);
+        }
+        return alarmService;
+    }
+
+    private static <T> void putQuietly(BlockingQueue<T> queue, T item) {
+        try {
+            queue.put(item);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void joinQuietly(Thread thread) {
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @param deliveryKeys    전송 완료 후 기록할 전송 기록 key
+     * @param deliveryEntries 전송할 엔트리 (알림 지연 기록용)
+     * */
+    private record LoadedChunk(
+            Map<AlarmTier, Map<Long, List<RoutineEntity>>> routinesByTier,
+            List<String> deliveryKeys,
+            List<RoutineTimingWheel.Entry> deliveryEntries
+    ) {
+        private static final LoadedChunk END = new LoadedChunk(Map.of(), List.of(), List.of());
+    }
+
+    /**
+     * 환자 메시지와 메시지별 수신자 (같은 index, 전송 실패 index 로 수신자를 찾는다.)
+     * */
+    private record UserMessages(List<Message> messages, List<AlarmRecipient> recipients) {
+
+        private UserMessages() {
+            this(new ArrayList<>(), new ArrayList<>());
+        }
+
+        private void add(AlarmRecipient user, AlarmService userAlarmService, List<RoutineEntity> routineList) {
+            int before = messages.size();
+            userAlarmService.addMessage(user.getFcmToken(), routineList, messages);
+            // token 이 없으면 메시지가 추가되지 않는다.
+            if (messages.size() > before) {
+                recipients.add(user);
+            }
+        }
+    }
+
+    private record BuiltChunk(
+            Map<FcmPriority, UserMessages> messagesByPriority,
+            List<CareProviderPush> careProviderPushes,
+            List<NotificationDraft> notificationDrafts,
+            List<String> deliveryKeys,
+            List<RoutineTimingWheel.Entry> deliveryEntries
+    ) {
+        private static final BuiltChunk END = new BuiltChunk(Map.of(), List.of(), List.of(), List.of(), List.of());
+    }
+}
@@ -0,0 +1,340 @@
+package com.medeasy.alarm.domain.alarm.escalation;
+
+import com.medeasy.alarm.domain.alarm.shard.AlarmShardManager;
+import com.medeasy.alarm.domain.alarm.wheel.RoutineTimingWheel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.*;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * 단계 알림(+30분, +60분) 지연 작업 큐
+ *
+ * 복용 시각 알림 전송 시 다음 단계 작업을 샤드별 Redis sorted set 에 알림 시각(score)으로 적재하고,
+ * 복약 체크 이벤트 수신 시 해당 루틴의 작업을 제거한다.
+ * 루틴 테이블을 다시 조회하지 않으므로 비용은 복용하지 않은 루틴 수에 비례하며, 서버 재시작 시에도 유지된다.
+ *
+ * 꺼낸 작업은 바로 삭제하지 않고 처리 중 큐(score: 처리 기한)로 옮기며, 전송 기록 저장 후 ack 로 삭제한다.
+ * 서버 종료, 조회 / 전송 실패로 처리 기한까지 ack 되지 않은 작업은 다음 조회 시 원래 알림 시각으로 대기 큐에 되돌린다.
+ *
+ * - alarm:escalation:jobs:{shard}: 대기 작업 (score: 알림 시각)
+ * - alarm:escalation:inflight:{shard}: 처리 중 작업 (score: 처리 기한)
+ * - alarm:escalation:inflight-due:{shard}: 처리 중 작업의 알림 시각 (hash)
+ *
+ * member: {tier}:{routineId}:{userId}
+ * */
+@Slf4j
+@Service
+public class AlarmEscalationQueue {
+
+    private static final String JOB_KEY_PREFIX = "alarm:escalation:jobs:";
+    private static final String INFLIGHT_KEY_PREFIX = "alarm:escalation:inflight:";
+    private static final String INFLIGHT_DUE_KEY_PREFIX = "alarm:escalation:inflight-due:";
+    private static final String SHARD_COUNT_KEY = "alarm:escalation:shard-count";
+    private static final String REHASH_KEY = "alarm:escalation:rehash";
+    private static final int POP_BATCH_SIZE = 1000;
+
+    // 처리 기한이 지난 작업을 대기 큐로 되돌린 후, 도래한 작업을 처리 중 큐로 옮긴다. (원자적으로 수행하여 중복 전송 방지)
+    private static final RedisScript<List> POP_DUE_SCRIPT = new DefaultRedisScript<>(
+            "local expired = redis.call('ZRANGEBYSCORE', KEYS[2], '-inf', ARGV[1], 'LIMIT', 0, ARGV[2]) " +
+                    "for _, member in ipairs(expired) do " +
+                    "  local dueAt = redis.call('HGET', KEYS[3], member) or ARGV[1] " +
+                    "  redis.call('ZADD', KEYS[1], dueAt, member) " +
+                    "  redis.call('ZREM', KEYS[2], member) " +
+                    "  redis.call('HDEL', KEYS[3], member) " +
+                    "end " +
+                    "local items = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'WITHSCORES', 'LIMIT', 0, ARGV[2]) " +
+                    "for i = 1, #items, 2 do " +
+                    "  redis.call('ZREM', KEYS[1], items[i]) " +
+                    "  redis.call('ZADD', KEYS[2], ARGV[3], items[i]) " +
+                    "  redis.call('HSET', KEYS[3], items[i], items[i + 1]) " +
+                    "end " +
+                    "return items",
+            List.class
+    );
+
+    // 다른 샤드 key 로 작업 이동 (이동 중 꺼내진 작업은 옮기지 않는다.)
+    private static final RedisScript<Long> MOVE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('ZREM', KEYS[1], ARGV[1]) == 1 then " +
+                    "redis.call('ZADD', KEYS[2], ARGV[2], ARGV[1]) return 1 " +
+                    "else return 0 end",
+            Long.class
+    );
+
+    // 처리 기한이 지난 처리 중 작업을 다른 샤드의 대기 큐로 되돌린다. (처리 중인 작업은 옮기지 않는다.)
+    private static final RedisScript<Long> MOVE_INFLIGHT_SCRIPT = new DefaultRedisScript<>(
+            "local deadline = redis.call('ZSCORE', KEYS[1], ARGV[1]) " +
+                    "if not deadline or tonumber(deadline) > tonumber(ARGV[2]) then return 0 end " +
+                    "local dueAt = redis.call('HGET', KEYS[2], ARGV[1]) or ARGV[2] " +
+                    "redis.call('ZREM', KEYS[1], ARGV[1]) " +
+                    "redis.call('HDEL', KEYS[2], ARGV[1]) " +
+                    "redis.call('ZADD', KEYS[3], dueAt, ARGV[1]) " +
+                    "return 1",
+            Long.class
+    );
+
+    private final StringRedisTemplate redisAlarmStringTemplate;
+    private final AlarmShardManager alarmShardManager;
+    private final long visibilitySeconds;
+    private final Duration rehashGrace;
+
+    public AlarmEscalationQueue(
+            @Qualifier("redisAlarmStringTemplate") StringRedisTemplate redisAlarmStringTemplate,
+            AlarmShardManager alarmShardManager,
+            @Value("${alarm.escalation.visibility-seconds:300}") long visibilitySeconds,
+            @Value("${alarm.escalation.rehash-grace-minutes:30}") long rehashGraceMinutes
+    ) {
+        this.redisAlarmStringTemplate = redisAlarmStringTemplate;
+        this.alarmShardManager = alarmShardManager;
+        this.visibilitySeconds = visibilitySeconds;
+        this.rehashGrace = Duration.ofMinutes(rehashGraceMinutes);
+    }
+
+    /**
+     * 복용 시각 알림을 보낸 루틴의 다음 단계 작업 적재
+     * */
+    public void enqueue(Collection<RoutineTimingWheel.Entry> primaryEntries) {
+        Map<String, Set<ZSetOperations.TypedTuple<String>>> jobsByKey = new HashMap<>();
+
+        for (RoutineTimingWheel.Entry entry : primaryEntries) {
+            for (AlarmTier tier : AlarmTier.values()) {
+                if (tier.getDelayMinutes() <= 0) {
+                    continue;
+                }
+
+                long dueAt = entry.dueAt() + tier.getDelayMinutes() * 60;
+                jobsByKey.computeIfAbsent(JOB_KEY_PREFIX + shardOf(entry.userId()), key -> new HashSet<>())
+                        .add(new DefaultTypedTuple<>(member(tier, entry.routineId(), entry.userId()), (double) dueAt));
+            }
+        }
+
+        jobsByKey.forEach((key, jobs) -> redisAlarmStringTemplate.opsForZSet().add(key, jobs));
+    }
+
+    /**
+     * 현재 레플리카가 점유한 샤드에서 until 까지 도래한 작업을 꺼낸다.
+     *
+     * 꺼낸 작업은 until + visibilitySeconds 까지 ack 해야 하며, 그렇지 않으면 다시 꺼내진다.
+     *
+     * @param until 현재 시각 (epoch second), 처리 기한 계산에도 사용
+     * @return 알림 시각(dueAt)은 작업을 적재한 시각 그대로 반환
+     * */
+    public List<RoutineTimingWheel.Entry> pollDue(long until) {
+        List<RoutineTimingWheel.Entry> dueEntries = new ArrayList<>();
+        String deadline = String.valueOf(until + visibilitySeconds);
+
+        for (Long shardId : alarmShardManager.getOwnedShardIds()) {
+            List<String> keys = List.of(JOB_KEY_PREFIX + shardId, INFLIGHT_KEY_PREFIX + shardId, INFLIGHT_DUE_KEY_PREFIX + shardId);
+
+            List<?> items;
+            do {
+                items = redisAlarmStringTemplate.execute(
+                        POP_DUE_SCRIPT, keys, String.valueOf(until), String.valueOf(POP_BATCH_SIZE), deadline
+                );
+                if (items == null) {
+                    break;
+                }
+
+                // member, score 순서
+                for (int i = 0; i + 1 < items.size(); i += 2) {
+                    RoutineTimingWheel.Entry entry = parse(items.get(i).toString(), items.get(i + 1).toString());
+                    if (entry != null) {
+                        dueEntries.add(entry);
+                    }
+                }
+            } while (items.size() == POP_BATCH_SIZE * 2);
+        }
+
+        return dueEntries;
+    }
+
+    /**
+     * 처리가 끝난 작업(전송 완료, 복용 완료 / 이미 전송되어 제외)을 처리 중 큐에서 삭제
+     *
+     * 복용 시각 알림 엔트리는 무시한다.
+     * */
+    public void ack(Collection<RoutineTimingWheel.Entry> entries) {
+        Map<Long, List<String>> membersByShard = new HashMap<>();
+        for (RoutineTimingWheel.Entry entry : entries) {
+            if (entry.tier().getDelayMinutes() > 0) {
+                membersByShard.computeIfAbsent(shardOf(entry.userId()), key -> new ArrayList<>())
+                        .add(member(entry.tier(), entry.routineId(), entry.userId()));
+            }
+        }
+
+        removeInflight(membersByShard);
+    }
+
+    /**
+     * 복용 체크된 루틴의 남은 단계 작업 제거 (대기, 처리 중 모두)
+     * */
+    public void cancel(Long userId, Collection<Long> routineIds) {
+        if (routineIds.isEmpty()) {
+            return;
+        }
+
+        List<String> members = new ArrayList<>();
+        for (Long routineId : routineIds) {
+            for (AlarmTier tier : AlarmTier.values()) {
+                if (tier.getDelayMinutes() > 0) {
+                    members.add(member(tier, routineId, userId));
+                }
+            }
+        }
+
+        Long removed = redisAlarmStringTemplate.opsForZSet().remove(JOB_KEY_PREFIX + shardOf(userId), members.toArray());
+        removeInflight(Map.of(shardOf(userId), members));
+        log.debug("단계 알림 작업 취소: userId={}, 루틴 {}건, 제거 {}건", userId, routineIds.size(), removed);
+    }
+
+    /**
+     * 샤드 수 변경 시 이전 샤드 key 에 남은 작업을 현재 샤드 key 로 이동 (리더만 수행)
+     *
+     * 변경을 감지한 후 rehash-grace 동안 반복하여, 배포 중 이전 샤드 수로 동작하는 레플리카가 적재한 작업과
+     * 처리 기한이 지나 대기 큐로 되돌아온 작업도 옮긴다.
+     *
+     * 이전 샤드의 처리 중 큐에 남은 작업은 새 샤드 key 로 ack 되지 않고, 줄어든 샤드는 더 이상 조회되지 않으므로
+     * 처리 기한이 지난 작업을 원래 알림 시각으로 새 샤드의 대기 큐에 되돌린다.
+     * */
+    @Scheduled(fixedDelayString = "${alarm.escalation.rehash-interval-millis:60000}")
+    public void rehashOnShardCountChange() {
+        if (!alarmShardManager.isLeader()) {
+            return;
+        }
+
+        try {
+            String shardCount = String.valueOf(alarmShardManager.getShardCount());
+            if (!shardCount.equals(redisAlarmStringTemplate.opsForValue().get(SHARD_COUNT_KEY))) {
+                redisAlarmStringTemplate.opsForValue().set(REHASH_KEY, shardCount, rehashGrace);
+                redisAlarmStringTemplate.opsForValue().set(SHARD_COUNT_KEY, shardCount);
+                log.info("단계 알림 샤드 수 변경 감지: shardCount={}", shardCount);
+            }
+
+            if (Boolean.TRUE.equals(redisAlarmStringTemplate.hasKey(REHASH_KEY))) {
+                rehash(Instant.now().getEpochSecond());
+            }
+        } catch (Exception e) {
+            log.error("단계 알림 작업 샤드 이동 중 오류 발생: {}", e.getMessage(), e);
+        }
+    }
+
+    void rehash(long now) {
+        int moved = rehashJobs() + rehashInflight(now);
+        if (moved > 0) {
+            log.info("단계 알림 작업 샤드 이동: {}건", moved);
+        }
+    }
+
+    private int rehashJobs() {
+        int moved = 0;
+        for (String jobKey : scanKeys(JOB_KEY_PREFIX)) {
+            long keyShardId = Long.parseLong(jobKey.substring(JOB_KEY_PREFIX.length()));
+
+            try (Cursor<ZSetOperations.TypedTuple<String>> cursor = redisAlarmStringTemplate.opsForZSet()
+                    .scan(jobKey, ScanOptions.scanOptions().count(POP_BATCH_SIZE).build())) {
+                while (cursor.hasNext()) {
+                    ZSetOperations.TypedTuple<String> job = cursor.next();
+                    long shardId = shardOf(Long.parseLong(job.getValue().split(":")[2]));
+                    if (shardId == keyShardId) {
+                        continue;
+                    }
+
+                    Long result = redisAlarmStringTemplate.execute(
+                            MOVE_SCRIPT, List.of(jobKey, JOB_KEY_PREFIX + shardId), job.getValue(), String.valueOf(job.getScore().longValue())
+                    );
+                    if (result != null && result == 1L) {
+                        moved++;
+                    }
+                }
+            }
+        }
+
+        return moved;
+    }
+
+    private int rehashInflight(long now) {
+        int moved = 0;
+        for (String inflightKey : scanKeys(INFLIGHT_KEY_PREFIX)) {
+            long keyShardId = Long.parseLong(inflightKey.substring(INFLIGHT_KEY_PREFIX.length()));
+
+            // 처리 기한이 지난 작업만 대상 (처리 중인 작업은 기한이 지난 후 다음 반복에서 옮긴다.)
+            Set<String> expired = redisAlarmStringTemplate.opsForZSet().rangeByScore(inflightKey, Double.NEGATIVE_INFINITY, now);
+            if (expired == null) {
+                continue;
+            }
+
+            for (String member : expired) {
+                long shardId = shardOf(Long.parseLong(member.split(":")[2]));
+                if (shardId == keyShardId) {
+                    continue;
+                }
+
+                Long result = redisAlarmStringTemplate.execute(
+                        MOVE_INFLIGHT_SCRIPT,
+                        List.of(inflightKey, INFLIGHT_DUE_KEY_PREFIX + keyShardId, JOB_KEY_PREFIX + shardId),
+                        member, String.valueOf(now)
+                );
+                if (result != null && result == 1L) {
+                    moved++;
+                }
+            }
+        }
+
+        return moved;
+    }
+
+    private Set<String> scanKeys(String prefix) {
+        Set<String> keys = new HashSet<>();
+        try (Cursor<String> cursor = redisAlarmStringTemplate.scan(ScanOptions.scanOptions().match(prefix + "*").count(100).build())) {
+            cursor.forEachRemaining(keys::add);
+        }
+        return keys;
+    }
+
+    private void removeInflight(Map<Long, List<String>> membersByShard) {
+        if (membersByShard.isEmpty()) {
+            return;
+        }
+
+        redisAlarmStringTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            membersByShard.forEach((shardId, members) -> {
+                byte[][] rawMembers = members.stream().map(member -> member.getBytes(StandardCharsets.UTF_8)).toArray(byte[][]::new);
+                connection.zSetCommands().zRem((INFLIGHT_KEY_PREFIX + shardId).getBytes(StandardCharsets.UTF_8), rawMembers);
+                connection.hashCommands().hDel((INFLIGHT_DUE_KEY_PREFIX + shardId).getBytes(StandardCharsets.UTF_8), rawMembers);
+            });
+            return null;
+        });
+    }
+
+    private long shardOf(long userId) {
+        return alarmShardManager.shardOf(userId);
+    }
+
+    private static String member(AlarmTier tier, long routineId, long userId) {
+        return tier.name() + ":" + routineId + ":" + userId;
+    }
+
+    private static RoutineTimingWheel.Entry parse(String member, String score) {
+        try {
+            String[] parts = member.split(":");
+            return new RoutineTimingWheel.Entry(
+                    Long.parseLong(parts[1]),
+                    Long.parseLong(parts[2]),
+                    (long) Double.parseDouble(score),
+                    AlarmTier.valueOf(parts[0])
+            );
+        } catch (Exception e) {
+            log.error("단계 알림 작업 변환 오류: member={}", member, e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.medeasy.alarm.domain.alarm.escalation;
+
+import com.medeasy.alarm.domain.care_event.dto.CareEventType;
+import com.medeasy.alarm.domain.fcm.limiter.FcmPriority;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 복약 알림 단계
+ *
+ * 복용 시각 기준 delayMinutes 가 지났는데 복용하지 않은 경우 해당 단계 알림을 전송한다.
+ * 단계별로 사용자, 보호자에게 보낼 AlarmService 빈 이름과 사용자 알림의 FCM 전송 우선순위, 보호자 실시간 이벤트 종류를 가지며 단계 추가 시 enum 과 AlarmService 구현만 추가하면 된다.
+ * */
+@Getter
+@AllArgsConstructor
+public enum AlarmTier {
+
+    PRIMARY(0, "userAlarmService", "careProviderAlarmService", FcmPriority.PRIMARY, CareEventType.DOSE_TIME),
+
+    REMIND(30, "userRemindAlarmService", "careProviderRemindAlarmService", FcmPriority.REMIND, CareEventType.MISSED_DOSE),
+
+    RE_REMIND(60, "userReRemindAlarmService", "careProviderReRemindAlarmService", FcmPriority.REMIND, CareEventType.MISSED_DOSE),
+    ;
+
+    private final long delayMinutes;
+
+    private final String userAlarmServiceName;
+
+    private final String careProviderAlarmServiceName;
+
+    private final FcmPriority userFcmPriority;
+
+    private final CareEventType careEventType;
+}
@@ -0,0 +1,80 @@
+package com.medeasy.alarm.domain.alarm.service;
+
+import com.medeasy.alarm.domain.alarm.dto.AlarmRecipient;
+import com.medeasy.alarm.domain.alarm.dto.AlarmRecipientTable;
+import com.medeasy.alarm.domain.fcm.service.FcmService;
+import com.medeasy.alarm.domain.user.db.UserEntity;
+import com.medeasy.alarm.domain.user.db.UserRepository;
+import com.medeasy.alarm.domain.user_care_mapping.service.CareGraphCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * 알림 대상 사용자의 수신자 정보 일괄 조회
+ *
+ * 1. 보호 관계: CareGraphCache 파이프라인 SMEMBERS 1회 (캐시 미적중 피보호자만 id IN 쿼리)
+ * 2. 사용자 + 보호자: id IN 쿼리 1회
+ * 3. fcm token: 파이프라인 MGET 1회
+ * */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AlarmRecipientResolver {
+
+    private static final int IN_QUERY_CHUNK_SIZE = 1000;
+
+    private final UserRepository userRepository;
+    private final CareGraphCache careGraphCache;
+    private final FcmService fcmService;
+
+    public AlarmRecipientTable resolve(Collection<Long> routineUserIds) {
+        if (routineUserIds.isEmpty()) {
+            return AlarmRecipientTable.empty();
+        }
+
+        long start = System.currentTimeMillis();
+        List<Long> receiverIds = new ArrayList<>(new LinkedHashSet<>(routineUserIds));
+
+        // 보호 관계 조회
+        Map<Long, List<Long>> careProviderIdsByReceiverId = careGraphCache.getCareProviderIds(receiverIds);
+
+        // 사용자 + 보호자 조회
+        Set<Long> recipientIds = new LinkedHashSet<>(receiverIds);
+        careProviderIdsByReceiverId.values().forEach(recipientIds::addAll);
+        List<Long> allIds = new ArrayList<>(recipientIds);
+
+        List<UserEntity> userEntities = new ArrayList<>();
+        for (List<Long> chunk : chunk(allIds)) {
+            userEntities.addAll(userRepository.findAllById(chunk));
+        }
+
+        // fcm token 조회
+        Map<Long, String> fcmTokens = fcmService.getFcmClientTokens(allIds);
+
+        Map<Long, AlarmRecipient> recipients = new HashMap<>();
+        userEntities.forEach(userEntity -> recipients.put(userEntity.getId(), AlarmRecipient.builder()
+                .userId(userEntity.getId())
+                .name(userEntity.getName())
+                .notificationAgreed(Boolean.TRUE.equals(userEntity.getIsNotificationAgreed()))
+                .fcmToken(fcmTokens.get(userEntity.getId()))
+                .build()));
+
+        log.info("알림 수신자 일괄 조회: 사용자 {}명, 보호 관계 {}건, {}ms",
+                recipients.size(),
+                careProviderIdsByReceiverId.values().stream().mapToInt(List::size).sum(),
+                System.currentTimeMillis() - start);
+
+        return new AlarmRecipientTable(recipients, careProviderIdsByReceiverId);
+    }
+
+    private static List<List<Long>> chunk(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += IN_QUERY_CHUNK_SIZE) {
+            chunks.add(ids.subList(i, Math.min(i + IN_QUERY_CHUNK_SIZE, ids.size())));
+        }
+        return chunks;
+    }
+}
@@ -1,8 +1,10 @@
 package com.medeasy.alarm.domain.alarm.service;
 
 import com.google.firebase.messaging.Message;
+import com.medeasy.alarm.domain.alarm.digest.CareProviderPush;
+import com.medeasy.alarm.domain.alarm.escalation.AlarmTier;
 import com.medeasy.alarm.domain.fcm.service.FcmService;
-import com.medeasy.alarm.domain.notification.db.NotificationEntity;
+import com.medeasy.alarm.domain.notification.dto.NotificationDraft;
 import com.medeasy.alarm.domain.routine.db.RoutineEntity;
 
 import java.time.LocalDateTime;
@@ -31,51 +33,53 @@ public abstract class AlarmService {
         }
     }
 
-    public void addNotification(
-            Long userId,
+    /**
+     * 보호자 push 추가: 메시지를 바로 만들지 않고 같은 token 의 push 와 묶을 수 있도록 내용만 기록한다.
+     * token 이 없는 보호자도 SSE 로 연결되어 있으면 전달되므로 함께 기록한다.
+     * */
+    public void addPush(
+            Long careProviderId,
+            String fcmClientToken,
+            Long careReceiverId,
+            String careReceiverName,
+            AlarmTier tier,
             List<RoutineEntity> routineEntity,
-            List<NotificationEntity> notificationEntities
+            List<CareProviderPush> pushes
     ) {
-        // Message 내용 생성
         String title=generateTitle(routineEntity);
         String notificationBody=generateBody(routineEntity);
-
-        // 알림 기록 저장 엔티티 생성
-        NotificationEntity notificationEntity=NotificationEntity.builder()
-                .routineUserId(userId)
-                .sentAt(LocalDateTime.now())
-                .title(title)
-                .content(notificationBody)
-                .isRead(false)
-                .userId(userId)
-                .build()
-                ;
-
-        notificationEntities.add(notificationEntity);
+        List<Long> routineIds=routineEntity.stream().map(RoutineEntity::getId).toList();
+        pushes.add(new CareProviderPush(careProviderId, fcmClientToken, title, notificationBody, careReceiverId, careReceiverName, routineIds, tier));
     }
 
+    /**
+     * 알림 기록 추가: 내용은 1건만 만들고 같은 알림을 받는 수신자를 함께 기록한다.
+     * */
     public void addNotification(
-            Long userId,
             Long routineUserId,
+            List<Long> recipientIds,
             List<RoutineEntity> routineEntity,
-            List<NotificationEntity> notificationEntities
+            List<NotificationDraft> notificationDrafts
     ) {
+        if (recipientIds.isEmpty()) {
+            return;
+        }
+
         // Message 내용 생성
         String title=generateTitle(routineEntity);
         String notificationBody=generateBody(routineEntity);
 
-        // 알림 기록 저장 엔티티 생성
-        NotificationEntity notificationEntity=NotificationEntity.builder()
+        // 알림 기록 저장 객체 생성
+        NotificationDraft notificationDraft=NotificationDraft.builder()
                 .routineUserId(routineUserId)
                 .sentAt(LocalDateTime.now())
                 .title(title)
                 .content(notificationBody)
-                .isRead(false)
-                .userId(userId)
+                .recipientIds(recipientIds)
                 .build()
                 ;
 
-        notificationEntities.add(notificationEntity);
+        notificationDrafts.add(notificationDraft);
     }
 
     // 하위 클래스가 구현
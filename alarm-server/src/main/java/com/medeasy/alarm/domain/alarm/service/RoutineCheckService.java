@@ -1,42 +1,173 @@
 package com.medeasy.alarm.domain.alarm.service;
 
+import com.google.firebase.messaging.Message;
+import com.medeasy.alarm.common.metrics.AlarmMetrics;
+import com.medeasy.alarm.domain.alarm.dto.AlarmRecipient;
+import com.medeasy.alarm.domain.alarm.dto.AlarmRecipientTable;
 import com.medeasy.alarm.domain.alarm.dto.RoutineCheckEvent;
+import com.medeasy.alarm.domain.alarm.escalation.AlarmEscalationQueue;
+import com.medeasy.alarm.domain.care_event.dto.CareEvent;
+import com.medeasy.alarm.domain.care_event.dto.CareEventMessage;
+import com.medeasy.alarm.domain.care_event.dto.CareEventType;
+import com.medeasy.alarm.domain.care_event.service.CareEventPublisher;
+import com.medeasy.alarm.domain.fcm.dto.FcmFailureType;
+import com.medeasy.alarm.domain.fcm.dto.FcmSendReport;
+import com.medeasy.alarm.domain.fcm.limiter.FcmPriority;
 import com.medeasy.alarm.domain.fcm.service.FcmService;
-import com.medeasy.alarm.domain.user.db.UserEntity;
-import com.medeasy.alarm.domain.user_care_mapping.db.UserCareMappingRepository;
+import com.medeasy.alarm.domain.notification.dto.NotificationDraft;
+import com.medeasy.alarm.domain.notification.service.NotificationBulkWriter;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
+import java.util.*;
 
+@Slf4j
 @Service
 public class RoutineCheckService {
 
-    private final AlarmService alarmService;
-    private final UserCareMappingRepository userCareMappingRepository;
     private final FcmService fcmService;
+    private final NotificationBulkWriter notificationBulkWriter;
+    private final AlarmRecipientResolver alarmRecipientResolver;
+    private final AlarmEscalationQueue alarmEscalationQueue;
+    private final CareEventPublisher careEventPublisher;
+    private final AlarmMetrics alarmMetrics;
 
     @Autowired
     public RoutineCheckService(
-            @Qualifier("routineCheckAlarmService") AlarmService alarmService,
-            UserCareMappingRepository userCareMappingRepository,
-            FcmService fcmService
+            FcmService fcmService,
+            NotificationBulkWriter notificationBulkWriter,
+            AlarmRecipientResolver alarmRecipientResolver,
+            AlarmEscalationQueue alarmEscalationQueue,
+            CareEventPublisher careEventPublisher,
+            AlarmMetrics alarmMetrics
     ) {
-        this.alarmService = alarmService;
-        this.userCareMappingRepository = userCareMappingRepository;
         this.fcmService = fcmService;
+        this.notificationBulkWriter = notificationBulkWriter;
+        this.alarmRecipientResolver = alarmRecipientResolver;
+        this.alarmEscalationQueue = alarmEscalationQueue;
+        this.careEventPublisher = careEventPublisher;
+        this.alarmMetrics = alarmMetrics;
     }
 
-    public void processRoutineCheckEvent(RoutineCheckEvent event) {
+    /**
+     * 복약 체크 이벤트를 보호자 알림으로 변환하여 전송, 저장
+     *
+     * SSE 로 연결된 보호자는 실시간 이벤트로, 나머지 보호자는 FCM 으로 전송한다.
+     * SSE 로 전달되지 않은 보호자(발행 실패, 연결 종료)는 전달 확인 이후 FCM 으로 전송한다.
+     * */
+    public void processRoutineCheckEvents(List<RoutineCheckEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
 
+        // 복용 완료된 루틴의 남은 단계 알림 취소
+        events.forEach(event -> {
+            if (event.getRoutineIds() != null) {
+                alarmEscalationQueue.cancel(event.getUserId(), event.getRoutineIds());
+            }
+        });
+
+        List<Message> messages= new ArrayList<>();
+        List<AlarmRecipient> messageRecipients = new ArrayList<>();
+        List<NotificationDraft> notificationDrafts=new ArrayList<>();
+        List<CareEventMessage> careEventMessages = new ArrayList<>();
+
+        // SSE 로 전달되지 않은 경우 FCM 으로 전송할 보호자 token (보호자 id -> token)
+        Map<Long, String> fallbackTokens = new HashMap<>();
+
+        // 이벤트 사용자, 보호자, fcm token 일괄 조회
+        AlarmRecipientTable recipientTable = alarmRecipientResolver.resolve(
+                events.stream().map(RoutineCheckEvent::getUserId).toList()
+        );
+
+        // SSE 로 연결된 보호자 일괄 조회
+        Set<Long> connectedIds = careEventPublisher.getConnectedCareProviderIds(events.stream()
+                .flatMap(event -> recipientTable.getCareProviderIds(event.getUserId()).stream())
+                .toList());
+
+        events.forEach(event -> {
+            AlarmRecipient user = recipientTable.getRecipient(event.getUserId());
+            if (user == null) {
+                return;
+            }
+
+            String title = generateTitle(user, event);
+            String content = generateBody(user, event);
+            List<Long> careProviderIds = recipientTable.getCareProviderIds(event.getUserId());
+
+            List<Long> sseCareProviderIds = new ArrayList<>();
+
+            careProviderIds.forEach(careProviderId -> {
+                AlarmRecipient careProvider = recipientTable.getRecipient(careProviderId);
+                String fcmToken = careProvider == null ? null : careProvider.getFcmToken();
+
+                if (connectedIds.contains(careProviderId)) {
+                    sseCareProviderIds.add(careProviderId);
+                    if (fcmToken != null) {
+                        fallbackTokens.put(careProviderId, fcmToken);
+                    }
+                } else if (fcmToken != null) {
+                    messages.add(fcmService.buildFcmMessage(title, content, fcmToken));
+                    messageRecipients.add(careProvider);
+                }
+            });
+
+            if (!sseCareProviderIds.isEmpty()) {
+                careEventMessages.add(CareEventMessage.builder()
+                        .careProviderIds(sseCareProviderIds)
+                        .event(CareEvent.builder()
+                                .type(CareEventType.ROUTINE_CHECK)
+                                .careReceiverId(event.getUserId())
+                                .careReceiverName(user.getName())
+                                .title(title)
+                                .body(content)
+                                .routineIds(event.getRoutineIds())
+                                .occurredAt(event.getCheckedAt())
+                                .build())
+                        .build());
+            }
+
+            // 보호자 전체가 알림 기록 1건을 공유
+            if (!careProviderIds.isEmpty()) {
+                notificationDrafts.add(NotificationDraft.builder()
+                        .title(title)
+                        .content(content)
+                        .recipientIds(careProviderIds)
+                        .build());
+            }
+        });
+
+        careEventPublisher.publish(careEventMessages, fallbackTokens);
+
+        sendMessages(messages, messageRecipients);
+
+        log.info("복용 체크 알림 저장 : {}", notificationDrafts.size());
+        notificationBulkWriter.writeAsync(notificationDrafts);
+    }
+
+    private void sendMessages(List<Message> messages, List<AlarmRecipient> messageRecipients) {
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        log.info("복용 알림 메시지 전송: {}", messages.size());
+        alarmMetrics.recordCareEventDelivery("fcm", messages.size());
+        FcmSendReport report = fcmService.sendMessages(messages, FcmPriority.CARE_PROVIDER);
+
+        Map<Long, String> invalidTokens = new HashMap<>();
+        for (int index : report.getFailureIndexes(FcmFailureType.INVALID_TOKEN)) {
+            AlarmRecipient careProvider = messageRecipients.get(index);
+            invalidTokens.put(careProvider.getUserId(), careProvider.getFcmToken());
+        }
+        fcmService.pruneInvalidTokens(invalidTokens);
     }
 
-    private String generateTitle() {
-        return "";
+    private String generateTitle(AlarmRecipient user, RoutineCheckEvent event) {
+        return user.getName() + "님이 " + event.getScheduleName() +"약을 복용했어요.";
     }
 
-    private String generateBody() {
-        return "";
+    private String generateBody(AlarmRecipient user, RoutineCheckEvent event) {
+        return user.getName()+"님의 "+event.getScheduleName()+" 복약 일정이 정상적으로 기록되었어요.";
     }
 }
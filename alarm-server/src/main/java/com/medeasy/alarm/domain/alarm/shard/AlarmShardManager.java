@@ -0,0 +1,264 @@
+package com.medeasy.alarm.domain.alarm.shard;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 알림 서버 레플리카 간 샤드 분배 관리
+ *
+ * 사용자는 userId % shardCount 로 샤드에 매핑되고,
+ * 각 레플리카는 Redis lease(SET NX PX)로 샤드를 점유한 뒤 점유한 샤드의 사용자에게만 알림을 전송한다.
+ * 레플리카가 죽으면 lease가 만료되고 남은 레플리카가 다음 rebalance 주기에 해당 샤드를 가져간다.
+ *
+ * lease 연장은 전용 스레드에서 수행한다. @Scheduled 작업(전송 tick, FCM 재시도 등)이 길어져도
+ * lease 가 만료되어 다른 레플리카가 전송 중인 샤드를 가져가지 않도록 한다.
+ *
+ * alarm.shard.enabled=false 인 경우 샤드 1개를 항상 점유한 것으로 간주한다. (단일 레플리카 동작과 동일)
+ * */
+@Slf4j
+@Service
+public class AlarmShardManager {
+
+    private static final String MEMBER_KEY = "alarm:shard:members";
+    private static final String LEASE_KEY_PREFIX = "alarm:shard:lease:";
+    private static final String LEADER_KEY = "alarm:shard:leader";
+
+    // lease 만료 직전에는 점유하지 않은 것으로 간주 (GC pause 등으로 renew가 늦는 경우 중복 전송 방지)
+    private static final long LEASE_SAFETY_MARGIN_MILLIS = 2000;
+
+    private static final RedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then " +
+                    "return redis.call('pexpire', KEYS[1], ARGV[2]) " +
+                    "else return 0 end",
+            Long.class
+    );
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then " +
+                    "return redis.call('del', KEYS[1]) " +
+                    "else return 0 end",
+            Long.class
+    );
+
+    private final StringRedisTemplate redisAlarmStringTemplate;
+    private final boolean enabled;
+    private final int shardCount;
+    private final long leaseMillis;
+    private final long rebalanceMillis;
+    private final String instanceId;
+    private final ScheduledExecutorService leaseExecutor;
+
+    // shardId -> lease 로컬 만료 시각 (epoch millis)
+    private final Map<Integer, Long> leaseDeadlines = new ConcurrentHashMap<>();
+    private volatile long leaderDeadline = 0;
+    private volatile int liveMemberCount = 1;
+
+    public AlarmShardManager(
+            @Qualifier("redisAlarmStringTemplate") StringRedisTemplate redisAlarmStringTemplate,
+            @Value("${alarm.shard.enabled:false}") boolean enabled,
+            @Value("${alarm.shard.count:16}") int shardCount,
+            @Value("${alarm.shard.lease-seconds:15}") long leaseSeconds,
+            @Value("${alarm.shard.rebalance-millis:5000}") long rebalanceMillis,
+            @Value("${HOSTNAME:alarm}") String hostname
+    ) {
+        this.redisAlarmStringTemplate = redisAlarmStringTemplate;
+        this.enabled = enabled;
+        this.shardCount = enabled ? shardCount : 1;
+        this.leaseMillis = Duration.ofSeconds(leaseSeconds).toMillis();
+        this.rebalanceMillis = rebalanceMillis;
+        this.instanceId = hostname + ":" + UUID.randomUUID().toString().substring(0, 8);
+        this.leaseExecutor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("alarm-shard-lease").daemon(true).factory()
+        );
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        leaseExecutor.scheduleWithFixedDelay(this::rebalance, 0, rebalanceMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 하트비트 갱신 후 보유 lease 연장, 초과 샤드 반납, 부족한 샤드 점유 순서로 rebalance
+     * */
+    public void rebalance() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            long now = System.currentTimeMillis();
+
+            // 1. 하트비트 등록 및 만료된 레플리카 제거
+            redisAlarmStringTemplate.opsForZSet().add(MEMBER_KEY, instanceId, now);
+            redisAlarmStringTemplate.opsForZSet().removeRangeByScore(MEMBER_KEY, 0, now - leaseMillis);
+            Long memberCount = redisAlarmStringTemplate.opsForZSet().zCard(MEMBER_KEY);
+            int liveMembers = memberCount == null || memberCount == 0 ? 1 : memberCount.intValue();
+            liveMemberCount = liveMembers;
+            int fairShare = (shardCount + liveMembers - 1) / liveMembers;
+
+            // 2. 보유 중인 lease 연장, 실패 시 점유 해제
+            for (Integer shardId : new ArrayList<>(leaseDeadlines.keySet())) {
+                if (!renew(LEASE_KEY_PREFIX + shardId)) {
+                    leaseDeadlines.remove(shardId);
+                    log.warn("샤드 lease 연장 실패로 점유 해제: shard={}", shardId);
+                    continue;
+                }
+                leaseDeadlines.put(shardId, now + leaseMillis);
+            }
+
+            // 3. 공정 배분량을 초과한 샤드 반납 (새 레플리카가 가져갈 수 있도록)
+            List<Integer> owned = new ArrayList<>(leaseDeadlines.keySet());
+            Collections.sort(owned);
+            for (int i = fairShare; i < owned.size(); i++) {
+                release(owned.get(i));
+            }
+
+            // 4. 부족한 만큼 비어있는 샤드 점유 (레플리카마다 시작 위치를 달리하여 경합 감소)
+            int start = Math.floorMod(instanceId.hashCode(), shardCount);
+            for (int i = 0; i < shardCount && leaseDeadlines.size() < fairShare; i++) {
+                int shardId = (start + i) % shardCount;
+                if (leaseDeadlines.containsKey(shardId)) {
+                    continue;
+                }
+                Boolean acquired = redisAlarmStringTemplate.opsForValue()
+                        .setIfAbsent(LEASE_KEY_PREFIX + shardId, instanceId, Duration.ofMillis(leaseMillis));
+                if (Boolean.TRUE.equals(acquired)) {
+                    leaseDeadlines.put(shardId, now + leaseMillis);
+                    log.info("샤드 점유: shard={}, instance={}", shardId, instanceId);
+                }
+            }
+
+            // 5. 리더 lease (전역 단일 처리 작업용)
+            if (leaderDeadline > now && renew(LEADER_KEY)) {
+                leaderDeadline = now + leaseMillis;
+            } else if (Boolean.TRUE.equals(redisAlarmStringTemplate.opsForValue()
+                    .setIfAbsent(LEADER_KEY, instanceId, Duration.ofMillis(leaseMillis)))) {
+                leaderDeadline = now + leaseMillis;
+                log.info("알림 서버 리더 선출: instance={}", instanceId);
+            }
+        } catch (Exception e) {
+            log.error("샤드 rebalance 중 오류 발생: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 현재 유효한 lease를 보유한 샤드 id 목록
+     * */
+    public List<Long> getOwnedShardIds() {
+        if (!enabled) {
+            return List.of(0L);
+        }
+
+        long now = System.currentTimeMillis();
+        return leaseDeadlines.entrySet().stream()
+                .filter(entry -> entry.getValue() - LEASE_SAFETY_MARGIN_MILLIS > now)
+                .map(entry -> entry.getKey().longValue())
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * 하트비트가 유효한 레플리카 수 (FCM 전송 예산 분배용), 샤딩 비활성화 시 1
+     * */
+    public int getLiveMemberCount() {
+        return enabled ? liveMemberCount : 1;
+    }
+
+    public long getShardCount() {
+        return shardCount;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    /**
+     * 샤드 lease key (값: 점유한 레플리카 instanceId), 다른 컴포넌트에서 점유 여부를 Redis 에서 확인할 때 사용
+     * */
+    public String leaseKey(Long shardId) {
+        return LEASE_KEY_PREFIX + shardId;
+    }
+
+    public boolean isLeader() {
+        return !enabled || leaderDeadline - LEASE_SAFETY_MARGIN_MILLIS > System.currentTimeMillis();
+    }
+
+    /**
+     * 사용자가 현재 레플리카가 점유한 샤드에 속하는지 여부
+     * */
+    public boolean ownsUser(Long userId) {
+        if (!enabled) {
+            return true;
+        }
+        return getOwnedShardIds().contains(shardOf(userId));
+    }
+
+    /**
+     * 사용자가 속한 샤드 id, 샤딩 비활성화 시 모든 사용자는 0번 샤드
+     * */
+    public long shardOf(Long userId) {
+        if (!enabled) {
+            return 0L;
+        }
+        return Math.floorMod(userId, (long) shardCount);
+    }
+
+    /**
+     * 종료 시 보유 lease를 즉시 반납하여 다른 레플리카가 바로 이어받도록 한다.
+     * */
+    @PreDestroy
+    public void releaseAll() {
+        if (!enabled) {
+            return;
+        }
+
+        leaseExecutor.shutdown();
+        try {
+            // 진행 중인 rebalance 가 끝난 후 반납 (반납 직후 다시 점유하지 않도록)
+            leaseExecutor.awaitTermination(leaseMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        try {
+            new ArrayList<>(leaseDeadlines.keySet()).forEach(this::release);
+            redisAlarmStringTemplate.execute(RELEASE_SCRIPT, List.of(LEADER_KEY), instanceId);
+            redisAlarmStringTemplate.opsForZSet().remove(MEMBER_KEY, instanceId);
+            leaderDeadline = 0;
+        } catch (Exception e) {
+            log.error("샤드 lease 반납 중 오류 발생: {}", e.getMessage(), e);
+        }
+    }
+
+    private boolean renew(String key) {
+        Long result = redisAlarmStringTemplate.execute(RENEW_SCRIPT, List.of(key), instanceId, String.valueOf(leaseMillis));
+        return result != null && result == 1L;
+    }
+
+    private void release(Integer shardId) {
+        leaseDeadlines.remove(shardId);
+        redisAlarmStringTemplate.execute(RELEASE_SCRIPT, List.of(LEASE_KEY_PREFIX + shardId), instanceId);
+        log.info("샤드 반납: shard={}, instance={}", shardId, instanceId);
+    }
+}
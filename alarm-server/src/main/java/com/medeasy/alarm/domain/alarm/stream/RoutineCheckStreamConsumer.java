@@ -0,0 +1,389 @@
+package com.medeasy.alarm.domain.alarm.stream;
+
+import com.medeasy.alarm.common.metrics.AlarmMetrics;
+import com.medeasy.alarm.domain.alarm.dto.RoutineCheckEvent;
+import com.medeasy.alarm.domain.alarm.service.RoutineCheckService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.stream.*;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 복약 체크 이벤트 Redis Stream consumer
+ *
+ * - consumer group 으로 레플리카 간 이벤트를 나누어 처리 (XREADGROUP BLOCK)
+ * - 처리 완료 후 처리 기록(eventId)과 XACK 를 함께 저장, 처리 중 서버가 종료된 이벤트는 pending 으로 남아 다른 consumer 가 XCLAIM 하여 재처리
+ * - 처리 기록이 있는 이벤트(중복 발행, 처리 후 ack 전에 실패한 재처리)는 처리하지 않고 ack 만 수행
+ * - 재처리 횟수가 maxDeliveryCount 이상인 이벤트는 ack 하여 제외 (재시작 시 자신의 pending 이벤트 재처리 포함)
+ * - 미처리 이벤트 수(pending)와 읽기 지연(lag)을 주기적으로 조회하여 지표로 노출
+ * */
+@Slf4j
+@Service
+public class RoutineCheckStreamConsumer {
+
+    private static final String ROUTINE_CHECK_STREAM = "routine:check:stream";
+    private static final String CONSUMER_GROUP = "alarm-server";
+    private static final String PROCESSED_KEY_PREFIX = "routine:check:processed:";
+    private static final Duration PROCESSED_TTL = Duration.ofDays(1);
+
+    // 읽기 실패 시 재시도 대기 시간
+    private static final long READ_ERROR_BACKOFF_MILLIS = 1000;
+
+    private final StringRedisTemplate redisAlarmStringTemplate;
+    private final RoutineCheckService routineCheckService;
+    private final AlarmMetrics alarmMetrics;
+    private final String consumerName;
+    private final int batchSize;
+    private final Duration blockTimeout;
+    private final Duration claimMinIdle;
+    private final long maxDeliveryCount;
+    private final long maxLength;
+
+    private volatile boolean running;
+
+    public RoutineCheckStreamConsumer(
+            @Qualifier("redisAlarmStringTemplate") StringRedisTemplate redisAlarmStringTemplate,
+            RoutineCheckService routineCheckService,
+            AlarmMetrics alarmMetrics,
+            @Value("${HOSTNAME:alarm}") String consumerName,
+            @Value("${alarm.routine-check.batch-size:100}") int batchSize,
+            @Value("${alarm.routine-check.block-millis:2000}") long blockMillis,
+            @Value("${alarm.routine-check.claim-min-idle-seconds:60}") long claimMinIdleSeconds,
+            @Value("${alarm.routine-check.max-delivery-count:5}") long maxDeliveryCount,
+            @Value("${alarm.routine-check.max-length:100000}") long maxLength
+    ) {
+        this.redisAlarmStringTemplate = redisAlarmStringTemplate;
+        this.routineCheckService = routineCheckService;
+        this.alarmMetrics = alarmMetrics;
+        this.consumerName = consumerName;
+        this.batchSize = batchSize;
+        this.blockTimeout = Duration.ofMillis(blockMillis);
+        this.claimMinIdle = Duration.ofSeconds(claimMinIdleSeconds);
+        this.maxDeliveryCount = maxDeliveryCount;
+        this.maxLength = maxLength;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        createGroupIfAbsent();
+
+        running = true;
+        Thread.ofVirtual().name("routine-check-consumer").start(this::consume);
+        log.info("복약 체크 이벤트 consumer 시작: group={}, consumer={}", CONSUMER_GROUP, consumerName);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+    }
+
+    private void consume() {
+        // 재시작 시 이전에 읽고 ack 하지 못한 이벤트부터 처리
+        ReadOffset offset = ReadOffset.from("0");
+
+        while (running) {
+            try {
+                List<MapRecord<String, Object, Object>> records = streamOps().read(
+                        Consumer.from(CONSUMER_GROUP, consumerName),
+                        StreamReadOptions.empty().count(batchSize).block(blockTimeout),
+                        StreamOffset.create(ROUTINE_CHECK_STREAM, offset)
+                );
+
+                if (records == null || records.isEmpty()) {
+                    // 자신의 pending 이벤트를 모두 처리한 이후 새 이벤트만 읽는다.
+                    offset = ReadOffset.lastConsumed();
+                    continue;
+                }
+
+                boolean history = !ReadOffset.lastConsumed().equals(offset);
+                if (history) {
+                    records = dropDeadLetters(records);
+                }
+
+                if (!handle(records) && history) {
+                    // 같은 pending 이벤트를 반복해서 읽지 않도록 새 이벤트로 넘어가고, 실패한 이벤트는 pending 복구에서 재처리한다.
+                    offset = ReadOffset.lastConsumed();
+                }
+            } catch (Exception e) {
+                if (!running) {
+                    break;
+                }
+                log.error("복약 체크 이벤트 읽기 중 오류 발생: {}", e.getMessage(), e);
+                sleep(READ_ERROR_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * 다른 consumer 가 읽고 일정 시간 ack 하지 못한 이벤트를 가져와 재처리
+     * 여러 번 재처리에 실패한 이벤트는 ack 하여 제외
+     * */
+    @Scheduled(fixedDelayString = "${alarm.routine-check.claim-interval-millis:30000}")
+    public void recoverPendingEvents() {
+        if (!running) {
+            return;
+        }
+
+        try {
+            PendingMessages pendingMessages = streamOps().pending(ROUTINE_CHECK_STREAM, CONSUMER_GROUP, Range.unbounded(), batchSize);
+
+            List<RecordId> claimIds = new ArrayList<>();
+            List<RecordId> deadIds = new ArrayList<>();
+            for (PendingMessage pendingMessage : pendingMessages) {
+                if (pendingMessage.getElapsedTimeSinceLastDelivery().compareTo(claimMinIdle) < 0) {
+                    continue;
+                }
+
+                if (pendingMessage.getTotalDeliveryCount() >= maxDeliveryCount) {
+                    deadIds.add(pendingMessage.getId());
+                } else {
+                    claimIds.add(pendingMessage.getId());
+                }
+            }
+
+            if (!deadIds.isEmpty()) {
+                streamOps().acknowledge(ROUTINE_CHECK_STREAM, CONSUMER_GROUP, deadIds.toArray(RecordId[]::new));
+                log.error("복약 체크 이벤트 재처리 횟수 초과로 제외: {}", deadIds);
+            }
+
+            if (!claimIds.isEmpty()) {
+                List<MapRecord<String, Object, Object>> claimed = streamOps().claim(
+                        ROUTINE_CHECK_STREAM, CONSUMER_GROUP, consumerName, claimMinIdle, claimIds.toArray(RecordId[]::new)
+                );
+                log.info("복약 체크 이벤트 재처리: {}건", claimed.size());
+                handle(claimed);
+            }
+
+            trimProcessed();
+        } catch (Exception e) {
+            log.error("복약 체크 pending 이벤트 복구 중 오류 발생: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * stream 길이가 maxLength 를 넘으면 처리 완료된 이벤트를 정리
+     *
+     * MAXLEN 으로 자르면 pending 이벤트나 아직 읽지 않은 이벤트도 삭제될 수 있으므로,
+     * 가장 오래된 pending 이벤트(없으면 그룹이 마지막으로 읽은 이벤트) id 를 MINID 로 하여 그 이전 이벤트만 삭제한다.
+     * */
+    private void trimProcessed() {
+        Long size = streamOps().size(ROUTINE_CHECK_STREAM);
+        if (size == null || size <= maxLength) {
+            return;
+        }
+
+        String minId = oldestUnprocessedId();
+        if (minId == null) {
+            return;
+        }
+
+        redisAlarmStringTemplate.execute((RedisCallback<Object>) connection -> connection.execute(
+                "XTRIM",
+                ROUTINE_CHECK_STREAM.getBytes(StandardCharsets.UTF_8),
+                "MINID".getBytes(StandardCharsets.UTF_8),
+                "~".getBytes(StandardCharsets.UTF_8),
+                minId.getBytes(StandardCharsets.UTF_8)
+        ));
+    }
+
+    private String oldestUnprocessedId() {
+        PendingMessagesSummary summary = streamOps().pending(ROUTINE_CHECK_STREAM, CONSUMER_GROUP);
+        if (summary != null && summary.getTotalPendingMessages() > 0) {
+            return summary.minMessageId();
+        }
+
+        for (StreamInfo.XInfoGroup group : streamOps().groups(ROUTINE_CHECK_STREAM)) {
+            if (CONSUMER_GROUP.equals(group.groupName())) {
+                return group.lastDeliveredId();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 처리 기록이 없는 이벤트만 처리한 후 처리 기록 저장과 ack 를 한 번에 수행
+     *
+     * 처리 후 ack 전에 서버가 종료되면 이벤트는 pending 으로 남아 다시 처리된다. (중복 전송 가능, 유실 없음)
+     *
+     * @return 처리 성공 여부, 실패한 이벤트는 ack 하지 않아 pending 복구 시 재처리된다.
+     * */
+    private boolean handle(List<MapRecord<String, Object, Object>> records) {
+        if (records.isEmpty()) {
+            return true;
+        }
+
+        List<RecordId> ackIds = new ArrayList<>();
+        Map<String, RoutineCheckEvent> eventsById = new LinkedHashMap<>();
+        for (MapRecord<String, Object, Object> record : records) {
+            ackIds.add(record.getId());
+
+            // 변환할 수 없는 이벤트는 ack 만 수행, 같은 배치의 중복 발행은 1건만 처리
+            RoutineCheckEvent event = toEvent(record);
+            if (event != null) {
+                eventsById.putIfAbsent(event.getEventId(), event);
+            }
+        }
+
+        // 이미 처리된 이벤트 (중복 발행, 처리 후 ack 전에 실패한 재처리) 제외
+        List<String> processedKeys = eventsById.keySet().stream().map(eventId -> PROCESSED_KEY_PREFIX + eventId).toList();
+        List<String> processed = processedKeys.isEmpty() ? List.of() : redisAlarmStringTemplate.opsForValue().multiGet(processedKeys);
+        List<RoutineCheckEvent> events = new ArrayList<>();
+        int index = 0;
+        for (RoutineCheckEvent event : eventsById.values()) {
+            if (processed == null || processed.get(index++) == null) {
+                events.add(event);
+            }
+        }
+
+        try {
+            routineCheckService.processRoutineCheckEvents(events);
+        } catch (Exception e) {
+            log.error("복약 체크 이벤트 처리 중 오류 발생: {}", e.getMessage(), e);
+            return false;
+        }
+
+        complete(events, ackIds);
+        events.forEach(event -> alarmMetrics.recordRoutineCheckLatency(event.getCheckedAt()));
+        return true;
+    }
+
+    /**
+     * 처리 기록 저장 (SET EX) + XACK 파이프라인 1회
+     * */
+    private void complete(List<RoutineCheckEvent> events, List<RecordId> ackIds) {
+        byte[] stream = ROUTINE_CHECK_STREAM.getBytes(StandardCharsets.UTF_8);
+        redisAlarmStringTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (RoutineCheckEvent event : events) {
+                connection.stringCommands().set(
+                        (PROCESSED_KEY_PREFIX + event.getEventId()).getBytes(StandardCharsets.UTF_8),
+                        String.valueOf(System.currentTimeMillis()).getBytes(StandardCharsets.UTF_8),
+                        Expiration.from(PROCESSED_TTL),
+                        RedisStringCommands.SetOption.UPSERT
+                );
+            }
+            connection.streamCommands().xAck(stream, CONSUMER_GROUP, ackIds.toArray(RecordId[]::new));
+            return null;
+        });
+    }
+
+    /**
+     * 재시작 후 자신의 pending 이벤트를 다시 읽을 때 재처리 횟수를 초과한 이벤트는 ack 하여 제외
+     * */
+    private List<MapRecord<String, Object, Object>> dropDeadLetters(List<MapRecord<String, Object, Object>> records) {
+        PendingMessages pendingMessages = streamOps().pending(
+                ROUTINE_CHECK_STREAM,
+                Consumer.from(CONSUMER_GROUP, consumerName),
+                Range.closed(records.getFirst().getId().getValue(), records.getLast().getId().getValue()),
+                records.size()
+        );
+
+        Set<RecordId> deadIds = new HashSet<>();
+        for (PendingMessage pendingMessage : pendingMessages) {
+            if (pendingMessage.getTotalDeliveryCount() >= maxDeliveryCount) {
+                deadIds.add(pendingMessage.getId());
+            }
+        }
+        if (deadIds.isEmpty()) {
+            return records;
+        }
+
+        streamOps().acknowledge(ROUTINE_CHECK_STREAM, CONSUMER_GROUP, deadIds.toArray(RecordId[]::new));
+        log.error("복약 체크 이벤트 재처리 횟수 초과로 제외: {}", deadIds);
+        return records.stream().filter(record -> !deadIds.contains(record.getId())).toList();
+    }
+
+    /**
+     * consumer group 의 미처리 이벤트 수와 읽기 지연 조회
+     *
+     * 읽기 지연은 마지막으로 발행된 이벤트와 그룹이 마지막으로 읽은 이벤트의 id(발행 시각 ms) 차이로 계산한다.
+     * */
+    @Scheduled(fixedDelayString = "${alarm.routine-check.metrics-interval-millis:15000}")
+    public void sampleBacklog() {
+        if (!running) {
+            return;
+        }
+
+        try {
+            StreamInfo.XInfoStream stream = streamOps().info(ROUTINE_CHECK_STREAM);
+            for (StreamInfo.XInfoGroup group : streamOps().groups(ROUTINE_CHECK_STREAM)) {
+                if (!CONSUMER_GROUP.equals(group.groupName())) {
+                    continue;
+                }
+
+                long lagMillis = timestampOf(stream.lastGeneratedId()) - timestampOf(group.lastDeliveredId());
+                alarmMetrics.setRoutineCheckBacklog(group.pendingCount(), Math.max(0, lagMillis) / 1000);
+            }
+        } catch (Exception e) {
+            log.warn("복약 체크 이벤트 backlog 조회 실패: {}", e.getMessage());
+        }
+    }
+
+    // stream id: <발행 시각 ms>-<순번>
+    private static long timestampOf(String recordId) {
+        if (recordId == null) {
+            return 0;
+        }
+        return RecordId.of(recordId).getTimestamp();
+    }
+
+    private RoutineCheckEvent toEvent(MapRecord<String, Object, Object> record) {
+        try {
+            Map<Object, Object> fields = record.getValue();
+            return RoutineCheckEvent.builder()
+                    .eventId((String) fields.get("event_id"))
+                    .userId(Long.valueOf((String) fields.get("user_id")))
+                    .scheduleName((String) fields.get("schedule_name"))
+                    .checkedAt(LocalDateTime.parse((String) fields.get("checked_at")))
+                    .routineIds(parseRoutineIds((String) fields.get("routine_ids")))
+                    .build();
+        } catch (Exception e) {
+            log.error("변환 오류: recordId={}, {}", record.getId(), e.getMessage(), e);
+            return null;
+        }
+    }
+
+    private static List<Long> parseRoutineIds(String routineIds) {
+        if (routineIds == null || routineIds.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(routineIds.split(",")).map(Long::valueOf).toList();
+    }
+
+    private void createGroupIfAbsent() {
+        try {
+            streamOps().createGroup(ROUTINE_CHECK_STREAM, ReadOffset.from("0"), CONSUMER_GROUP);
+            log.info("복약 체크 이벤트 consumer group 생성: {}", CONSUMER_GROUP);
+        } catch (Exception e) {
+            // BUSYGROUP: 이미 생성된 그룹
+            log.debug("consumer group 이미 존재: {}", e.getMessage());
+        }
+    }
+
+    private StreamOperations<String, Object, Object> streamOps() {
+        return redisAlarmStringTemplate.opsForStream();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
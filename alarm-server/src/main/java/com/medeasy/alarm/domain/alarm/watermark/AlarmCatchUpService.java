@@ -0,0 +1,110 @@
+package com.medeasy.alarm.domain.alarm.watermark;
+
+import com.medeasy.alarm.common.metrics.AlarmMetrics;
+import com.medeasy.alarm.domain.alarm.dto.RoutineAlarmTargetDto;
+import com.medeasy.alarm.domain.alarm.escalation.AlarmTier;
+import com.medeasy.alarm.domain.alarm.shard.AlarmShardManager;
+import com.medeasy.alarm.domain.alarm.wheel.AlarmDispatchJitter;
+import com.medeasy.alarm.domain.alarm.wheel.RoutineTimingWheel;
+import com.medeasy.alarm.domain.alarm_due.db.AlarmDueRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+/**
+ * 서버 중단, GC 지연, 샤드 이동으로 전송하지 못한 복용 시각 알림 재전송
+ *
+ * 샤드 watermark 가 이미 타이밍 휠로 처리한 시각보다 뒤처진 경우
+ * (watermark, 처리한 시각] 구간의 루틴을 alarm_due 범위 쿼리 1회로 조회한다. (최대 max-catch-up-minutes 까지)
+ * 중복 전송은 AlarmDeliveryLedger 에서 걸러진다.
+ * 분산 전송 사용 시 알림 시각이 복용 시각보다 최대 분산 구간만큼 늦으므로 조회 시작 시각을 그만큼 앞당긴다.
+ * */
+@Slf4j
+@Service
+public class AlarmCatchUpService {
+
+    private final AlarmDueRepository alarmDueRepository;
+    private final AlarmShardManager alarmShardManager;
+    private final AlarmDispatchWatermark alarmDispatchWatermark;
+    private final AlarmDispatchJitter alarmDispatchJitter;
+    private final AlarmMetrics alarmMetrics;
+    private final long maxCatchUpSeconds;
+
+    public AlarmCatchUpService(
+            AlarmDueRepository alarmDueRepository,
+            AlarmShardManager alarmShardManager,
+            AlarmDispatchWatermark alarmDispatchWatermark,
+            AlarmDispatchJitter alarmDispatchJitter,
+            AlarmMetrics alarmMetrics,
+            @Value("${alarm.watermark.max-catch-up-minutes:60}") long maxCatchUpMinutes
+    ) {
+        this.alarmDueRepository = alarmDueRepository;
+        this.alarmShardManager = alarmShardManager;
+        this.alarmDispatchWatermark = alarmDispatchWatermark;
+        this.alarmDispatchJitter = alarmDispatchJitter;
+        this.alarmMetrics = alarmMetrics;
+        this.maxCatchUpSeconds = maxCatchUpMinutes * 60;
+    }
+
+    /**
+     * @param shardIds 현재 점유한 샤드
+     * @param coveredUntil 타이밍 휠로 이미 처리한 시각 (이번 tick 이전)
+     * @param now 이번 tick 시각
+     * */
+    public List<RoutineTimingWheel.Entry> collectMissed(List<Long> shardIds, long coveredUntil, long now) {
+        Map<Long, Long> watermarks = alarmDispatchWatermark.get(shardIds);
+
+        // 샤드별 재전송 시작 시각 (이 시각 이후 ~ coveredUntil)
+        Map<Long, Long> catchUpFrom = new HashMap<>();
+        watermarks.forEach((shardId, watermark) -> {
+            if (watermark >= coveredUntil) {
+                return;
+            }
+
+            long from = Math.max(watermark, now - maxCatchUpSeconds);
+            if (from > watermark) {
+                log.warn("최대 재전송 구간 초과: shard={}, {}초 누락", shardId, from - watermark);
+            }
+            if (from < coveredUntil) {
+                catchUpFrom.put(shardId, from);
+            }
+        });
+
+        if (catchUpFrom.isEmpty()) {
+            return List.of();
+        }
+
+        LocalDateTime start = toLocalDateTime(Collections.min(catchUpFrom.values()) - alarmDispatchJitter.getWindowSeconds());
+        LocalDateTime end = toLocalDateTime(coveredUntil);
+
+        long scanStart = System.currentTimeMillis();
+        List<RoutineAlarmTargetDto> targets = alarmDueRepository.findAlarmTargetsBetweenInShards(
+                start,
+                end,
+                alarmShardManager.getShardCount(),
+                new ArrayList<>(catchUpFrom.keySet())
+        );
+        alarmMetrics.recordScan("catch_up", System.currentTimeMillis() - scanStart, targets.size());
+
+        List<RoutineTimingWheel.Entry> entries = new ArrayList<>();
+        for (RoutineAlarmTargetDto target : targets) {
+            long scheduledAt = RoutineTimingWheel.toEpochSecond(target.getDueAt());
+            long dueAt = alarmDispatchJitter.dueAt(target.getUserId(), scheduledAt);
+            Long from = catchUpFrom.get(alarmShardManager.shardOf(target.getUserId()));
+            if (from != null && dueAt > from && dueAt <= coveredUntil) {
+                entries.add(new RoutineTimingWheel.Entry(target.getRoutineId(), target.getUserId(), dueAt, AlarmTier.PRIMARY));
+            }
+        }
+
+        log.info("누락 알림 재전송: 샤드 {}, 구간 {} ~ {}, 루틴 {}건", catchUpFrom.keySet(), start, end, entries.size());
+        return entries;
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+}
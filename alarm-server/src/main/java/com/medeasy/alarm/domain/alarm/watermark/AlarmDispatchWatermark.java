@@ -0,0 +1,105 @@
+package com.medeasy.alarm.domain.alarm.watermark;
+
+import com.medeasy.alarm.domain.alarm.shard.AlarmShardManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * 샤드별 마지막 알림 전송 시각 (로컬 시각 기준 epoch second)
+ *
+ * Redis hash alarm:dispatch:watermark 에 shardId -> epoch second 로 저장한다.
+ * 서버 중단, 샤드 이동 시 다음 점유 레플리카가 이 시각 이후의 누락된 알림을 다시 전송한다.
+ *
+ * lease 를 잃은 레플리카(GC pause 등)가 새 점유 레플리카의 watermark 를 덮어쓰지 않도록,
+ * 샤드 lease 값이 현재 레플리카인 경우에만 갱신한다.
+ * */
+@Slf4j
+@Service
+public class AlarmDispatchWatermark {
+
+    private static final String WATERMARK_KEY = "alarm:dispatch:watermark";
+
+    // KEYS[1]: watermark hash, KEYS[2..]: 샤드 lease key / ARGV[1]: instanceId, ARGV[2..]: shardId, epoch second 순서
+    private static final RedisScript<Long> FENCED_ADVANCE_SCRIPT = new DefaultRedisScript<>(
+            "local written = 0 " +
+                    "for i = 2, #KEYS do " +
+                    "  if redis.call('GET', KEYS[i]) == ARGV[1] then " +
+                    "    redis.call('HSET', KEYS[1], ARGV[i * 2 - 2], ARGV[i * 2 - 1]) " +
+                    "    written = written + 1 " +
+                    "  end " +
+                    "end " +
+                    "return written",
+            Long.class
+    );
+
+    private final StringRedisTemplate redisAlarmStringTemplate;
+    private final AlarmShardManager alarmShardManager;
+
+    public AlarmDispatchWatermark(
+            @Qualifier("redisAlarmStringTemplate") StringRedisTemplate redisAlarmStringTemplate,
+            AlarmShardManager alarmShardManager
+    ) {
+        this.redisAlarmStringTemplate = redisAlarmStringTemplate;
+        this.alarmShardManager = alarmShardManager;
+    }
+
+    /**
+     * 샤드별 watermark 조회, 기록이 없는 샤드는 결과에서 제외
+     * */
+    public Map<Long, Long> get(List<Long> shardIds) {
+        Map<Long, Long> watermarks = new HashMap<>();
+        if (shardIds.isEmpty()) {
+            return watermarks;
+        }
+
+        List<Object> values = redisAlarmStringTemplate.opsForHash()
+                .multiGet(WATERMARK_KEY, shardIds.stream().map(shardId -> (Object) shardId.toString()).toList());
+
+        for (int i = 0; i < shardIds.size(); i++) {
+            Object value = values.get(i);
+            if (value != null) {
+                watermarks.put(shardIds.get(i), Long.parseLong(value.toString()));
+            }
+        }
+        return watermarks;
+    }
+
+    /**
+     * 현재 레플리카가 lease 를 보유한 샤드만 갱신 (샤딩 비활성화 시 모두 갱신)
+     *
+     * @param watermarks 샤드별 갱신할 시각, 전송 실패로 이전 값보다 낮아질 수 있다.
+     * */
+    public void advance(Map<Long, Long> watermarks) {
+        if (watermarks.isEmpty()) {
+            return;
+        }
+
+        if (!alarmShardManager.isEnabled()) {
+            Map<String, String> values = new HashMap<>();
+            watermarks.forEach((shardId, epochSecond) -> values.put(shardId.toString(), String.valueOf(epochSecond)));
+            redisAlarmStringTemplate.opsForHash().putAll(WATERMARK_KEY, values);
+            return;
+        }
+
+        List<String> keys = new ArrayList<>();
+        List<String> args = new ArrayList<>();
+        keys.add(WATERMARK_KEY);
+        args.add(alarmShardManager.getInstanceId());
+        watermarks.forEach((shardId, epochSecond) -> {
+            keys.add(alarmShardManager.leaseKey(shardId));
+            args.add(shardId.toString());
+            args.add(String.valueOf(epochSecond));
+        });
+
+        Long written = redisAlarmStringTemplate.execute(FENCED_ADVANCE_SCRIPT, keys, args.toArray());
+        if (written == null || written < watermarks.size()) {
+            log.warn("lease 를 잃은 샤드의 watermark 갱신 제외: 요청 {}건, 갱신 {}건", watermarks.size(), written);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.medeasy.alarm.domain.alarm.wheel;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 복용 시각 알림 분산 전송 (peak smoothing)
+ *
+ * 기본 복용 시간(아침, 점심, 저녁, 자기 전)에 사용자가 몰려 같은 초에 DB, Redis, FCM 요청이 집중되므로
+ * 사용자별 고정 offset(0 ~ windowSeconds - 1 초)을 알림 시각에 더해 windowSeconds 동안 나누어 전송한다.
+ * 타이밍 휠은 초 단위로 꺼내므로 tick 마다 전체의 약 1/windowSeconds 씩 전송된다.
+ *
+ * offset 은 userId 해시로 정해지므로 레플리카, 재시작과 관계없이 같은 사용자는 항상 같은 시각에 알림을 받으며,
+ * 복용 시각보다 먼저 전송되지는 않는다. 단계 알림(+30분, +60분)은 offset 이 더해진 시각 기준으로 예약된다.
+ * */
+@Component
+public class AlarmDispatchJitter {
+
+    // 연속된 userId 가 인접한 offset 에 몰리지 않도록 섞는 상수 (golden ratio)
+    private static final long MIX = 0x9E3779B97F4A7C15L;
+
+    private final boolean enabled;
+
+    @Getter
+    private final long windowSeconds;
+
+    public AlarmDispatchJitter(
+            @Value("${alarm.dispatch.jitter.enabled:false}") boolean enabled,
+            @Value("${alarm.dispatch.jitter.window-seconds:60}") long windowSeconds
+    ) {
+        this.enabled = enabled && windowSeconds > 1;
+        this.windowSeconds = this.enabled ? windowSeconds : 0;
+    }
+
+    public long offsetSeconds(long userId) {
+        if (!enabled) {
+            return 0;
+        }
+
+        long hash = userId * MIX;
+        return Math.floorMod(hash ^ (hash >>> 32), windowSeconds);
+    }
+
+    /**
+     * @param scheduledAt 복용 시각 (epoch second)
+     * @return 사용자 offset 을 더한 알림 시각
+     * */
+    public long dueAt(long userId, long scheduledAt) {
+        return scheduledAt + offsetSeconds(userId);
+    }
+}
@@ -0,0 +1,200 @@
+package com.medeasy.alarm.domain.alarm.wheel;
+
+import com.medeasy.alarm.domain.alarm.escalation.AlarmTier;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * 하루치 복약 알림을 담는 계층형 타이밍 휠
+ *
+ * 상위 휠은 하루 1440개의 분 슬롯, 하위 휠은 분마다 60개의 초 슬롯으로 구성되며
+ * 루틴이 존재하는 분에 대해서만 하위 휠을 할당한다.
+ * 매 tick 마다 마지막으로 꺼낸 시각 이후 ~ 현재 시각까지의 초 슬롯만 꺼내므로 DB 조회 없이 O(1)로 알림 대상을 찾는다.
+ *
+ * 슬롯은 시각(time of day) 기준 순환 구조이며, 각 엔트리는 실제 알림 시각을 가지고 있어
+ * 아직 도래하지 않은 다른 날짜의 엔트리는 꺼내지 않는다.
+ * */
+@Component
+public class RoutineTimingWheel {
+
+    private static final int MINUTES_PER_DAY = 1440;
+    private static final int SECONDS_PER_MINUTE = 60;
+    private static final long SECONDS_PER_DAY = 86400;
+
+    /**
+     * @param dueAt 알림 시각 (로컬 시각 기준 epoch second), 복용 시각 + 사용자 분산 offset + 단계 지연 시간
+     * */
+    public record Entry(long routineId, long userId, long dueAt, AlarmTier tier) {
+    }
+
+    private final Set<Entry>[][] wheel;
+    private final Map<Long, Set<Entry>> entriesByUser = new HashMap<>();
+
+    // 꺼낸 시각 이전으로 적재된 엔트리 (자정 적재, 사용자 갱신 등) -> 다음 tick에 바로 전송
+    private final List<Entry> overdueEntries = new ArrayList<>();
+
+    // 이 시각까지의 슬롯은 이미 꺼냄 (epoch second)
+    private long polledUntil;
+
+    // 서버 시작 시 적재 완료 여부, 적재 전에 꺼내면 그 구간의 알림이 누락되므로 적재 후부터 꺼낸다.
+    private volatile boolean ready;
+
+    // 적재에 실패한 구간의 시작 시각 (epoch second), 다시 적재될 때까지 이 시각 이전으로 watermark 를 유지한다.
+    private volatile long unloadedFrom = Long.MAX_VALUE;
+
+    @SuppressWarnings("unchecked")
+    public RoutineTimingWheel() {
+        this.wheel = new Set[MINUTES_PER_DAY][];
+        this.polledUntil = toEpochSecond(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    public synchronized void add(Entry entry) {
+        if (entry.dueAt() <= polledUntil) {
+            overdueEntries.add(entry);
+            return;
+        }
+
+        int secondOfDay = (int) Math.floorMod(entry.dueAt(), SECONDS_PER_DAY);
+        int minute = secondOfDay / SECONDS_PER_MINUTE;
+        int second = secondOfDay % SECONDS_PER_MINUTE;
+
+        if (wheel[minute] == null) {
+            wheel[minute] = newSecondWheel();
+        }
+        if (wheel[minute][second] == null) {
+            wheel[minute][second] = new HashSet<>();
+        }
+
+        wheel[minute][second].add(entry);
+        entriesByUser.computeIfAbsent(entry.userId(), key -> new HashSet<>()).add(entry);
+    }
+
+    public synchronized void addAll(Collection<Entry> entries) {
+        entries.forEach(this::add);
+    }
+
+    /**
+     * 사용자의 적재된 엔트리를 모두 교체 (루틴 변경 이벤트 수신 시)
+     * */
+    public synchronized void replaceUser(Long userId, Collection<Entry> entries) {
+        Set<Entry> previous = entriesByUser.remove(userId);
+        if (previous != null) {
+            previous.forEach(this::removeFromSlot);
+        }
+        overdueEntries.removeIf(entry -> entry.userId() == userId);
+
+        addAll(entries);
+    }
+
+    /**
+     * 마지막으로 꺼낸 시각 이후 ~ until 까지 도래한 엔트리를 꺼낸다.
+     * */
+    public synchronized List<Entry> poll(LocalDateTime until) {
+        long untilSecond = toEpochSecond(until.truncatedTo(ChronoUnit.SECONDS));
+        Set<Entry> dueEntries = new LinkedHashSet<>(overdueEntries);
+        overdueEntries.clear();
+
+        // 하루 이상 멈춰있던 경우에도 슬롯은 한 바퀴만 순회
+        long from = Math.max(polledUntil + 1, untilSecond - SECONDS_PER_DAY + 1);
+        for (long time = from; time <= untilSecond; time++) {
+            int secondOfDay = (int) Math.floorMod(time, SECONDS_PER_DAY);
+            Set<Entry>[] secondWheel = wheel[secondOfDay / SECONDS_PER_MINUTE];
+            if (secondWheel == null) {
+                // 비어있는 분은 건너뛴다.
+                time += SECONDS_PER_MINUTE - 1 - (secondOfDay % SECONDS_PER_MINUTE);
+                continue;
+            }
+
+            Set<Entry> bucket = secondWheel[secondOfDay % SECONDS_PER_MINUTE];
+            if (bucket == null || bucket.isEmpty()) {
+                continue;
+            }
+
+            Iterator<Entry> iterator = bucket.iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next();
+                if (entry.dueAt() > untilSecond) {
+                    continue;
+                }
+                iterator.remove();
+                removeFromUserIndex(entry);
+                dueEntries.add(entry);
+            }
+        }
+
+        polledUntil = Math.max(polledUntil, untilSecond);
+        return new ArrayList<>(dueEntries);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void markReady() {
+        this.ready = true;
+    }
+
+    public synchronized void markUnloaded(LocalDateTime from) {
+        this.unloadedFrom = Math.min(unloadedFrom, toEpochSecond(from));
+    }
+
+    public void markLoaded() {
+        this.unloadedFrom = Long.MAX_VALUE;
+    }
+
+    /**
+     * 타이밍 휠로 전송을 보장하는 마지막 시각 (epoch second)
+     * - 적재 전: 마지막으로 꺼낸 시각 (적재 전에는 꺼내지 않으므로 서버 시작 시각)
+     * - 적재 실패 구간이 있는 경우: 그 구간의 시작 직전
+     * */
+    public synchronized long getCoveredUntil(long untilSecond) {
+        long coveredUntil = ready ? untilSecond : polledUntil;
+        return Math.min(coveredUntil, unloadedFrom - 1);
+    }
+
+    public synchronized LocalDateTime getPolledUntil() {
+        return LocalDateTime.ofEpochSecond(polledUntil, 0, ZoneOffset.UTC);
+    }
+
+    public synchronized int size() {
+        return entriesByUser.values().stream().mapToInt(Set::size).sum() + overdueEntries.size();
+    }
+
+    public static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private void removeFromSlot(Entry entry) {
+        int secondOfDay = (int) Math.floorMod(entry.dueAt(), SECONDS_PER_DAY);
+        Set<Entry>[] secondWheel = wheel[secondOfDay / SECONDS_PER_MINUTE];
+        if (secondWheel == null) {
+            return;
+        }
+
+        Set<Entry> bucket = secondWheel[secondOfDay % SECONDS_PER_MINUTE];
+        if (bucket != null) {
+            bucket.remove(entry);
+        }
+    }
+
+    private void removeFromUserIndex(Entry entry) {
+        Set<Entry> userEntries = entriesByUser.get(entry.userId());
+        if (userEntries == null) {
+            return;
+        }
+
+        userEntries.remove(entry);
+        if (userEntries.isEmpty()) {
+            entriesByUser.remove(entry.userId());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<Entry>[] newSecondWheel() {
+        return new Set[SECONDS_PER_MINUTE];
+    }
+}
@@ -0,0 +1,206 @@
+package com.medeasy.alarm.domain.alarm.wheel;
+
+import com.medeasy.alarm.domain.alarm.dto.RoutineAlarmTargetDto;
+import com.medeasy.alarm.domain.alarm.escalation.AlarmTier;
+import com.medeasy.alarm.domain.alarm_due.db.AlarmDueRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 타이밍 휠 적재 담당
+ *
+ * 복용 시각 알림만 적재하며, 단계 알림(+30분, +60분)은 AlarmEscalationQueue 에서 관리한다.
+ * 루틴은 main-server 가 관리하는 alarm_due 에서 알림 시각 범위로 조회한다.
+ * - 서버 시작 시: 오늘 남은 루틴 적재
+ * - 자정: 새 날짜의 루틴 전체 적재
+ * - main-server 루틴 변경 이벤트(routine:change) 수신 시: 해당 사용자의 루틴만 다시 적재
+ *
+ * 서버 시작, 자정 적재에 실패하면 지수 backoff 로 다시 적재하며, 그동안 타이밍 휠은 적재 실패 구간을 표시하여
+ * watermark 가 그 이후로 갱신되지 않도록 한다. (누락 알림 재전송이 alarm_due 에서 해당 구간을 전송한다.)
+ * */
+@Slf4j
+@Service
+public class RoutineTimingWheelLoader {
+
+    private static final String ROUTINE_CHANGE_CHANNEL = "routine:change";
+
+    private final AlarmDueRepository alarmDueRepository;
+    private final RoutineTimingWheel routineTimingWheel;
+    private final AlarmDispatchJitter alarmDispatchJitter;
+    private final long retryBaseMillis;
+    private final long retryMaxMillis;
+
+    // 자정 적재에 실패한 첫 날짜, 다시 적재할 때 이 날짜부터 오늘까지 적재한다.
+    private LocalDate pendingDate;
+    private int failures;
+    private long nextRetryAt;
+
+    public RoutineTimingWheelLoader(
+            AlarmDueRepository alarmDueRepository,
+            RoutineTimingWheel routineTimingWheel,
+            AlarmDispatchJitter alarmDispatchJitter,
+            @Qualifier("redisAlarmMessageListenerContainer") RedisMessageListenerContainer redisAlarmMessageListenerContainer,
+            @Value("${alarm.wheel.retry-base-millis:1000}") long retryBaseMillis,
+            @Value("${alarm.wheel.retry-max-millis:60000}") long retryMaxMillis
+    ) {
+        this.alarmDueRepository = alarmDueRepository;
+        this.routineTimingWheel = routineTimingWheel;
+        this.alarmDispatchJitter = alarmDispatchJitter;
+        this.retryBaseMillis = retryBaseMillis;
+        this.retryMaxMillis = retryMaxMillis;
+
+        redisAlarmMessageListenerContainer.addMessageListener(
+                (message, pattern) -> reloadUser(message.getBody()),
+                new ChannelTopic(ROUTINE_CHANGE_CHANNEL)
+        );
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void loadOnStartup() {
+        long start = System.currentTimeMillis();
+
+        try {
+            // 이미 꺼낸 시각 이후에 도래하는 엔트리만 적재하여 전송된 알림이 중복 전송되지 않도록 한다.
+            // 재시도 중 자정이 지난 경우 새 날짜까지 적재
+            LocalDateTime polledUntil = routineTimingWheel.getPolledUntil();
+            List<RoutineAlarmTargetDto> targets = alarmDueRepository.findAlarmTargetsBetween(
+                    scanFrom(polledUntil),
+                    LocalDate.now().plusDays(1).atStartOfDay()
+            );
+            List<RoutineTimingWheel.Entry> entries = toEntries(targets, RoutineTimingWheel.toEpochSecond(polledUntil));
+            routineTimingWheel.addAll(entries);
+            routineTimingWheel.markReady();
+            succeeded();
+
+            log.info("타이밍 휠 적재 완료: 루틴 {}건, 엔트리 {}건, {}ms",
+                    targets.size(), entries.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            // 적재 전에는 타이밍 휠을 꺼내지 않으며, 단계 알림과 서버 시작 이전 구간의 누락 알림 재전송만 동작한다.
+            failed();
+            log.error("타이밍 휠 적재 중 오류 발생, {}ms 후 재시도: {}", nextRetryAt - System.currentTimeMillis(), e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(cron = "0 0 0 * * *")
+    public synchronized void loadOnMidnight() {
+        if (!routineTimingWheel.isReady()) {
+            // 서버 시작 적재 재시도에서 새 날짜까지 적재
+            return;
+        }
+
+        LocalDate date = LocalDate.now();
+        loadDates(pendingDate == null ? date : pendingDate, date);
+    }
+
+    /**
+     * 적재에 실패한 경우 backoff 시각이 지나면 다시 적재
+     * */
+    @Scheduled(fixedDelayString = "${alarm.wheel.retry-check-millis:1000}")
+    public synchronized void retryLoad() {
+        if (routineTimingWheel.isReady() && pendingDate == null) {
+            return;
+        }
+        if (System.currentTimeMillis() < nextRetryAt) {
+            return;
+        }
+
+        if (!routineTimingWheel.isReady()) {
+            loadOnStartup();
+        } else {
+            loadDates(pendingDate, LocalDate.now());
+        }
+    }
+
+    /**
+     * from ~ to 날짜의 루틴 전체 적재, 이미 꺼낸 시각 이전의 엔트리는 다음 tick 에 바로 전송된다.
+     * */
+    private void loadDates(LocalDate from, LocalDate to) {
+        long start = System.currentTimeMillis();
+
+        try {
+            List<RoutineAlarmTargetDto> targets = alarmDueRepository.findAlarmTargetsBetween(
+                    from.atStartOfDay().minusSeconds(1),
+                    to.plusDays(1).atStartOfDay()
+            );
+            List<RoutineTimingWheel.Entry> entries = toEntries(targets, Long.MIN_VALUE);
+            routineTimingWheel.addAll(entries);
+            routineTimingWheel.markLoaded();
+            pendingDate = null;
+            succeeded();
+
+            log.info("타이밍 휠 적재 완료: date={}~{}, 루틴 {}건, 엔트리 {}건, {}ms",
+                    from, to, targets.size(), entries.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            routineTimingWheel.markUnloaded(from.atStartOfDay());
+            pendingDate = from;
+            failed();
+            log.error("타이밍 휠 적재 중 오류 발생: date={}~{}, {}ms 후 재시도: {}",
+                    from, to, nextRetryAt - System.currentTimeMillis(), e.getMessage(), e);
+        }
+    }
+
+    private void succeeded() {
+        failures = 0;
+        nextRetryAt = 0;
+    }
+
+    private void failed() {
+        long delay = Math.min(retryMaxMillis, retryBaseMillis << Math.min(failures, 16));
+        failures++;
+        nextRetryAt = System.currentTimeMillis() + delay;
+    }
+
+    private void reloadUser(byte[] body) {
+        try {
+            Long userId = Long.valueOf(new String(body, StandardCharsets.UTF_8));
+
+            LocalDateTime polledUntil = routineTimingWheel.getPolledUntil();
+            List<RoutineAlarmTargetDto> targets = alarmDueRepository.findAlarmTargetsBetweenAndUserId(
+                    scanFrom(polledUntil),
+                    polledUntil.toLocalDate().plusDays(1).atStartOfDay(),
+                    userId
+            );
+
+            List<RoutineTimingWheel.Entry> entries = toEntries(targets, RoutineTimingWheel.toEpochSecond(polledUntil));
+            routineTimingWheel.replaceUser(userId, entries);
+            log.info("타이밍 휠 사용자 갱신: userId={}, 엔트리 {}건", userId, entries.size());
+        } catch (Exception e) {
+            log.error("타이밍 휠 사용자 갱신 중 오류 발생: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 분산 offset 을 더하면 after 이후가 될 수 있는 루틴부터 조회
+     * */
+    private LocalDateTime scanFrom(LocalDateTime after) {
+        return after.minusSeconds(alarmDispatchJitter.getWindowSeconds());
+    }
+
+    /**
+     * 알림 시각(복용 시각 + 사용자 분산 offset)이 after 이후인 루틴만 엔트리로 변환
+     * */
+    private List<RoutineTimingWheel.Entry> toEntries(List<RoutineAlarmTargetDto> targets, long after) {
+        List<RoutineTimingWheel.Entry> entries = new ArrayList<>();
+        for (RoutineAlarmTargetDto target : targets) {
+            long scheduledAt = RoutineTimingWheel.toEpochSecond(target.getDueAt());
+            long dueAt = alarmDispatchJitter.dueAt(target.getUserId(), scheduledAt);
+            if (dueAt > after) {
+                entries.add(new RoutineTimingWheel.Entry(target.getRoutineId(), target.getUserId(), dueAt, AlarmTier.PRIMARY));
+            }
+        }
+        return entries;
+    }
+}
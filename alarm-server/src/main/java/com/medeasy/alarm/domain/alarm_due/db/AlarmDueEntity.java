@@ -0,0 +1,37 @@
+package com.medeasy.alarm.domain.alarm_due.db;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * 복약 알림 일정 (main-server 가 루틴 변경 트랜잭션에서 갱신, 알림 서버는 조회만)
+ *
+ * 루틴 1건당 1행이며 due_at = take_date + take_time 이다.
+ * */
+@Entity
+@Immutable
+@Table(name = "alarm_due")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlarmDueEntity {
+
+    @Id
+    @Column(name = "routine_id")
+    private Long routineId;
+
+    @Column(nullable = false)
+    private LocalDateTime dueAt;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private String nickname;
+
+    @Column(nullable = false)
+    private Boolean isTaken;
+}
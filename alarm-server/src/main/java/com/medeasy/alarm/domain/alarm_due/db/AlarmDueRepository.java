@@ -0,0 +1,58 @@
+package com.medeasy.alarm.domain.alarm_due.db;
+
+import com.medeasy.alarm.domain.alarm.dto.RoutineAlarmTargetDto;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 알림 대상 루틴 조회
+ *
+ * 모든 조회는 (due_at) WHERE is_taken = false 부분 인덱스 범위 조회 1회로 처리된다. (사용자 단위 조회는 (user_id, due_at) 인덱스)
+ * */
+public interface AlarmDueRepository extends JpaRepository<AlarmDueEntity, Long> {
+
+    String TARGET_PROJECTION = "SELECT new com.medeasy.alarm.domain.alarm.dto.RoutineAlarmTargetDto(a.routineId, a.userId, a.dueAt) " +
+            "FROM AlarmDueEntity a ";
+
+    /**
+     * 타이밍 휠 적재용: (from, to) 구간의 복용하지 않은 루틴
+     * */
+    @Query(TARGET_PROJECTION +
+            "WHERE a.dueAt > :from " +
+            "AND a.dueAt < :to " +
+            "AND a.isTaken = false")
+    List<RoutineAlarmTargetDto> findAlarmTargetsBetween(
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    /**
+     * 타이밍 휠 사용자 단위 갱신용
+     * */
+    @Query(TARGET_PROJECTION +
+            "WHERE a.userId = :userId " +
+            "AND a.dueAt > :from " +
+            "AND a.dueAt < :to " +
+            "AND a.isTaken = false")
+    List<RoutineAlarmTargetDto> findAlarmTargetsBetweenAndUserId(
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("userId") Long userId);
+
+    /**
+     * 누락 알림 재전송용: (from, to] 구간의 복용하지 않은 루틴 (점유 샤드만)
+     * */
+    @Query(TARGET_PROJECTION +
+            "WHERE a.dueAt > :from " +
+            "AND a.dueAt <= :to " +
+            "AND a.isTaken = false " +
+            "AND MOD(a.userId, :shardCount) IN :shardIds")
+    List<RoutineAlarmTargetDto> findAlarmTargetsBetweenInShards(
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("shardCount") Long shardCount,
+            @Param("shardIds") List<Long> shardIds);
+}
@@ -0,0 +1,33 @@
+package com.medeasy.alarm.domain.care_event.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 실시간 이벤트가 전달되지 않은 보호자에게 FCM 으로 보낼 내용 (delivery_id 별로 Redis 에 저장)
+ * */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CareEventFallback {
+
+    @JsonProperty("care_provider_ids")
+    private List<Long> careProviderIds;
+
+    @JsonProperty("title")
+    private String title;
+
+    @JsonProperty("body")
+    private String body;
+
+    // 보호자 id -> FCM token (token 이 없는 보호자는 제외)
+    @JsonProperty("fcm_tokens")
+    private Map<Long, String> fcmTokens;
+}
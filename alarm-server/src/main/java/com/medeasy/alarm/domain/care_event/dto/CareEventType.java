@@ -0,0 +1,17 @@
+package com.medeasy.alarm.domain.care_event.dto;
+
+/**
+ * 보호자 실시간 이벤트 종류 (main-server SSE event 이름)
+ * */
+public enum CareEventType {
+
+    // 피보호자 복약 체크
+    ROUTINE_CHECK,
+
+    // 피보호자 복용 시각 도래
+    DOSE_TIME,
+
+    // 복용 시각 이후 미복용 (+30분, +60분)
+    MISSED_DOSE,
+    ;
+}
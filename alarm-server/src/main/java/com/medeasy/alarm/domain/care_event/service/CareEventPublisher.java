@@ -0,0 +1,340 @@
+package com.medeasy.alarm.domain.care_event.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.firebase.messaging.Message;
+import com.medeasy.alarm.common.metrics.AlarmMetrics;
+import com.medeasy.alarm.domain.care_event.dto.CareEventFallback;
+import com.medeasy.alarm.domain.care_event.dto.CareEventMessage;
+import com.medeasy.alarm.domain.fcm.dto.FcmFailureType;
+import com.medeasy.alarm.domain.fcm.dto.FcmSendReport;
+import com.medeasy.alarm.domain.fcm.limiter.FcmPriority;
+import com.medeasy.alarm.domain.fcm.service.FcmService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * 보호자 실시간 이벤트 발행 (main-server SSE 로 전달)
+ *
+ * main-server 는 보호자가 SSE 로 연결되어 있는 동안 care:sse:{보호자 id} key 를 유지하고 (연결된 서버 id 집합, TTL)
+ * 모든 main-server 가 care:event 채널을 구독하여 자신에게 연결된 보호자에게만 이벤트를 전달한다.
+ *
+ * 알림 서버는 전송 직전에 연결 여부를 조회하여 연결된 보호자는 채널로, 나머지는 기존대로 FCM 으로 전송한다.
+ *
+ * 연결 상태는 TTL 동안 남아있으므로 발행만으로는 전달을 보장하지 않는다.
+ * main-server 는 SSE 로 전달한 보호자를 care:event:ack:{delivery_id} 에 기록하며,
+ * 알림 서버는 확인 대기 시간 이후 기록되지 않은 보호자를 전달 실패로 보고 FCM 으로 전송한다.
+ *
+ * 호출한 쪽이 전송 기록을 저장하기 전에 FCM 전송 내용을 Redis 에 먼저 저장하므로 (발행 전),
+ * 확인 대기 중 서버가 종료되어도 다른 레플리카가 이어서 전달 확인, FCM 전송을 수행한다.
+ * 구독한 main-server 가 없거나 발행에 실패하면 바로 전체를 전달 실패로 처리한다.
+ *
+ * - care:event:fallback: 전달 확인 대기 (score: 확인 시각 epoch millis, 처리 중에는 처리 기한)
+ * - care:event:fallback:payload: delivery_id -> FCM 전송 내용 (hash)
+ * */
+@Slf4j
+@Service
+public class CareEventPublisher {
+
+    private static final String PRESENCE_KEY_PREFIX = "care:sse:";
+    private static final String CARE_EVENT_CHANNEL = "care:event";
+    private static final String ACK_KEY_PREFIX = "care:event:ack:";
+    private static final String FALLBACK_KEY = "care:event:fallback";
+    private static final String FALLBACK_PAYLOAD_KEY = "care:event:fallback:payload";
+    private static final int FALLBACK_BATCH_SIZE = 500;
+
+    // 확인 시각이 지난 항목을 처리 기한으로 미루고 (delivery_id, 내용) 순서로 반환, 여러 레플리카가 같은 항목을 처리하지 않도록 원자적으로 수행
+    private static final RedisScript<List> POP_FALLBACK_SCRIPT = new DefaultRedisScript<>(
+            "local ids = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, ARGV[2]) " +
+                    "local items = {} " +
+                    "for _, id in ipairs(ids) do " +
+                    "  local payload = redis.call('HGET', KEYS[2], id) " +
+                    "  if payload then " +
+                    "    redis.call('ZADD', KEYS[1], ARGV[3], id) " +
+                    "    table.insert(items, id) " +
+                    "    table.insert(items, payload) " +
+                    "  else " +
+                    "    redis.call('ZREM', KEYS[1], id) " +
+                    "  end " +
+                    "end " +
+                    "return items",
+            List.class
+    );
+
+    private final StringRedisTemplate redisAlarmStringTemplate;
+    private final ObjectMapper objectMapper;
+    private final AlarmMetrics alarmMetrics;
+    private final FcmService fcmService;
+    private final boolean enabled;
+    private final long ackTimeoutMillis;
+    private final long fallbackVisibilityMillis;
+
+    public CareEventPublisher(
+            @Qualifier("redisAlarmStringTemplate") StringRedisTemplate redisAlarmStringTemplate,
+            ObjectMapper objectMapper,
+            AlarmMetrics alarmMetrics,
+            FcmService fcmService,
+            @Value("${alarm.care-event.enabled:true}") boolean enabled,
+            @Value("${alarm.care-event.ack-timeout-millis:1500}") long ackTimeoutMillis,
+            @Value("${alarm.care-event.fallback-visibility-seconds:60}") long fallbackVisibilitySeconds
+    ) {
+        this.redisAlarmStringTemplate = redisAlarmStringTemplate;
+        this.objectMapper = objectMapper;
+        this.alarmMetrics = alarmMetrics;
+        this.fcmService = fcmService;
+        this.enabled = enabled;
+        this.ackTimeoutMillis = ackTimeoutMillis;
+        this.fallbackVisibilityMillis = fallbackVisibilitySeconds * 1000;
+    }
+
+    /**
+     * SSE 로 연결된 보호자 조회 (파이프라인 EXISTS 1회)
+     *
+     * 조회에 실패하면 빈 집합을 반환하여 전체 FCM 으로 전송되도록 한다.
+     * */
+    public Set<Long> getConnectedCareProviderIds(Collection<Long> careProviderIds) {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(careProviderIds));
+        if (!enabled || ids.isEmpty()) {
+            return Set.of();
+        }
+
+        try {
+            List<Object> results = redisAlarmStringTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                ids.forEach(id -> connection.keyCommands().exists((PRESENCE_KEY_PREFIX + id).getBytes(StandardCharsets.UTF_8)));
+                return null;
+            });
+
+            Set<Long> connected = new HashSet<>();
+            for (int i = 0; i < ids.size(); i++) {
+                if (Boolean.TRUE.equals(results.get(i))) {
+                    connected.add(ids.get(i));
+                }
+            }
+            return connected;
+        } catch (Exception e) {
+            log.warn("보호자 SSE 연결 조회 실패, FCM 전송: {}명, {}", ids.size(), e.getMessage());
+            return Set.of();
+        }
+    }
+
+    /**
+     * 미전달 시 FCM 전송 내용을 저장한 후 이벤트 전체를 메시지 1건으로 발행
+     *
+     * 전달 확인과 미전달 보호자 FCM 전송은 확인 대기 시간 이후 drainFallbacks 에서 수행한다.
+     * 저장에 실패하면 발행하지 않고 호출한 스레드에서 바로 FCM 으로 전송한다.
+     *
+     * @param fcmTokens 보호자 id -> FCM token (미전달 시 FCM 전송용)
+     * */
+    public void publish(List<CareEventMessage> messages, Map<Long, String> fcmTokens) {
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        messages.forEach(message -> message.setDeliveryId(UUID.randomUUID().toString()));
+        int recipients = messages.stream().mapToInt(message -> message.getCareProviderIds().size()).sum();
+
+        List<CareEventFallback> fallbacks = messages.stream().map(message -> fallback(message, fcmTokens)).toList();
+        try {
+            saveFallbacks(messages, fallbacks, System.currentTimeMillis() + ackTimeoutMillis);
+        } catch (Exception e) {
+            log.error("보호자 실시간 이벤트 FCM 전송 내용 저장 실패, FCM 전송: 이벤트 {}건, {}", messages.size(), e.getMessage(), e);
+            sendFcm(fallbacks.stream().map(fallback -> Map.entry(fallback, fallback.getCareProviderIds())).toList());
+            return;
+        }
+
+        Long subscribers;
+        try {
+            subscribers = redisAlarmStringTemplate.convertAndSend(CARE_EVENT_CHANNEL, objectMapper.writeValueAsString(messages));
+        } catch (Exception e) {
+            log.error("보호자 실시간 이벤트 발행 실패, FCM 전송: 이벤트 {}건, {}", messages.size(), e.getMessage(), e);
+            subscribers = null;
+        }
+
+        if (subscribers == null || subscribers == 0) {
+            log.warn("보호자 실시간 이벤트 전달 불가, FCM 전송: 이벤트 {}건, 보호자 {}명", messages.size(), recipients);
+            // 확인 대기 없이 다음 drain 에서 FCM 으로 전송
+            rescheduleFallbacks(messages, 0);
+            return;
+        }
+
+        log.debug("보호자 실시간 이벤트 발행: 이벤트 {}건, 보호자 {}명, 구독 서버 {}", messages.size(), recipients, subscribers);
+    }
+
+    /**
+     * 확인 시각이 지난 이벤트의 전달 보호자 조회 후, 기록되지 않은 보호자에게 FCM 전송
+     *
+     * 꺼낸 항목은 처리 기한(fallback-visibility-seconds) 동안 다른 레플리카가 꺼내지 않으며,
+     * FCM 전송 후 삭제한다. 처리 중 서버가 종료되면 처리 기한 이후 다시 처리된다. (중복 전송 가능, 유실 없음)
+     * */
+    @Scheduled(fixedDelayString = "${alarm.care-event.fallback-drain-millis:500}")
+    public void drainFallbacks() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            List<?> items;
+            do {
+                long now = System.currentTimeMillis();
+                items = redisAlarmStringTemplate.execute(
+                        POP_FALLBACK_SCRIPT, List.of(FALLBACK_KEY, FALLBACK_PAYLOAD_KEY),
+                        String.valueOf(now), String.valueOf(FALLBACK_BATCH_SIZE), String.valueOf(now + fallbackVisibilityMillis)
+                );
+                if (items == null || items.isEmpty()) {
+                    return;
+                }
+
+                // delivery_id, 내용 순서
+                List<String> deliveryIds = new ArrayList<>();
+                List<CareEventFallback> fallbacks = new ArrayList<>();
+                for (int i = 0; i + 1 < items.size(); i += 2) {
+                    deliveryIds.add(items.get(i).toString());
+                    fallbacks.add(objectMapper.readValue(items.get(i + 1).toString(), CareEventFallback.class));
+                }
+
+                sendUndelivered(deliveryIds, fallbacks);
+                removeFallbacks(deliveryIds);
+            } while (items.size() == FALLBACK_BATCH_SIZE * 2);
+        } catch (Exception e) {
+            log.error("보호자 실시간 이벤트 전달 확인 중 오류 발생: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * main-server 가 기록한 전달 보호자 조회, 기록되지 않은 보호자를 전달 실패로 보고 FCM 전송
+     * */
+    private void sendUndelivered(List<String> deliveryIds, List<CareEventFallback> fallbacks) {
+        List<Object> results = redisAlarmStringTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            deliveryIds.forEach(deliveryId -> connection.setCommands().sMembers(ackKey(deliveryId)));
+            return null;
+        });
+
+        int recipients = 0;
+        List<Map.Entry<CareEventFallback, List<Long>>> undelivered = new ArrayList<>();
+        for (int i = 0; i < fallbacks.size(); i++) {
+            Set<Long> acked = new HashSet<>();
+            Collection<?> members = (Collection<?>) results.get(i);
+            if (members != null) {
+                for (Object member : members) {
+                    acked.add(Long.valueOf(member instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : member.toString()));
+                }
+            }
+
+            CareEventFallback fallback = fallbacks.get(i);
+            recipients += fallback.getCareProviderIds().size();
+            List<Long> missed = fallback.getCareProviderIds().stream().filter(id -> !acked.contains(id)).toList();
+            if (!missed.isEmpty()) {
+                undelivered.add(Map.entry(fallback, missed));
+            }
+        }
+
+        int missedCount = undelivered.stream().mapToInt(entry -> entry.getValue().size()).sum();
+        alarmMetrics.recordCareEventDelivery("sse", recipients - missedCount);
+        log.info("보호자 실시간 이벤트 전달: 이벤트 {}건, 보호자 {}명, 미전달 {}명", fallbacks.size(), recipients, missedCount);
+
+        sendFcm(undelivered);
+    }
+
+    /**
+     * 미전달 보호자에게 FCM 전송 (token 이 없는 보호자는 제외), 유효하지 않은 token 정리
+     * */
+    private void sendFcm(List<Map.Entry<CareEventFallback, List<Long>>> undelivered) {
+        List<Message> messages = new ArrayList<>();
+        List<Long> careProviderIds = new ArrayList<>();
+        List<String> tokens = new ArrayList<>();
+        for (Map.Entry<CareEventFallback, List<Long>> entry : undelivered) {
+            CareEventFallback fallback = entry.getKey();
+            for (Long careProviderId : entry.getValue()) {
+                String token = fallback.getFcmTokens().get(careProviderId);
+                if (token != null) {
+                    messages.add(fcmService.buildFcmMessage(fallback.getTitle(), fallback.getBody(), token));
+                    careProviderIds.add(careProviderId);
+                    tokens.add(token);
+                }
+            }
+        }
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        alarmMetrics.recordCareEventDelivery("fcm", messages.size());
+        FcmSendReport report = fcmService.sendMessages(messages, FcmPriority.CARE_PROVIDER);
+
+        Map<Long, String> invalidTokens = new HashMap<>();
+        for (int index : report.getFailureIndexes(FcmFailureType.INVALID_TOKEN)) {
+            invalidTokens.put(careProviderIds.get(index), tokens.get(index));
+        }
+        fcmService.pruneInvalidTokens(invalidTokens);
+    }
+
+    private void saveFallbacks(List<CareEventMessage> messages, List<CareEventFallback> fallbacks, long ackAt) throws JsonProcessingException {
+        Map<byte[], byte[]> payloads = new HashMap<>();
+        for (int i = 0; i < messages.size(); i++) {
+            payloads.put(
+                    messages.get(i).getDeliveryId().getBytes(StandardCharsets.UTF_8),
+                    objectMapper.writeValueAsString(fallbacks.get(i)).getBytes(StandardCharsets.UTF_8)
+            );
+        }
+
+        redisAlarmStringTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            // 확인 대기 항목보다 내용을 먼저 저장 (drain 은 내용이 없는 항목을 버린다.)
+            connection.hashCommands().hMSet(FALLBACK_PAYLOAD_KEY.getBytes(StandardCharsets.UTF_8), payloads);
+            payloads.keySet().forEach(deliveryId ->
+                    connection.zSetCommands().zAdd(FALLBACK_KEY.getBytes(StandardCharsets.UTF_8), ackAt, deliveryId));
+            return null;
+        });
+    }
+
+    private void rescheduleFallbacks(List<CareEventMessage> messages, long ackAt) {
+        try {
+            redisAlarmStringTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                messages.forEach(message -> connection.zSetCommands().zAdd(
+                        FALLBACK_KEY.getBytes(StandardCharsets.UTF_8), ackAt, message.getDeliveryId().getBytes(StandardCharsets.UTF_8)));
+                return null;
+            });
+        } catch (Exception e) {
+            // 저장된 확인 시각 이후 FCM 으로 전송된다.
+            log.warn("보호자 실시간 이벤트 FCM 전송 앞당기기 실패: 이벤트 {}건, {}", messages.size(), e.getMessage());
+        }
+    }
+
+    private void removeFallbacks(List<String> deliveryIds) {
+        byte[][] rawIds = deliveryIds.stream().map(id -> id.getBytes(StandardCharsets.UTF_8)).toArray(byte[][]::new);
+        redisAlarmStringTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.zSetCommands().zRem(FALLBACK_KEY.getBytes(StandardCharsets.UTF_8), rawIds);
+            connection.hashCommands().hDel(FALLBACK_PAYLOAD_KEY.getBytes(StandardCharsets.UTF_8), rawIds);
+            return null;
+        });
+    }
+
+    private static CareEventFallback fallback(CareEventMessage message, Map<Long, String> fcmTokens) {
+        Map<Long, String> tokens = new HashMap<>();
+        message.getCareProviderIds().forEach(careProviderId -> {
+            String token = fcmTokens.get(careProviderId);
+            if (token != null) {
+                tokens.put(careProviderId, token);
+            }
+        });
+
+        return CareEventFallback.builder()
+                .careProviderIds(message.getCareProviderIds())
+                .title(message.getEvent().getTitle())
+                .body(message.getEvent().getBody())
+                .fcmTokens(tokens)
+                .build();
+    }
+
+    private static byte[] ackKey(String deliveryId) {
+        return (ACK_KEY_PREFIX + deliveryId).getBytes(StandardCharsets.UTF_8);
+    }
+}
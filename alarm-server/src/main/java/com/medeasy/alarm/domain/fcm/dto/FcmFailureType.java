@@ -0,0 +1,47 @@
+package com.medeasy.alarm.domain.fcm.dto;
+
+import com.google.firebase.messaging.MessagingErrorCode;
+
+import java.util.concurrent.TimeoutException;
+
+/**
+ * FCM 전송 실패 분류
+ *
+ * - INVALID_TOKEN: 앱 삭제, token 만료 등으로 더 이상 전송할 수 없는 token (token 삭제 대상)
+ *   메시지별 응답의 오류만 해당하며, 알림 메시지 내용은 고정 형식이므로 INVALID_ARGUMENT 는 token 형식 오류로 본다.
+ * - RETRYABLE: FCM 일시 장애, 할당량 초과, 청크 전체 전송 실패 (backoff 후 재시도)
+ * - PERMANENT: 인증 오류, 청크 타임아웃 등 재시도해도 결과가 같거나 중복 전송 위험이 있는 실패
+ * - DROPPED: 재시도 큐가 가득 차 전송하지 않은 메시지
+ *
+ * INVALID_TOKEN 을 제외한 실패는 전송되지 않은 것으로 보고 호출자가 다시 전송할 수 있도록 전송 기록을 남기지 않는다.
+ * */
+public enum FcmFailureType {
+    INVALID_TOKEN,
+    RETRYABLE,
+    PERMANENT,
+    DROPPED,
+    ;
+
+    /**
+     * 메시지별 응답(SendResponse)의 오류 분류
+     * */
+    public static FcmFailureType of(MessagingErrorCode errorCode) {
+        if (errorCode == null) {
+            return PERMANENT;
+        }
+
+        return switch (errorCode) {
+            case UNREGISTERED, INVALID_ARGUMENT, SENDER_ID_MISMATCH -> INVALID_TOKEN;
+            case UNAVAILABLE, QUOTA_EXCEEDED, INTERNAL -> RETRYABLE;
+            default -> PERMANENT;
+        };
+    }
+
+    /**
+     * 청크 전체 전송 실패 분류 (요청 단위 오류는 token 과 무관하므로 INVALID_TOKEN 으로 보지 않는다.)
+     * 타임아웃은 FCM 이 이미 전송했을 수 있으므로 재시도하지 않는다.
+     * */
+    public static FcmFailureType ofChunk(Throwable cause) {
+        return cause instanceof TimeoutException ? PERMANENT : RETRYABLE;
+    }
+}
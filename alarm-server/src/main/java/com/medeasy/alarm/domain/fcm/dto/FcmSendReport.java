@@ -0,0 +1,86 @@
+package com.medeasy.alarm.domain.fcm.dto;
+
+import com.google.firebase.messaging.MessagingErrorCode;
+import lombok.Getter;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 청크 단위로 나누어 전송한 FCM 결과를 합친 보고서
+ *
+ * failures 의 index 는 전송 요청한 메시지 리스트 기준 위치이다.
+ * deferredCount 는 전송 예산 부족으로 재시도 큐에 넣은 메시지 수이다. (요청 리스트의 마지막 deferredCount 개)
+ * RETRYABLE 실패는 FcmService 가 재시도 큐에 다시 넣으며, INVALID_TOKEN 실패의 token 정리는 호출자가 index 로 수행한다.
+ * pendingIndexes 는 재시도 큐에 넣어 아직 전송되지 않은 메시지 index 이다. (예산 부족, 재시도 예약된 일시적 오류)
+ * 그 외 INVALID_TOKEN 이 아닌 실패는 전송되지 않은 메시지이다. (getUndeliveredIndexes)
+ * */
+@Getter
+public class FcmSendReport {
+
+    private static final FcmSendReport EMPTY = new FcmSendReport(0, List.of(), 0, List.of());
+
+    private final int successCount;
+
+    private final List<Failure> failures;
+
+    private final int deferredCount;
+
+    private final List<Integer> pendingIndexes;
+
+    public FcmSendReport(int successCount, List<Failure> failures) {
+        this(successCount, failures, 0, List.of());
+    }
+
+    public FcmSendReport(int successCount, List<Failure> failures, int deferredCount, List<Integer> pendingIndexes) {
+        this.successCount = successCount;
+        this.failures = List.copyOf(failures);
+        this.deferredCount = deferredCount;
+        this.pendingIndexes = List.copyOf(pendingIndexes);
+    }
+
+    public static FcmSendReport empty() {
+        return EMPTY;
+    }
+
+    public int getFailureCount() {
+        return failures.size();
+    }
+
+    /**
+     * 분류별 실패 메시지 index
+     * */
+    public List<Integer> getFailureIndexes(FcmFailureType type) {
+        return failures.stream()
+                .filter(failure -> failure.type() == type)
+                .map(Failure::index)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 전송되지 않았고 재시도 큐에도 없는 메시지 index (INVALID_TOKEN 제외, 호출자가 다시 전송해야 한다.)
+     * */
+    public List<Integer> getUndeliveredIndexes() {
+        Set<Integer> pending = new HashSet<>(pendingIndexes);
+        return failures.stream()
+                .filter(failure -> failure.type() != FcmFailureType.INVALID_TOKEN)
+                .map(Failure::index)
+                .filter(index -> !pending.contains(index))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @param errorCode FCM 오류 코드, 청크 전체가 타임아웃 등으로 실패한 경우 null
+     * */
+    public record Failure(int index, MessagingErrorCode errorCode, String message, FcmFailureType type) {
+
+        /**
+         * 메시지별 응답의 실패
+         * */
+        public Failure(int index, MessagingErrorCode errorCode, String message) {
+            this(index, errorCode, message, FcmFailureType.of(errorCode));
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.medeasy.alarm.domain.fcm.gateway;
+
+import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.Message;
+import com.medeasy.alarm.domain.fcm.dto.FcmSendReport;
+
+import java.util.List;
+
+/**
+ * FCM 전송 요청 (FcmService 와 FCM 서버 사이)
+ *
+ * 운영에서는 FirebaseFcmGateway 를 사용하며, 부하 테스트(src/loadtest)에서는 지연 시간과 오류 비율을 조절할 수 있는 구현으로 대체한다.
+ * */
+public interface FcmGateway {
+
+    /**
+     * 단일 메시지 전송
+     *
+     * @return FCM messageId
+     * */
+    String send(Message message) throws FirebaseMessagingException;
+
+    /**
+     * 최대 500건의 메시지를 한 번의 요청으로 전송
+     *
+     * @return failures 의 index 는 messages 기준 위치
+     * @throws Exception 요청 전체가 실패한 경우 (FirebaseMessagingException 이면 오류 코드를 보존한다.)
+     * */
+    FcmSendReport sendEach(List<Message> messages, long timeoutSeconds) throws Exception;
+}
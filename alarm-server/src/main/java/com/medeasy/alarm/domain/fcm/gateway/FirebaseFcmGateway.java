@@ -0,0 +1,52 @@
+package com.medeasy.alarm.domain.fcm.gateway;
+
+import com.google.firebase.messaging.*;
+import com.medeasy.alarm.domain.fcm.dto.FcmSendReport;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Firebase Admin SDK 로 FCM 전송
+ * */
+@Component
+@ConditionalOnProperty(name = "firebase.enabled", havingValue = "true", matchIfMissing = true)
+public class FirebaseFcmGateway implements FcmGateway {
+
+    private final FirebaseMessaging firebaseMessaging;
+
+    public FirebaseFcmGateway(FirebaseMessaging firebaseMessaging) {
+        this.firebaseMessaging = firebaseMessaging;
+    }
+
+    @Override
+    public String send(Message message) throws FirebaseMessagingException {
+        return firebaseMessaging.send(message);
+    }
+
+    @Override
+    public FcmSendReport sendEach(List<Message> messages, long timeoutSeconds) throws Exception {
+        BatchResponse response;
+        try {
+            response = firebaseMessaging.sendEachAsync(messages).get(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            // FirebaseMessagingException 을 그대로 전달하여 오류 코드를 보존
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+
+        List<SendResponse> responses = response.getResponses();
+        List<FcmSendReport.Failure> failures = new ArrayList<>();
+        for (int i = 0; i < responses.size(); i++) {
+            SendResponse res = responses.get(i);
+            if (!res.isSuccessful()) {
+                FirebaseMessagingException ex = res.getException();
+                failures.add(new FcmSendReport.Failure(i, ex.getMessagingErrorCode(), ex.getMessage()));
+            }
+        }
+        return new FcmSendReport(response.getSuccessCount(), failures);
+    }
+}
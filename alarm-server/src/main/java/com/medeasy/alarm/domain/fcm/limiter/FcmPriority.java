@@ -0,0 +1,26 @@
+package com.medeasy.alarm.domain.fcm.limiter;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * FCM 전송 우선순위
+ *
+ * reserveRatio: 남은 전송 예산이 (버킷 크기 * reserveRatio) 이하이면 해당 우선순위는 전송하지 않고 재시도 큐로 보낸다.
+ * 상위 우선순위를 위해 예산 일부를 남겨두는 비율이며, PRIMARY 는 예산과 무관하게 항상 전송한다.
+ * */
+@Getter
+@AllArgsConstructor
+public enum FcmPriority {
+    // 복용 시각 환자 알림
+    PRIMARY(0.0),
+
+    // +30분, +60분 환자 알림
+    REMIND(0.2),
+
+    // 보호자 알림, 복약 체크 알림
+    CARE_PROVIDER(0.4),
+    ;
+
+    private final double reserveRatio;
+}
@@ -0,0 +1,90 @@
+package com.medeasy.alarm.domain.fcm.limiter;
+
+import com.medeasy.alarm.domain.alarm.shard.AlarmShardManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * FCM 전송량 token bucket (레플리카 단위)
+ *
+ * ratePerSecond, capacity 는 FCM 프로젝트 전체 예산이며, 살아있는 레플리카 수로 나눈 만큼을 레플리카별로 사용한다.
+ * 초당 (ratePerSecond / 레플리카 수) 개씩 최대 (capacity / 레플리카 수) 개까지 채워지며, 메시지 1개당 1개를 사용한다.
+ * - PRIMARY: 예산이 부족해도 전체를 허용하고 부족분은 음수로 남겨 이후 하위 우선순위 전송을 줄인다.
+ * - 그 외: 우선순위별 예약분을 제외한 남은 예산만큼만 허용한다.
+ * */
+@Slf4j
+@Service
+public class FcmRateLimiter {
+
+    private final double ratePerSecond;
+    private final double capacity;
+    private final IntSupplier liveMembers;
+    private final LongSupplier nanoClock;
+
+    private double tokens;
+    private long lastRefillNanos;
+
+    @Autowired
+    public FcmRateLimiter(
+            @Value("${alarm.fcm.rate-per-second:5000}") double ratePerSecond,
+            @Value("${alarm.fcm.burst:10000}") double capacity,
+            AlarmShardManager alarmShardManager
+    ) {
+        this(ratePerSecond, capacity, alarmShardManager::getLiveMemberCount, System::nanoTime);
+    }
+
+    FcmRateLimiter(double ratePerSecond, double capacity, IntSupplier liveMembers, LongSupplier nanoClock) {
+        this.ratePerSecond = ratePerSecond;
+        this.capacity = capacity;
+        this.liveMembers = liveMembers;
+        this.nanoClock = nanoClock;
+        this.tokens = replicaCapacity();
+        this.lastRefillNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * @return 지금 전송해도 되는 메시지 수 (0 ~ requested)
+     * */
+    public synchronized int acquire(FcmPriority priority, int requested) {
+        if (requested <= 0) {
+            return 0;
+        }
+        refill();
+
+        if (priority == FcmPriority.PRIMARY) {
+            tokens -= requested;
+            return requested;
+        }
+
+        double reserve = replicaCapacity() * priority.getReserveRatio();
+        int granted = (int) Math.max(0, Math.min(requested, Math.floor(tokens - reserve)));
+        tokens -= granted;
+        return granted;
+    }
+
+    public synchronized double getAvailableTokens() {
+        refill();
+        return tokens;
+    }
+
+    // 레플리카 수가 줄어 몫이 커지면 다음 refill 부터 더 채워지고, 늘어 몫이 작아지면 남은 token 을 줄인다.
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        double refilled = (now - lastRefillNanos) / 1_000_000_000.0 * ratePerSecond / members();
+        tokens = Math.min(replicaCapacity(), tokens + refilled);
+        lastRefillNanos = now;
+    }
+
+    private double replicaCapacity() {
+        return capacity / members();
+    }
+
+    private int members() {
+        return Math.max(1, liveMembers.getAsInt());
+    }
+}
@@ -0,0 +1,180 @@
+package com.medeasy.alarm.domain.fcm.limiter;
+
+import com.google.firebase.messaging.Message;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * 바로 보내지 못한 메시지의 단기 재시도 큐 (우선순위별, 메모리)
+ *
+ * - 전송 예산 부족으로 보내지 못한 메시지: 바로 전송 가능 (attempt 0)
+ * - 일시적 오류(UNAVAILABLE, QUOTA_EXCEEDED 등)로 실패한 메시지: 실패 횟수에 따라 지수 backoff + jitter 후 전송 가능, 최대 maxRetries 회
+ *
+ * 처음 큐에 들어온 시점부터 최대 maxDelay 동안만 보관하며, 그 이후에는 알림 의미가 없으므로 버린다.
+ * 메시지별 onSent 는 재시도 전송에 성공한 경우에만 FcmService 가 실행한다. (전송 기록 저장 등)
+ * */
+@Slf4j
+@Service
+public class FcmRetryQueue {
+
+    private final Map<FcmPriority, Deque<Pending>> readyQueues = new EnumMap<>(FcmPriority.class);
+    private final Map<FcmPriority, PriorityQueue<Pending>> delayedQueues = new EnumMap<>(FcmPriority.class);
+    private final int capacity;
+    private final long maxDelayNanos;
+    private final int maxRetries;
+    private final long backoffBaseNanos;
+    private final LongSupplier nanoClock;
+
+    private int size;
+
+    @Autowired
+    public FcmRetryQueue(
+            @Value("${alarm.fcm.retry.capacity:50000}") int capacity,
+            @Value("${alarm.fcm.retry.max-delay-seconds:300}") long maxDelaySeconds,
+            @Value("${alarm.fcm.retry.max-retries:3}") int maxRetries,
+            @Value("${alarm.fcm.retry.backoff-base-millis:2000}") long backoffBaseMillis
+    ) {
+        this(capacity, maxDelaySeconds, maxRetries, backoffBaseMillis, System::nanoTime);
+    }
+
+    FcmRetryQueue(int capacity, long maxDelaySeconds, int maxRetries, long backoffBaseMillis, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.capacity = capacity;
+        this.maxDelayNanos = Duration.ofSeconds(maxDelaySeconds).toNanos();
+        this.maxRetries = maxRetries;
+        this.backoffBaseNanos = Duration.ofMillis(backoffBaseMillis).toNanos();
+        for (FcmPriority priority : FcmPriority.values()) {
+            readyQueues.put(priority, new ArrayDeque<>());
+            delayedQueues.put(priority, new PriorityQueue<>(Comparator.comparingLong(Pending::readyAtNanos)));
+        }
+    }
+
+    /**
+     * 전송 예산 부족으로 보내지 못한 메시지 추가 (바로 전송 가능)
+     *
+     * @return 큐에 넣은 메시지 수, 큐가 가득 차면 나머지는 넣지 않는다. (앞에서부터 넣는다.)
+     * */
+    public synchronized int offer(FcmPriority priority, List<RetryMessage> messages) {
+        long now = nanoClock.getAsLong();
+        Deque<Pending> queue = readyQueues.get(priority);
+
+        int accepted = Math.max(0, Math.min(messages.size(), capacity - size));
+        for (int i = 0; i < accepted; i++) {
+            RetryMessage message = messages.get(i);
+            queue.addLast(new Pending(message.message(), 0, now, now, message.onSent()));
+        }
+        size += accepted;
+        return accepted;
+    }
+
+    /**
+     * 일시적 오류로 실패한 메시지를 backoff 후 재시도하도록 추가
+     *
+     * @param retries 실패한 메시지 (attempt 는 이번 실패 이전까지의 실패 횟수)
+     * @return 큐에 넣은 메시지의 retries 내 index, 최대 재시도 횟수를 넘었거나 큐가 가득 찬 메시지는 넣지 않는다.
+     * */
+    public synchronized List<Integer> offerRetry(FcmPriority priority, List<RetryMessage> retries) {
+        long now = nanoClock.getAsLong();
+        PriorityQueue<Pending> queue = delayedQueues.get(priority);
+
+        List<Integer> accepted = new ArrayList<>();
+        for (int i = 0; i < retries.size(); i++) {
+            RetryMessage retry = retries.get(i);
+            int attempt = retry.attempt() + 1;
+            if (attempt > maxRetries || size >= capacity) {
+                continue;
+            }
+
+            long enqueuedAtNanos = retry.enqueuedAtNanos() == 0 ? now : retry.enqueuedAtNanos();
+            queue.add(new Pending(retry.message(), attempt, enqueuedAtNanos, now + backoffNanos(attempt), retry.onSent()));
+            size++;
+            accepted.add(i);
+        }
+        return accepted;
+    }
+
+    /**
+     * backoff 가 끝난 메시지를 전송 가능 상태로 옮긴 후 보관 기간이 지난 메시지를 버리고 전송 가능한 메시지 수를 반환
+     * */
+    public synchronized int readySize(FcmPriority priority) {
+        promoteAndEvict(priority);
+        return readyQueues.get(priority).size();
+    }
+
+    /**
+     * 전송 가능한 메시지 중 앞에서부터 최대 max 개를 꺼낸다.
+     * */
+    public synchronized List<RetryMessage> poll(FcmPriority priority, int max) {
+        Deque<Pending> queue = readyQueues.get(priority);
+        promoteAndEvict(priority);
+
+        List<RetryMessage> messages = new ArrayList<>(Math.min(max, queue.size()));
+        while (messages.size() < max && !queue.isEmpty()) {
+            Pending pending = queue.pollFirst();
+            messages.add(new RetryMessage(pending.message(), pending.attempt(), pending.enqueuedAtNanos(), pending.onSent()));
+        }
+        size -= messages.size();
+        return messages;
+    }
+
+    public synchronized int size(FcmPriority priority) {
+        return readyQueues.get(priority).size() + delayedQueues.get(priority).size();
+    }
+
+    // base * 2^(attempt-1) 의 50~100% 범위에서 무작위 (동시에 실패한 메시지가 같은 시각에 다시 몰리지 않도록)
+    private long backoffNanos(int attempt) {
+        long bound = backoffBaseNanos << Math.min(attempt - 1, 10);
+        return bound / 2 + ThreadLocalRandom.current().nextLong(bound / 2 + 1);
+    }
+
+    private void promoteAndEvict(FcmPriority priority) {
+        long now = nanoClock.getAsLong();
+        long deadline = now - maxDelayNanos;
+        Deque<Pending> readyQueue = readyQueues.get(priority);
+        PriorityQueue<Pending> delayedQueue = delayedQueues.get(priority);
+
+        while (!delayedQueue.isEmpty() && delayedQueue.peek().readyAtNanos() <= now) {
+            readyQueue.addLast(delayedQueue.poll());
+        }
+
+        int expired = 0;
+        Iterator<Pending> iterator = readyQueue.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().enqueuedAtNanos() < deadline) {
+                iterator.remove();
+                expired++;
+            }
+        }
+
+        if (expired > 0) {
+            size -= expired;
+            log.error("FCM 재시도 대기 시간 초과로 메시지 제외: priority={}, {}건", priority, expired);
+        }
+    }
+
+    /**
+     * @param attempt         지금까지 실패한 전송 횟수 (예산 부족으로 전송하지 않은 경우 0)
+     * @param enqueuedAtNanos 처음 재시도 큐에 들어온 시각, 처음 전송에서 실패한 경우 0
+     * @param onSent          재시도 전송에 성공한 경우 실행할 작업, 없으면 null
+     * */
+    public record RetryMessage(Message message, int attempt, long enqueuedAtNanos, Runnable onSent) {
+
+        public static RetryMessage deferred(Message message, Runnable onSent) {
+            return new RetryMessage(message, 0, 0, onSent);
+        }
+
+        public static RetryMessage firstFailure(Message message, Runnable onSent) {
+            return new RetryMessage(message, 0, 0, onSent);
+        }
+    }
+
+    private record Pending(Message message, int attempt, long enqueuedAtNanos, long readyAtNanos, Runnable onSent) {
+    }
+}
@@ -1,26 +1,82 @@
 package com.medeasy.alarm.domain.fcm.service;
 
 import com.google.firebase.messaging.*;
+import com.medeasy.alarm.common.metrics.AlarmMetrics;
+import com.medeasy.alarm.domain.fcm.dto.FcmFailureType;
+import com.medeasy.alarm.domain.fcm.dto.FcmSendReport;
+import com.medeasy.alarm.domain.fcm.gateway.FcmGateway;
+import com.medeasy.alarm.domain.fcm.limiter.FcmPriority;
+import com.medeasy.alarm.domain.fcm.limiter.FcmRateLimiter;
+import com.medeasy.alarm.domain.fcm.limiter.FcmRetryQueue;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.connection.ReturnType;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.IntFunction;
 
 @Slf4j
 @Service
 public class FcmService {
 
     private final StringRedisTemplate redisTemplate;
-    private final FirebaseMessaging firebaseMessaging;
+    private final FcmGateway fcmGateway;
+
+    private static final String FCM_TOKEN_KEY_PREFIX = "fcm_tokens:";
+    private static final int MGET_CHUNK_SIZE = 1000;
+
+    // 전송 시점 이후 앱에서 새 token 을 등록했으면 유지, 같은 token 이면 빈 문자열(전송 제외)로 변경
+    private static final byte[] CLEAR_TOKEN_SCRIPT = (
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then redis.call('SET', KEYS[1], '') return 1 end " +
+                    "return 0"
+    ).getBytes(StandardCharsets.UTF_8);
+
+    // FCM sendEach 1회 요청 최대 메시지 수
+    private static final int FCM_BATCH_SIZE = 500;
+
+    private final ExecutorService fcmSendExecutor;
+    private final Semaphore inFlightChunks;
+    private final long chunkTimeoutSeconds;
+    private final FcmRateLimiter fcmRateLimiter;
+    private final FcmRetryQueue fcmRetryQueue;
+    private final AlarmMetrics alarmMetrics;
+    private final long retryIntervalMillis;
+
+    // 재시도 전송은 FCM 응답까지 대기하므로 공용 스케줄러 스레드를 점유하지 않도록 전용 스레드에서 수행
+    private final ScheduledExecutorService retryExecutor;
 
     public FcmService(
             @Qualifier("jwtRedisTemplate") StringRedisTemplate redisTemplate,
-            FirebaseMessaging firebaseMessaging
+            FcmGateway fcmGateway,
+            @Qualifier("fcmSendExecutor") ExecutorService fcmSendExecutor,
+            @Value("${alarm.fcm.max-concurrent-chunks:8}") int maxConcurrentChunks,
+            @Value("${alarm.fcm.chunk-timeout-seconds:30}") long chunkTimeoutSeconds,
+            FcmRateLimiter fcmRateLimiter,
+            FcmRetryQueue fcmRetryQueue,
+            AlarmMetrics alarmMetrics,
+            @Value("${alarm.fcm.retry.interval-millis:1000}") long retryIntervalMillis
     ){
         this.redisTemplate = redisTemplate;
-        this.firebaseMessaging = firebaseMessaging;
+        this.fcmGateway = fcmGateway;
+        this.fcmSendExecutor = fcmSendExecutor;
+        this.inFlightChunks = new Semaphore(maxConcurrentChunks);
+        this.chunkTimeoutSeconds = chunkTimeoutSeconds;
+        this.fcmRateLimiter = fcmRateLimiter;
+        this.fcmRetryQueue = fcmRetryQueue;
+        this.alarmMetrics = alarmMetrics;
+        this.retryIntervalMillis = retryIntervalMillis;
+        this.retryExecutor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("fcm-retry-drain").daemon(true).factory()
+        );
+        alarmMetrics.registerFcmRetryQueue(fcmRetryQueue);
     }
 
     public boolean sendMessage(Message message) {
@@ -31,7 +87,7 @@ public class FcmService {
 
         try {
             // 단일 메시지 전송
-            String messageId = firebaseMessaging.send(message);
+            String messageId = fcmGateway.send(message);
             log.info("알림 전송 성공: messageId={}", messageId);
             return true;
         } catch (FirebaseMessagingException e) {
@@ -42,31 +98,212 @@ public class FcmService {
         }
     }
 
-    public void sendMessages(List<Message> messages) {
+    /**
+     * 우선순위에 따라 전송 예산 내에서 전송
+     *
+     * 예산이 부족하면 앞에서부터 허용된 수만큼만 전송하고 나머지는 재시도 큐에 넣는다. (PRIMARY 는 항상 전체 전송)
+     * 재시도 큐가 가득 차 넣지 못한 메시지는 DROPPED 실패로 보고하며, 호출자는 전송되지 않은 것으로 처리한다.
+     * 일시적 오류로 실패한 메시지는 backoff 후 재시도하도록 재시도 큐에 넣는다.
+     * */
+    public FcmSendReport sendMessages(List<Message> messages, FcmPriority priority) {
+        return sendMessages(messages, priority, index -> null);
+    }
+
+    /**
+     * @param onRetrySent 재시도 큐에 넣은 메시지가 나중에 전송되었을 때 실행할 작업 (메시지 index 기준, 없으면 null)
+     *                    재시도 큐에 넣은 메시지 index 는 FcmSendReport.pendingIndexes 로 반환한다.
+     * */
+    public FcmSendReport sendMessages(List<Message> messages, FcmPriority priority, IntFunction<Runnable> onRetrySent) {
         if (messages == null || messages.isEmpty()) {
             log.info("전송할 메시지가 없습니다.");
+            return FcmSendReport.empty();
+        }
+
+        int granted = fcmRateLimiter.acquire(priority, messages.size());
+        List<Integer> pendingIndexes = new ArrayList<>();
+
+        int deferred = 0;
+        int spilled = messages.size() - granted;
+        if (spilled > 0) {
+            List<FcmRetryQueue.RetryMessage> deferredMessages = new ArrayList<>(spilled);
+            for (int index = granted; index < messages.size(); index++) {
+                deferredMessages.add(FcmRetryQueue.RetryMessage.deferred(messages.get(index), onRetrySent.apply(index)));
+            }
+            deferred = fcmRetryQueue.offer(priority, deferredMessages);
+            for (int index = granted; index < granted + deferred; index++) {
+                pendingIndexes.add(index);
+            }
+
+            alarmMetrics.recordFcmDeferred(priority, deferred, spilled - deferred);
+            log.warn("FCM 전송 예산 부족: priority={}, 전송 {}건, 재시도 대기 {}건, 제외 {}건",
+                    priority, granted, deferred, spilled - deferred);
+        }
+
+        FcmSendReport report = sendMessages(messages.subList(0, granted));
+        pendingIndexes.addAll(retryFailures(priority, report,
+                index -> FcmRetryQueue.RetryMessage.firstFailure(messages.get(index), onRetrySent.apply(index))));
+
+        List<FcmSendReport.Failure> failures = new ArrayList<>(report.getFailures());
+        addChunkFailures(failures, granted + deferred, spilled - deferred, null, FcmFailureType.DROPPED, "FCM 재시도 큐 초과");
+
+        return new FcmSendReport(report.getSuccessCount(), failures, deferred, pendingIndexes);
+    }
+
+    @PostConstruct
+    public void start() {
+        retryExecutor.scheduleWithFixedDelay(this::drainRetryQueue, retryIntervalMillis, retryIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        retryExecutor.shutdownNow();
+    }
+
+    /**
+     * 재시도 큐에서 전송 가능한 메시지를 우선순위 순서로 전송 예산 내에서 전송 (전용 스레드, FCM 응답까지 대기)
+     *
+     * 전송에 성공한 메시지는 onSent 를 실행하고, 다시 일시적 오류로 실패한 메시지는 실패 횟수를 늘려 재시도 큐에 넣는다.
+     * 재시도 중 발견된 유효하지 않은 token 은 사용자를 알 수 없으므로 정리하지 않는다. (다음 알림 전송 시 정리)
+     * */
+    public void drainRetryQueue() {
+        for (FcmPriority priority : FcmPriority.values()) {
+            try {
+                drainRetryQueue(priority);
+            } catch (Exception e) {
+                log.error("FCM 재시도 전송 중 오류 발생: priority={}, {}", priority, e.getMessage(), e);
+            }
+        }
+    }
+
+    private void drainRetryQueue(FcmPriority priority) {
+        int ready = fcmRetryQueue.readySize(priority);
+        if (ready == 0) {
             return;
         }
 
-        try {
-            BatchResponse response=firebaseMessaging.sendEach(messages);
-            List<SendResponse> responses = response.getResponses();
-            for (int i = 0; i < responses.size(); i++) {
-                SendResponse res = responses.get(i);
-                if (!res.isSuccessful()) {
-                    FirebaseMessagingException ex = (FirebaseMessagingException) res.getException();
+        int granted = fcmRateLimiter.acquire(priority, ready);
+        List<FcmRetryQueue.RetryMessage> retries = fcmRetryQueue.poll(priority, granted);
+        if (retries.isEmpty()) {
+            return;
+        }
+
+        log.info("FCM 재시도 전송: priority={}, {}건, 남은 대기 {}건", priority, retries.size(), fcmRetryQueue.size(priority));
+        FcmSendReport report = sendMessages(retries.stream().map(FcmRetryQueue.RetryMessage::message).toList());
+        retryFailures(priority, report, retries::get);
+
+        Set<Integer> failed = new HashSet<>();
+        report.getFailures().forEach(failure -> failed.add(failure.index()));
+        for (int index = 0; index < retries.size(); index++) {
+            Runnable onSent = retries.get(index).onSent();
+            if (onSent == null || failed.contains(index)) {
+                continue;
+            }
+
+            try {
+                onSent.run();
+            } catch (Exception e) {
+                log.error("FCM 재시도 전송 후 처리 중 오류 발생: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * @return 재시도 큐에 넣은 메시지 index
+     * */
+    private List<Integer> retryFailures(FcmPriority priority, FcmSendReport report, IntFunction<FcmRetryQueue.RetryMessage> retryOf) {
+        List<Integer> indexes = report.getFailureIndexes(FcmFailureType.RETRYABLE);
+        if (indexes.isEmpty()) {
+            return List.of();
+        }
+
+        List<FcmRetryQueue.RetryMessage> retries = indexes.stream().map(retryOf::apply).toList();
+        List<Integer> accepted = fcmRetryQueue.offerRetry(priority, retries).stream().map(indexes::get).toList();
+        log.warn("FCM 일시적 오류 재시도 예약: priority={}, {}건, 제외 {}건 (재시도 횟수 또는 큐 크기 초과)",
+                priority, accepted.size(), retries.size() - accepted.size());
+        return accepted;
+    }
+
+    /**
+     * 메시지를 500개 단위 청크로 나누어 병렬 전송 (전송 예산 확인 없음)
+     *
+     * 각 청크는 가상 스레드에서 FcmGateway 로 전송되며, 동시에 전송 중인 청크 수는 세마포어로 제한한다.
+     * 청크별 결과를 합쳐 전체 메시지 기준 index 로 실패 코드를 반환한다.
+     * */
+    public FcmSendReport sendMessages(List<Message> messages) {
+        if (messages == null || messages.isEmpty()) {
+            log.info("전송할 메시지가 없습니다.");
+            return FcmSendReport.empty();
+        }
+
+        long start = System.currentTimeMillis();
+
+        List<Future<FcmSendReport>> futures = new ArrayList<>();
+        for (int offset = 0; offset < messages.size(); offset += FCM_BATCH_SIZE) {
+            List<Message> chunk = messages.subList(offset, Math.min(offset + FCM_BATCH_SIZE, messages.size()));
+            futures.add(fcmSendExecutor.submit(() -> sendChunk(chunk)));
+        }
+
+        int successCount = 0;
+        List<FcmSendReport.Failure> failures = new ArrayList<>();
+
+        for (int chunkIndex = 0; chunkIndex < futures.size(); chunkIndex++) {
+            int offset = chunkIndex * FCM_BATCH_SIZE;
+            int chunkSize = Math.min(FCM_BATCH_SIZE, messages.size() - offset);
+
+            try {
+                FcmSendReport chunkReport = futures.get(chunkIndex).get();
+                successCount += chunkReport.getSuccessCount();
+                for (FcmSendReport.Failure failure : chunkReport.getFailures()) {
+                    failures.add(new FcmSendReport.Failure(offset + failure.index(), failure.errorCode(), failure.message(), failure.type()));
                     log.error("FCM 전송 실패 - index: {}, errorCode: {}, message: {}",
-                            i, ex.getErrorCode(), ex.getMessage());
+                            offset + failure.index(), failure.errorCode(), failure.message());
                 }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                addChunkFailures(failures, offset, chunkSize, null, FcmFailureType.PERMANENT, "interrupted");
+            } catch (ExecutionException e) {
+                // 청크 전체 실패는 요청 단위 오류이므로 token 정리 대상(INVALID_TOKEN)으로 분류하지 않는다.
+                Throwable cause = e.getCause();
+                MessagingErrorCode errorCode = cause instanceof FirebaseMessagingException fme ? fme.getMessagingErrorCode() : null;
+                addChunkFailures(failures, offset, chunkSize, errorCode, FcmFailureType.ofChunk(cause), cause.getMessage());
+                log.error("FCM 청크 전송 실패 - offset: {}, size: {}", offset, chunkSize, cause);
             }
-            log.info("알림 전송 성공: {}개 성공, {}개 실패", response.getSuccessCount(), response.getFailureCount());
-        }catch (FirebaseMessagingException e) {
-            log.error("FCM 배치 전송 실패", e);
+        }
+
+        FcmSendReport report = new FcmSendReport(successCount, failures);
+        alarmMetrics.recordFcmResults(report);
+        log.info("알림 전송 성공: {}개 성공, {}개 실패, 청크 {}개, {}ms",
+                report.getSuccessCount(), report.getFailureCount(), futures.size(), System.currentTimeMillis() - start);
+
+        return report;
+    }
+
+    private FcmSendReport sendChunk(List<Message> chunk) throws Exception {
+        inFlightChunks.acquire();
+        long start = System.nanoTime();
+        try {
+            return fcmGateway.sendEach(chunk, chunkTimeoutSeconds);
+        } finally {
+            alarmMetrics.recordFcmSend(System.nanoTime() - start);
+            inFlightChunks.release();
+        }
+    }
+
+    private static void addChunkFailures(
+            List<FcmSendReport.Failure> failures,
+            int offset,
+            int chunkSize,
+            MessagingErrorCode errorCode,
+            FcmFailureType type,
+            String message
+    ) {
+        for (int i = 0; i < chunkSize; i++) {
+            failures.add(new FcmSendReport.Failure(offset + i, errorCode, message, type));
         }
     }
 
     public String getFcmClientToken(Long userId) {
-        String tokenRedisKey="fcm_tokens:"+userId;
+        String tokenRedisKey=FCM_TOKEN_KEY_PREFIX+userId;
         String fcmClientToken=redisTemplate.opsForValue().get(tokenRedisKey);
 
         if(fcmClientToken==null){
@@ -77,6 +314,82 @@ public class FcmService {
         return fcmClientToken;
     }
 
+    /**
+     * 여러 사용자의 fcm token 일괄 조회
+     *
+     * MGET 명령을 파이프라인으로 묶어 한 번의 왕복으로 조회한다.
+     * 토큰이 존재하지 않는 사용자는 결과에서 제외되며, 단건 조회와 동일하게 refresh token을 삭제한다.
+     * 빈 문자열로 저장된 토큰(앱에서 토큰 미발급)은 전송 대상에서만 제외한다.
+     * */
+    public Map<Long, String> getFcmClientTokens(Collection<Long> userIds) {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(userIds));
+        Map<Long, String> tokens = new HashMap<>();
+        if (ids.isEmpty()) {
+            return tokens;
+        }
+
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (int i = 0; i < ids.size(); i += MGET_CHUNK_SIZE) {
+                byte[][] keys = ids.subList(i, Math.min(i + MGET_CHUNK_SIZE, ids.size())).stream()
+                        .map(id -> (FCM_TOKEN_KEY_PREFIX + id).getBytes(StandardCharsets.UTF_8))
+                        .toArray(byte[][]::new);
+                connection.stringCommands().mGet(keys);
+            }
+            return null;
+        });
+
+        List<String> refreshTokenKeys = new ArrayList<>();
+        int index = 0;
+        for (Object result : results) {
+            for (Object value : (List<?>) result) {
+                Long userId = ids.get(index++);
+                String fcmClientToken = value instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : (String) value;
+
+                if (fcmClientToken == null) {
+                    refreshTokenKeys.add(userId.toString());
+                } else if (!fcmClientToken.isBlank()) {
+                    tokens.put(userId, fcmClientToken);
+                }
+            }
+        }
+
+        if (!refreshTokenKeys.isEmpty()) {
+            redisTemplate.delete(refreshTokenKeys);
+            log.info("fcm token 존재하지 않음: 사용자 {}명의 refresh token 삭제", refreshTokenKeys.size());
+        }
+
+        return tokens;
+    }
+
+    /**
+     * 유효하지 않은 fcm token 정리 (UNREGISTERED, INVALID_ARGUMENT 등)
+     *
+     * 사용자 token 을 빈 문자열로 바꿔 다음 알림부터 메시지 생성 전에 전송 대상에서 제외한다.
+     * (token 이 없는 경우와 달리 refresh token 은 유지되며, 앱에서 token 을 다시 등록하면 전송 대상으로 돌아온다.)
+     * 스크립트를 파이프라인으로 묶어 한 번의 왕복으로 처리한다.
+     *
+     * @param tokensByUserId 사용자별 전송에 사용한 token
+     * */
+    public void pruneInvalidTokens(Map<Long, String> tokensByUserId) {
+        if (tokensByUserId.isEmpty()) {
+            return;
+        }
+
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            tokensByUserId.forEach((userId, fcmClientToken) -> connection.scriptingCommands().eval(
+                    CLEAR_TOKEN_SCRIPT,
+                    ReturnType.INTEGER,
+                    1,
+                    (FCM_TOKEN_KEY_PREFIX + userId).getBytes(StandardCharsets.UTF_8),
+                    fcmClientToken.getBytes(StandardCharsets.UTF_8)
+            ));
+            return null;
+        });
+
+        long cleared = results.stream().filter(result -> Long.valueOf(1L).equals(result)).count();
+        log.info("유효하지 않은 fcm token 정리: 사용자 {}명 중 {}명 전송 제외", tokensByUserId.size(), cleared);
+    }
+
     public Message buildFcmMessage(String title, String body, String fcmClientToken) {
         Notification notification=Notification.builder()
                 .setTitle(title)
@@ -4,8 +4,9 @@ import com.google.firebase.messaging.Message;
 import com.medeasy.alarm.common.annotation.Business;
 import com.medeasy.alarm.domain.fcm.service.FcmService;
 import com.medeasy.alarm.domain.notification.converter.NotificationConverter;
-import com.medeasy.alarm.domain.notification.db.NotificationEntity;
 import com.medeasy.alarm.domain.notification.dto.NotificationAgreementRequest;
+import com.medeasy.alarm.domain.notification.dto.NotificationCursorResponse;
+import com.medeasy.alarm.domain.notification.dto.NotificationDraft;
 import com.medeasy.alarm.domain.notification.dto.NotificationIsUnreadResponse;
 import com.medeasy.alarm.domain.notification.dto.NotificationResponse;
 import com.medeasy.alarm.domain.notification.service.NotificationService;
@@ -28,16 +29,25 @@ public class NotificationBusiness {
     private final FcmService fcmService;
 
     public List<NotificationResponse> getNotifications(Long userId, int page, int size) {
-        List<NotificationEntity> notificationEntities=notificationService.getNotifications(userId, page, size);
+        return notificationService.getNotifications(userId, page, size);
+    }
+
+    public NotificationCursorResponse getNotificationsByCursor(Long userId, String cursor, int size) {
+        List<NotificationResponse> notifications;
+        if (cursor == null || cursor.isBlank()) {
+            notifications = notificationService.getNotificationsByCursor(userId, null, null, size);
+        } else {
+            NotificationConverter.Cursor parsed = notificationConverter.parseCursor(cursor);
+            notifications = notificationService.getNotificationsByCursor(userId, parsed.sentAt(), parsed.notificationId(), size);
+        }
 
-        return notificationEntities.stream().map(notificationConverter::toResponse).toList();
+        return notificationConverter.toCursorResponse(notifications, size);
     }
 
     @Transactional
     public NotificationResponse readNotification(Long userId, Long notificationId) {
-        NotificationEntity notificationEntity=notificationService.getNotificationWithUserId(userId, notificationId);
-        notificationEntity.setIsRead(true);
-        return notificationConverter.toResponse(notificationEntity);
+        notificationService.markAsRead(userId, notificationId);
+        return notificationService.getNotificationWithUserId(userId, notificationId);
     }
 
     public NotificationIsUnreadResponse getIsUnReadNotifications(Long userId) {
@@ -48,8 +58,7 @@ public class NotificationBusiness {
 
     @Transactional
     public void readAllNotification(Long userId) {
-        List<NotificationEntity> notificationEntities=notificationService.getAllUnreadNotifications(userId);
-        notificationEntities.forEach(notificationEntity -> notificationEntity.setIsRead(true));
+        notificationService.markAllAsRead(userId);
     }
 
     @Transactional
@@ -64,15 +73,14 @@ public class NotificationBusiness {
         String userFcmToken = fcmService.getFcmClientToken(userId);
         Message message=fcmService.buildFcmMessage(title, content, userFcmToken);
 
-        NotificationEntity notificationEntity=NotificationEntity.builder()
+        NotificationDraft notificationDraft=NotificationDraft.builder()
                 .sentAt(LocalDateTime.now())
                 .title(title)
                 .content(content)
-                .isRead(false)
-                .userId(userId)
+                .recipientIds(List.of(userId))
                 .build();
 
         fcmService.sendMessage(message);
-        notificationService.saveNotification(notificationEntity);
+        notificationService.saveNotification(notificationDraft);
     }
 }
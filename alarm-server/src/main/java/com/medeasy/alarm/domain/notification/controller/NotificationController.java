@@ -6,6 +6,7 @@ import com.medeasy.alarm.common.annotation.UserSession;
 import com.medeasy.alarm.common.api.Api;
 import com.medeasy.alarm.domain.notification.business.NotificationBusiness;
 import com.medeasy.alarm.domain.notification.dto.NotificationAgreementRequest;
+import com.medeasy.alarm.domain.notification.dto.NotificationCursorResponse;
 import com.medeasy.alarm.domain.notification.dto.NotificationIsUnreadResponse;
 import com.medeasy.alarm.domain.notification.dto.NotificationResponse;
 import io.swagger.v3.oas.annotations.Operation;
@@ -47,6 +48,33 @@ public class NotificationController {
         return Api.OK(response);
     }
 
+    @Operation(summary = "사용자 알림 리스트 조회 (cursor)", description =
+            """
+                알림 리스트 cursor 조회 API:
+                
+                사용자의 알림들을 최신순으로 조회 
+                첫 요청은 cursor 없이 호출하고, 이후 응답의 next_cursor 를 cursor 로 전달 
+            
+            응답 값 설명: 
+            
+            has_next: false 일시 마지막 페이지 (next_cursor: null)  
+            """)
+    @GetMapping("/list/cursor")
+    public Api<NotificationCursorResponse> getNotificationsByCursor(
+            @Parameter(hidden = true) @UserSession Long userId,
+            @RequestParam(value = "cursor", required = false)
+            @Parameter(description = "이전 응답의 next_cursor (첫 페이지는 생략)", required = false)
+            String cursor,
+
+            @RequestParam(value = "size", defaultValue = "10", required = false)
+            @Parameter(description = "불러올 알림 개수 (default: 10, max: 100)", required = false)
+            int size
+    ) {
+        var response=notificationBusiness.getNotificationsByCursor(userId, cursor, Math.clamp(size, 1, 100));
+
+        return Api.OK(response);
+    }
+
     @Operation(summary = "알림 읽기 체크 API", description =
             """
                 알림 읽기 체크 API:
@@ -1,23 +1,54 @@
 package com.medeasy.alarm.domain.notification.converter;
 
 import com.medeasy.alarm.common.annotation.Converter;
-import com.medeasy.alarm.domain.notification.db.NotificationEntity;
+import com.medeasy.alarm.common.error.NotificationError;
+import com.medeasy.alarm.common.exception.ApiException;
+import com.medeasy.alarm.domain.notification.dto.NotificationCursorResponse;
 import com.medeasy.alarm.domain.notification.dto.NotificationResponse;
 import lombok.extern.slf4j.Slf4j;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
 @Slf4j
 @Converter
 public class NotificationConverter {
 
-    public NotificationResponse toResponse(NotificationEntity notificationEntity) {
-        return NotificationResponse.builder()
-                .routineUserId(notificationEntity.getRoutineUserId())
-                .notificationId(notificationEntity.getId())
-                .title(notificationEntity.getTitle())
-                .content(notificationEntity.getContent())
-                .sentAt(notificationEntity.getSentAt())
-                .isRead(notificationEntity.getIsRead())
+    /**
+     * size + 1 건 조회 결과로 다음 페이지 존재 여부와 cursor 생성
+     * */
+    public NotificationCursorResponse toCursorResponse(List<NotificationResponse> notifications, int size) {
+        boolean hasNext = notifications.size() > size;
+        List<NotificationResponse> page = hasNext ? notifications.subList(0, size) : notifications;
+
+        return NotificationCursorResponse.builder()
+                .notifications(page)
+                .nextCursor(hasNext ? toCursor(page.getLast()) : null)
+                .hasNext(hasNext)
                 .build()
                 ;
     }
+
+    /**
+     * cursor: base64url("{sentAt}|{notificationId}")
+     * */
+    public String toCursor(NotificationResponse notification) {
+        String raw = notification.getSentAt() + "|" + notification.getNotificationId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Cursor parseCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new Cursor(LocalDateTime.parse(raw.substring(0, separator)), Long.valueOf(raw.substring(separator + 1)));
+        } catch (Exception e) {
+            throw new ApiException(NotificationError.BAD_REQEUST, "잘못된 cursor 입니다.");
+        }
+    }
+
+    public record Cursor(LocalDateTime sentAt, Long notificationId) {
+    }
 }
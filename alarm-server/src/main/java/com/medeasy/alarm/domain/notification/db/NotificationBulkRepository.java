@@ -0,0 +1,141 @@
+package com.medeasy.alarm.domain.notification.db;
+
+import com.medeasy.alarm.domain.notification.dto.NotificationDraft;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 알림 대량 저장 (multi-row INSERT)
+ *
+ * JPA saveAll 은 엔티티마다 persist + flush 를 거치므로 알림 전송 경로에서는 JDBC 로 직접 저장한다.
+ * 알림 내용은 notification_event 에 1건만 저장하고, 수신자는 notification_recipient 에 (event_id, user_id, is_read) 로 저장한다.
+ *
+ * id 는 엔티티와 같은 시퀀스를 사용하며, Hibernate pooled optimizer 와 동일하게
+ * nextval 값 v 하나가 (v - ALLOCATION_SIZE, v] 구간의 id 를 예약한다.
+ * 필요한 구간을 generate_series 로 한 번에 예약하여 id 조회는 테이블별로 저장 요청당 1회만 수행한다.
+ * */
+@Slf4j
+@Repository
+public class NotificationBulkRepository {
+
+    // 엔티티 @SequenceGenerator allocationSize 와 같아야 한다.
+    private static final int ALLOCATION_SIZE = 30;
+
+    private static final String EVENT_SEQUENCE = "notification_event_id_seq";
+    private static final String RECIPIENT_SEQUENCE = "notification_recipient_id_seq";
+
+    private static final String INSERT_EVENT_PREFIX =
+            "INSERT INTO notification_event (id, routine_user_id, title, content, created_at) VALUES ";
+    private static final String INSERT_RECIPIENT_PREFIX =
+            "INSERT INTO notification_recipient (id, event_id, user_id, is_read, sent_at) VALUES ";
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?, ?)";
+    private static final int COLUMN_COUNT = 5;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int insertBatchSize;
+
+    public NotificationBulkRepository(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${alarm.notification.insert-batch-size:1000}") int insertBatchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.insertBatchSize = insertBatchSize;
+    }
+
+    /**
+     * id 를 할당한 후 insertBatchSize 건씩 multi-row INSERT (알림 내용, 수신자 한 트랜잭션)
+     * */
+    public void insertAll(List<NotificationDraft> drafts) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> eventRows = new ArrayList<>();
+        List<Object[]> recipientRows = new ArrayList<>();
+
+        int recipientCount = drafts.stream().mapToInt(draft -> draft.getRecipientIds().size()).sum();
+        if (recipientCount == 0) {
+            return;
+        }
+
+        List<Long> eventIds = allocateIds(EVENT_SEQUENCE, drafts.size());
+        List<Long> recipientIds = allocateIds(RECIPIENT_SEQUENCE, recipientCount);
+
+        int recipientIndex = 0;
+        for (int i = 0; i < drafts.size(); i++) {
+            NotificationDraft draft = drafts.get(i);
+            if (draft.getRecipientIds().isEmpty()) {
+                continue;
+            }
+            if (draft.getSentAt() == null) {
+                draft.setSentAt(now);
+            }
+
+            Long eventId = eventIds.get(i);
+            Timestamp sentAt = Timestamp.valueOf(draft.getSentAt());
+            eventRows.add(new Object[]{eventId, draft.getRoutineUserId(), draft.getTitle(), draft.getContent(), sentAt});
+            for (Long userId : draft.getRecipientIds()) {
+                recipientRows.add(new Object[]{recipientIds.get(recipientIndex++), eventId, userId, false, sentAt});
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            insertRows(INSERT_EVENT_PREFIX, eventRows);
+            insertRows(INSERT_RECIPIENT_PREFIX, recipientRows);
+        });
+    }
+
+    private void insertRows(String insertPrefix, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += insertBatchSize) {
+            List<Object[]> batch = rows.subList(from, Math.min(from + insertBatchSize, rows.size()));
+
+            Object[] args = new Object[batch.size() * COLUMN_COUNT];
+            for (int i = 0; i < batch.size(); i++) {
+                System.arraycopy(batch.get(i), 0, args, i * COLUMN_COUNT, COLUMN_COUNT);
+            }
+            jdbcTemplate.update(insertSql(insertPrefix, batch.size()), args);
+        }
+    }
+
+    private List<Long> allocateIds(String sequence, int count) {
+        List<Long> ids = new ArrayList<>(count);
+
+        while (ids.size() < count) {
+            int blocks = (count - ids.size() + ALLOCATION_SIZE - 1) / ALLOCATION_SIZE;
+            List<Long> hiValues = jdbcTemplate.queryForList(
+                    "SELECT nextval('" + sequence + "') FROM generate_series(1, ?)", Long.class, blocks
+            );
+
+            for (Long hi : hiValues) {
+                // 시퀀스 초기값 구간은 Hibernate 가 별도로 사용하므로 제외
+                if (hi < ALLOCATION_SIZE) {
+                    continue;
+                }
+                for (long id = hi - ALLOCATION_SIZE + 1; id <= hi && ids.size() < count; id++) {
+                    ids.add(id);
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static String insertSql(String insertPrefix, int rows) {
+        StringBuilder sql = new StringBuilder(insertPrefix.length() + rows * (ROW_PLACEHOLDER.length() + 1));
+        sql.append(insertPrefix);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(',');
+            }
+            sql.append(ROW_PLACEHOLDER);
+        }
+        return sql.toString();
+    }
+}
@@ -0,0 +1,43 @@
+package com.medeasy.alarm.domain.notification.db;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 알림 내용 (수신자와 무관하게 1건만 저장)
+ *
+ * 같은 알림을 받는 수신자는 notification_recipient 에 event_id 로 연결된다.
+ * created_at 은 파티션 키이며 수신자의 sent_at 과 같은 값을 가진다.
+ * */
+@Getter
+@Setter
+@Builder
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "notification_event")
+@SequenceGenerator(
+        name = "notification_event_seq_generator",
+        sequenceName = "notification_event_id_seq",
+        allocationSize = 30
+)
+public class NotificationEventEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_event_seq_generator")
+    private Long id;
+
+    private Long routineUserId;
+
+    @Column(nullable = false, length = 150)
+    private String title;
+
+    @Column(nullable = false, length = 250)
+    private String content;
+
+    // 파티션 키
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -2,41 +2,42 @@ package com.medeasy.alarm.domain.notification.db;
 
 import jakarta.persistence.*;
 import lombok.*;
-import org.hibernate.annotations.CreationTimestamp;
+
 import java.time.LocalDateTime;
 
+/**
+ * 알림 수신자별 읽음 여부
+ *
+ * id 는 클라이언트에 notification_id 로 노출된다.
+ * */
 @Getter
 @Setter
 @Builder
 @Entity
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "notification")
+@Table(name = "notification_recipient")
 @SequenceGenerator(
-        name = "notification_seq_generator",
-        sequenceName = "notification_id_seq",
+        name = "notification_recipient_seq_generator",
+        sequenceName = "notification_recipient_id_seq",
         allocationSize = 30
 )
-public class NotificationEntity {
+public class NotificationRecipientEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_seq_generator")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_recipient_seq_generator")
     private Long id;
 
-    private Long routineUserId;
-
-    @Column(nullable = false, length = 150)
-    private String title;
+    @Column(nullable = false)
+    private Long eventId;
 
-    @Column(nullable = false, length = 250)
-    private String content;
+    @Column(nullable = false)
+    private Long userId;
 
     @Column(nullable = false, columnDefinition = "boolean")
     private Boolean isRead;
 
-    @CreationTimestamp
-    private LocalDateTime sentAt;
-
+    // 파티션 키
     @Column(nullable = false)
-    private Long userId;
+    private LocalDateTime sentAt;
 }
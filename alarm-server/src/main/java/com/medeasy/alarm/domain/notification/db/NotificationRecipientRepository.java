@@ -0,0 +1,110 @@
+package com.medeasy.alarm.domain.notification.db;
+
+import com.medeasy.alarm.domain.notification.dto.NotificationResponse;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 알림 조회는 수신자 행에서 시작하여 알림 내용(notification_event)을 (id, created_at) 으로 조인한다.
+ * 모든 조회에 sent_at 하한을 붙여 조회 기간 이전 파티션은 조회하지 않는다.
+ * */
+public interface NotificationRecipientRepository extends JpaRepository<NotificationRecipientEntity, Long> {
+
+    String RESPONSE_PROJECTION = "SELECT new com.medeasy.alarm.domain.notification.dto.NotificationResponse(e.routineUserId, r.id, e.title, e.content, r.sentAt, r.isRead) " +
+            "FROM NotificationRecipientEntity r " +
+            "JOIN NotificationEventEntity e ON e.id = r.eventId AND e.createdAt = r.sentAt ";
+
+    /**
+     * 사용자의 알림 리스트 (offset 조회)
+     * */
+    @Query(RESPONSE_PROJECTION +
+            "WHERE r.userId = :userId " +
+            "AND r.sentAt >= :from " +
+            "ORDER BY r.sentAt DESC")
+    List<NotificationResponse> findPageByUserId(
+            @Param("userId") Long userId,
+            @Param("from") LocalDateTime from,
+            Pageable pageable
+    );
+
+    /**
+     * 알림 리스트 keyset 조회 (첫 페이지)
+     * 엔티티 대신 응답 DTO 로 바로 조회하며, (user_id, sent_at DESC, id DESC) 인덱스 순서대로 읽는다.
+     * */
+    @Query(RESPONSE_PROJECTION +
+            "WHERE r.userId = :userId " +
+            "AND r.sentAt >= :from " +
+            "ORDER BY r.sentAt DESC, r.id DESC")
+    List<NotificationResponse> findFirstPageByUserId(
+            @Param("userId") Long userId,
+            @Param("from") LocalDateTime from,
+            Pageable pageable
+    );
+
+    /**
+     * 알림 리스트 keyset 조회 (cursor 이후 페이지)
+     * sentAt <= :sentAt 조건으로 인덱스 탐색 범위를 cursor 이후로 한정하여 페이지 위치와 관계없이 조회 비용이 같다.
+     * */
+    @Query(RESPONSE_PROJECTION +
+            "WHERE r.userId = :userId " +
+            "AND r.sentAt >= :from " +
+            "AND r.sentAt <= :sentAt " +
+            "AND (r.sentAt < :sentAt OR r.id < :id) " +
+            "ORDER BY r.sentAt DESC, r.id DESC")
+    List<NotificationResponse> findPageByUserIdAfterCursor(
+            @Param("userId") Long userId,
+            @Param("from") LocalDateTime from,
+            @Param("sentAt") LocalDateTime sentAt,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+
+    /**
+     * 인가 요청을 포함한 로직
+     *
+     * 사용자가 가지고 있는 알림 중에서만 조회
+     * */
+    @Query(RESPONSE_PROJECTION +
+            "WHERE r.userId = :userId " +
+            "AND r.id = :notificationId " +
+            "AND r.sentAt >= :from")
+    Optional<NotificationResponse> findResponseByIdAndUserId(
+            @Param("notificationId") Long notificationId,
+            @Param("userId") Long userId,
+            @Param("from") LocalDateTime from
+    );
+
+    /**
+     * 읽음 처리, 읽지 않은 알림이었으면 1 반환
+     * */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE NotificationRecipientEntity r SET r.isRead = true " +
+            "WHERE r.userId = :userId " +
+            "AND r.id = :notificationId " +
+            "AND r.isRead = false " +
+            "AND r.sentAt >= :from")
+    int markAsRead(
+            @Param("notificationId") Long notificationId,
+            @Param("userId") Long userId,
+            @Param("from") LocalDateTime from
+    );
+
+    long countByUserIdAndIsReadFalseAndSentAtGreaterThanEqual(Long userId, LocalDateTime from);
+
+    /**
+     * 사용자의 읽지 않은 알림 일괄 읽음 처리 (UPDATE 1회)
+     * */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE NotificationRecipientEntity r SET r.isRead = true " +
+            "WHERE r.userId = :userId " +
+            "AND r.isRead = false " +
+            "AND r.sentAt >= :from")
+    int markAllAsReadByUserId(@Param("userId") Long userId, @Param("from") LocalDateTime from);
+}
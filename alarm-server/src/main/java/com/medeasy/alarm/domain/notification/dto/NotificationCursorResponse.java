@@ -0,0 +1,24 @@
+package com.medeasy.alarm.domain.notification.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * 알림 리스트 keyset 조회 응답
+ *
+ * next_cursor 를 다음 요청의 cursor 로 전달하면 이어서 조회한다. (마지막 페이지면 null)
+ * */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationCursorResponse {
+
+    private List<NotificationResponse> notifications;
+
+    private String nextCursor;
+
+    private Boolean hasNext;
+}
@@ -0,0 +1,29 @@
+package com.medeasy.alarm.domain.notification.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 저장할 알림 1건과 수신자 목록
+ *
+ * notification_event 1행, 수신자 수만큼 notification_recipient 행으로 저장된다.
+ * */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationDraft {
+
+    private Long routineUserId;
+
+    private String title;
+
+    private String content;
+
+    private LocalDateTime sentAt;
+
+    private List<Long> recipientIds;
+}
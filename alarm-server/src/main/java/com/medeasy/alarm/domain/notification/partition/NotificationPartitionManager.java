@@ -0,0 +1,214 @@
+package com.medeasy.alarm.domain.notification.partition;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 알림 테이블(notification_event, notification_recipient) 월 단위 range 파티션 관리
+ *
+ * - 이번 달부터 premakeMonths 개월 후까지 파티션을 미리 생성
+ * - 보관 기간이 지난 파티션 삭제 또는 분리 (retention-action: drop | detach)
+ * - 기존 notification 테이블이 있으면 보관 기간 내 데이터를 옮기고 notification_archive 로 이름 변경 (migrate-legacy, 기본값 true)
+ *   알림 조회는 새 테이블만 사용하므로, 옮기기 전 기존 알림은 조회되지 않는다.
+ *   서버 시작 시 다른 빈이 알림을 저장하기 전에 시퀀스를 기존 id 이후로 옮겨 두어, 옮길 때 새로 저장된 알림과 id 가 겹치지 않도록 한다.
+ *
+ * 부모 테이블은 db/notification-schema.sql 로 생성된다.
+ * 여러 레플리카가 동시에 실행해도 advisory lock 을 얻은 레플리카만 DDL 을 수행한다.
+ * */
+@Slf4j
+@Component
+public class NotificationPartitionManager {
+
+    // notification_event: created_at, notification_recipient: sent_at 기준 파티션
+    private static final List<String> TABLES = List.of("notification_event", "notification_recipient");
+
+    private static final String LEGACY_TABLE = "notification";
+    private static final String ARCHIVE_TABLE = "notification_archive";
+    private static final long ADVISORY_LOCK_KEY = 0x6E6F7469L; // "noti"
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final Pattern UPPER_BOUND = Pattern.compile("TO \\('([^']+)'\\)");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final NotificationPartitionPolicy notificationPartitionPolicy;
+    private final boolean enabled;
+    private final boolean migrateLegacy;
+    private final boolean dropExpired;
+
+    public NotificationPartitionManager(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            NotificationPartitionPolicy notificationPartitionPolicy,
+            @Value("${alarm.notification.partition.enabled:true}") boolean enabled,
+            @Value("${alarm.notification.partition.migrate-legacy:true}") boolean migrateLegacy,
+            @Value("${alarm.notification.partition.retention-action:drop}") String retentionAction
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.notificationPartitionPolicy = notificationPartitionPolicy;
+        this.enabled = enabled;
+        this.migrateLegacy = migrateLegacy;
+        this.dropExpired = !"detach".equalsIgnoreCase(retentionAction);
+    }
+
+    /**
+     * 기존 테이블을 옮기기 전에 저장되는 알림이 기존 id 와 겹치지 않도록 시퀀스를 기존 id 이후로 옮긴다.
+     * (알림 저장은 애플리케이션 시작 이후에 시작되므로 빈 초기화 시점에 수행)
+     * */
+    @PostConstruct
+    public void reserveLegacyIds() {
+        if (!enabled || !migrateLegacy) {
+            return;
+        }
+
+        try {
+            if (exists(LEGACY_TABLE)) {
+                advanceSequences();
+                log.info("기존 notification 테이블 존재: 알림 id 시퀀스를 기존 id 이후로 이동, 시작 후 데이터 이동 예정");
+            }
+        } catch (Exception e) {
+            log.error("알림 id 시퀀스 이동 중 오류 발생: {}", e.getMessage(), e);
+        }
+    }
+
+    // 알림 전송(타이밍 휠 적재 이후 시작)보다 먼저 이번 달 파티션을 만든다.
+    @Order(0)
+    @EventListener(ApplicationReadyEvent.class)
+    public void maintainOnStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${alarm.notification.partition.maintain-cron:0 30 3 * * *}")
+    public void maintain() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, ADVISORY_LOCK_KEY);
+                if (!Boolean.TRUE.equals(locked)) {
+                    log.debug("다른 레플리카가 알림 파티션 관리 중");
+                    return;
+                }
+
+                LocalDate currentMonth = notificationPartitionPolicy.currentMonth();
+                if (migrateLegacy && exists(LEGACY_TABLE)) {
+                    migrateLegacyTable();
+                }
+
+                createPartitions(currentMonth, currentMonth.plusMonths(notificationPartitionPolicy.getPremakeMonths()));
+                removeExpiredPartitions();
+            });
+        } catch (Exception e) {
+            log.error("알림 파티션 관리 중 오류 발생: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 기존 notification 행 1건을 알림 내용 1건 + 수신자 1건으로 옮긴다.
+     * 클라이언트가 가진 notification_id 가 유지되도록 기존 id 를 그대로 사용하고, 시퀀스를 기존 id 이후로 옮긴다.
+     * */
+    private void migrateLegacyTable() {
+        LocalDateTime from = notificationPartitionPolicy.retentionBoundary();
+        createPartitions(from.toLocalDate(), notificationPartitionPolicy.currentMonth());
+
+        jdbcTemplate.execute("UPDATE " + LEGACY_TABLE + " SET sent_at = now() WHERE sent_at IS NULL");
+        int events = jdbcTemplate.update(
+                "INSERT INTO notification_event (id, routine_user_id, title, content, created_at) " +
+                        "SELECT id, routine_user_id, title, content, sent_at FROM " + LEGACY_TABLE + " WHERE sent_at >= ?",
+                from
+        );
+        jdbcTemplate.update(
+                "INSERT INTO notification_recipient (id, event_id, user_id, is_read, sent_at) " +
+                        "SELECT id, id, user_id, is_read, sent_at FROM " + LEGACY_TABLE + " WHERE sent_at >= ?",
+                from
+        );
+
+        advanceSequences();
+
+        jdbcTemplate.execute("ALTER TABLE " + LEGACY_TABLE + " RENAME TO " + ARCHIVE_TABLE);
+        log.info("기존 notification 데이터 이동 완료: {}건 ({} 이후), 기존 테이블은 {}", events, from, ARCHIVE_TABLE);
+    }
+
+    private void advanceSequences() {
+        for (String sequence : List.of("notification_event_id_seq", "notification_recipient_id_seq")) {
+            jdbcTemplate.queryForObject(
+                    "SELECT setval('" + sequence + "', GREATEST((SELECT COALESCE(MAX(id), 0) FROM " + LEGACY_TABLE + ") + 30, " +
+                            "(SELECT last_value FROM " + sequence + ")))",
+                    Long.class
+            );
+        }
+    }
+
+    private void createPartitions(LocalDate fromMonth, LocalDate toMonth) {
+        for (String table : TABLES) {
+            for (LocalDate month = fromMonth.withDayOfMonth(1); !month.isAfter(toMonth); month = month.plusMonths(1)) {
+                String partition = table + "_p" + month.format(PARTITION_SUFFIX);
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition + " PARTITION OF " + table +
+                        " FOR VALUES FROM ('" + month.atStartOfDay() + "') TO ('" + month.plusMonths(1).atStartOfDay() + "')");
+            }
+        }
+    }
+
+    private void removeExpiredPartitions() {
+        LocalDateTime boundary = notificationPartitionPolicy.retentionBoundary();
+
+        for (String table : TABLES) {
+            for (Partition partition : findPartitions(table)) {
+                if (partition.upperBound().isAfter(boundary)) {
+                    continue;
+                }
+
+                if (dropExpired) {
+                    jdbcTemplate.execute("DROP TABLE \"" + partition.name() + "\"");
+                    log.info("보관 기간이 지난 알림 파티션 삭제: {}", partition.name());
+                } else {
+                    jdbcTemplate.execute("ALTER TABLE " + table + " DETACH PARTITION \"" + partition.name() + "\"");
+                    log.info("보관 기간이 지난 알림 파티션 분리: {}", partition.name());
+                }
+            }
+        }
+    }
+
+    private boolean exists(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, table));
+    }
+
+    private List<Partition> findPartitions(String table) {
+        List<Partition> partitions = new ArrayList<>();
+        jdbcTemplate.query(
+                "SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) " +
+                        "FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                        "WHERE i.inhparent = to_regclass(?)",
+                rs -> {
+                    Matcher matcher = UPPER_BOUND.matcher(rs.getString(2));
+                    if (matcher.find()) {
+                        partitions.add(new Partition(rs.getString(1), LocalDateTime.parse(matcher.group(1).replace(' ', 'T'))));
+                    }
+                },
+                table
+        );
+        return partitions;
+    }
+
+    private record Partition(String name, LocalDateTime upperBound) {
+    }
+}
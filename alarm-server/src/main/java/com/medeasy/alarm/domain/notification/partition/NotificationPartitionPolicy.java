@@ -0,0 +1,64 @@
+package com.medeasy.alarm.domain.notification.partition;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * notification 월 단위 파티션 기준
+ *
+ * - premakeMonths: 이번 달 이후 미리 생성할 파티션 수
+ * - retentionMonths: 보관 기간, 이 기간이 지난 파티션은 삭제(또는 분리)
+ * - queryWindowMonths: 조회 기간 (기본값 보관 기간), 알림 조회 쿼리에 sent_at 하한을 붙여 보관 기간이 지난 파티션을 조회하지 않도록 한다.
+ *   보관 중인 알림은 모두 조회, 읽음 처리할 수 있도록 보관 기간보다 짧게 설정하지 않는 것을 권장한다.
+ *
+ * 파티션 관리가 비활성화된 경우 보관 기간이 적용되지 않으므로 조회 하한을 두지 않는다.
+ * */
+@Getter
+@Component
+public class NotificationPartitionPolicy {
+
+    private final int premakeMonths;
+    private final int retentionMonths;
+    private final int queryWindowMonths;
+    private final boolean enabled;
+
+    // 조회 하한이 없는 경우 (모든 sent_at 보다 이전)
+    private static final LocalDateTime UNBOUNDED = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    public NotificationPartitionPolicy(
+            @Value("${alarm.notification.partition.premake-months:3}") int premakeMonths,
+            @Value("${alarm.notification.partition.retention-months:12}") int retentionMonths,
+            @Value("${alarm.notification.partition.query-window-months:0}") int queryWindowMonths,
+            @Value("${alarm.notification.partition.enabled:true}") boolean enabled
+    ) {
+        this.premakeMonths = premakeMonths;
+        this.retentionMonths = retentionMonths;
+        this.queryWindowMonths = queryWindowMonths > 0 ? Math.min(queryWindowMonths, retentionMonths) : retentionMonths;
+        this.enabled = enabled;
+    }
+
+    /**
+     * 조회 쿼리의 sent_at 하한 (조회 기간 시작 월의 1일, 기본값은 보관 기간 경계와 같다.)
+     * */
+    public LocalDateTime queryFrom() {
+        if (!enabled) {
+            return UNBOUNDED;
+        }
+        return currentMonth().minusMonths(queryWindowMonths).atStartOfDay();
+    }
+
+    /**
+     * 상한이 이 시각 이하인 파티션은 보관 기간이 지난 파티션
+     * */
+    public LocalDateTime retentionBoundary() {
+        return currentMonth().minusMonths(retentionMonths).atStartOfDay();
+    }
+
+    public LocalDate currentMonth() {
+        return LocalDate.now().withDayOfMonth(1);
+    }
+}
@@ -0,0 +1,202 @@
+package com.medeasy.alarm.domain.notification.service;
+
+import com.medeasy.alarm.common.metrics.AlarmMetrics;
+import com.medeasy.alarm.domain.notification.db.NotificationBulkRepository;
+import com.medeasy.alarm.domain.notification.dto.NotificationDraft;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 알림 전송 경로 전용 알림 저장
+ *
+ * 저장은 별도 스레드에서 수행하여 FCM 전송이 DB 저장을 기다리지 않도록 한다.
+ * - 대기열이 가득 차면 호출 스레드는 최대 blockMillis 동안만 기다리고, 그래도 자리가 없으면 NotificationSpillStore 에 보관한다.
+ * - 저장에 실패하면 backoff 후 최대 retries 회 다시 저장하고, 그래도 실패하면 NotificationSpillStore 에 보관한다.
+ * - 보관된 알림은 대기열에 여유가 있을 때 다시 저장한다.
+ * */
+@Slf4j
+@Service
+public class NotificationBulkWriter {
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final NotificationBulkRepository notificationBulkRepository;
+    private final NotificationUnreadCounter notificationUnreadCounter;
+    private final NotificationSpillStore notificationSpillStore;
+    private final AlarmMetrics alarmMetrics;
+    private final ThreadPoolExecutor writeExecutor;
+    private final long blockMillis;
+    private final int retries;
+    private final long retryBackoffMillis;
+
+    public NotificationBulkWriter(
+            NotificationBulkRepository notificationBulkRepository,
+            NotificationUnreadCounter notificationUnreadCounter,
+            NotificationSpillStore notificationSpillStore,
+            AlarmMetrics alarmMetrics,
+            @Value("${alarm.notification.write-threads:2}") int writeThreads,
+            @Value("${alarm.notification.write-queue-capacity:64}") int writeQueueCapacity,
+            @Value("${alarm.notification.write-block-millis:200}") long blockMillis,
+            @Value("${alarm.notification.write-retries:3}") int retries,
+            @Value("${alarm.notification.write-retry-backoff-millis:500}") long retryBackoffMillis
+    ) {
+        this.notificationBulkRepository = notificationBulkRepository;
+        this.notificationUnreadCounter = notificationUnreadCounter;
+        this.notificationSpillStore = notificationSpillStore;
+        this.alarmMetrics = alarmMetrics;
+        this.blockMillis = blockMillis;
+        this.retries = retries;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.writeExecutor = new ThreadPoolExecutor(
+                writeThreads,
+                writeThreads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(writeQueueCapacity),
+                Thread.ofVirtual().name("notification-writer-", 0).factory(),
+                this::onQueueFull
+        );
+        alarmMetrics.registerNotificationWriteQueue(writeExecutor.getQueue());
+    }
+
+    /**
+     * 알림 저장 요청 후 반환, 대기열이 가득 찬 경우 최대 blockMillis 동안 기다린다.
+     * */
+    public void writeAsync(List<NotificationDraft> drafts) {
+        if (drafts.isEmpty()) {
+            return;
+        }
+
+        writeExecutor.execute(new WriteTask(List.copyOf(drafts)));
+    }
+
+    /**
+     * 대기열에 여유가 있으면 임시 보관된 알림을 꺼내 다시 저장
+     * */
+    @Scheduled(fixedDelayString = "${alarm.notification.spill-drain-millis:10000}")
+    public void drainSpilled() {
+        int capacity = writeExecutor.getQueue().remainingCapacity() / 2;
+        if (capacity == 0) {
+            return;
+        }
+
+        try {
+            List<List<NotificationDraft>> batches = notificationSpillStore.pop(capacity);
+            batches.forEach(batch -> writeExecutor.execute(new WriteTask(batch)));
+            if (!batches.isEmpty()) {
+                log.info("임시 보관 알림 다시 저장: 요청 {}건, 남은 보관 {}건", batches.size(), notificationSpillStore.size());
+            }
+        } catch (Exception e) {
+            log.error("임시 보관 알림 조회 중 오류 발생: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 대기열이 가득 찬 경우 호출 스레드에서 최대 blockMillis 동안 자리를 기다린 후, 그래도 없으면 임시 보관
+     * */
+    private void onQueueFull(Runnable task, ThreadPoolExecutor executor) {
+        List<NotificationDraft> drafts = ((WriteTask) task).drafts();
+        if (executor.isShutdown()) {
+            spill(drafts, "shutdown");
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean queued = false;
+        try {
+            queued = executor.getQueue().offer(task, blockMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        alarmMetrics.recordNotificationBackpressure(System.nanoTime() - start, queued);
+
+        if (!queued) {
+            log.warn("알림 저장 대기열 초과, 임시 보관: {}건", drafts.size());
+            spill(drafts, "queue_full");
+        }
+    }
+
+    private void write(List<NotificationDraft> drafts) {
+        for (int attempt = 0; ; attempt++) {
+            long start = System.currentTimeMillis();
+            try {
+                notificationBulkRepository.insertAll(drafts);
+                alarmMetrics.recordNotificationPersist(System.currentTimeMillis() - start, true);
+                log.debug("알림 저장 완료: {}건, {}ms", drafts.size(), System.currentTimeMillis() - start);
+                break;
+            } catch (Exception e) {
+                alarmMetrics.recordNotificationPersist(System.currentTimeMillis() - start, false);
+                if (attempt >= retries) {
+                    log.error("알림 저장 재시도 초과, 임시 보관: {}건, {}", drafts.size(), e.getMessage(), e);
+                    spill(drafts, "write_failed");
+                    return;
+                }
+
+                log.warn("알림 저장 실패, 재시도 {}/{}: {}건, {}", attempt + 1, retries, drafts.size(), e.getMessage());
+                try {
+                    Thread.sleep(retryBackoffMillis << attempt);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    spill(drafts, "write_failed");
+                    return;
+                }
+            }
+        }
+
+        // 안읽은 알림 수 갱신 실패는 counter 만료 후 DB 기준으로 다시 채운다. (알림 기록은 저장되었으므로 다시 저장하지 않음)
+        try {
+            notificationUnreadCounter.incrementAll(drafts);
+        } catch (Exception e) {
+            log.error("안읽은 알림 수 갱신 중 오류 발생: {}건, {}", drafts.size(), e.getMessage(), e);
+        }
+    }
+
+    private void spill(List<NotificationDraft> drafts, String reason) {
+        if (notificationSpillStore.spill(drafts)) {
+            alarmMetrics.recordNotificationSpill(reason, drafts.size());
+        }
+    }
+
+    /**
+     * 종료 시 대기 중인 저장 요청을 모두 처리
+     * */
+    @PreDestroy
+    public void shutdown() {
+        writeExecutor.shutdown();
+        try {
+            if (!writeExecutor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                List<Runnable> remaining = writeExecutor.shutdownNow();
+                log.warn("알림 저장 대기열 처리 시간 초과, 임시 보관: 남은 요청 {}건", remaining.size());
+                remaining.forEach(task -> spill(((WriteTask) task).drafts(), "shutdown"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private class WriteTask implements Runnable {
+
+        private final List<NotificationDraft> drafts;
+
+        private WriteTask(List<NotificationDraft> drafts) {
+            this.drafts = drafts;
+        }
+
+        private List<NotificationDraft> drafts() {
+            return drafts;
+        }
+
+        @Override
+        public void run() {
+            write(drafts);
+        }
+    }
+}
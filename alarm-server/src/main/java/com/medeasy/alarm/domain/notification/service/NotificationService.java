@@ -2,9 +2,11 @@ package com.medeasy.alarm.domain.notification.service;
 
 import com.medeasy.alarm.common.error.NotificationError;
 import com.medeasy.alarm.common.exception.ApiException;
-import com.medeasy.alarm.domain.notification.db.NotificationEntity;
-import com.medeasy.alarm.domain.notification.db.NotificationRepository;
-import lombok.RequiredArgsConstructor;
+import com.medeasy.alarm.domain.notification.db.NotificationBulkRepository;
+import com.medeasy.alarm.domain.notification.db.NotificationRecipientRepository;
+import com.medeasy.alarm.domain.notification.dto.NotificationDraft;
+import com.medeasy.alarm.domain.notification.dto.NotificationResponse;
+import com.medeasy.alarm.domain.notification.partition.NotificationPartitionPolicy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -12,43 +14,74 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class NotificationService {
-    private final NotificationRepository notificationRepository;
+    private final NotificationRecipientRepository notificationRecipientRepository;
+    private final NotificationBulkRepository notificationBulkRepository;
+    private final NotificationUnreadCounter notificationUnreadCounter;
+    private final NotificationPartitionPolicy notificationPartitionPolicy;
 
-    public void saveAllEntities(List<NotificationEntity> notificationEntities) {
-        notificationRepository.saveAll(notificationEntities);
+    public NotificationService(
+            NotificationRecipientRepository notificationRecipientRepository,
+            NotificationBulkRepository notificationBulkRepository,
+            NotificationUnreadCounter notificationUnreadCounter,
+            NotificationPartitionPolicy notificationPartitionPolicy
+    ) {
+        this.notificationRecipientRepository = notificationRecipientRepository;
+        this.notificationBulkRepository = notificationBulkRepository;
+        this.notificationUnreadCounter = notificationUnreadCounter;
+        this.notificationPartitionPolicy = notificationPartitionPolicy;
     }
 
-    public void saveNotification(NotificationEntity notificationEntity) {
-        notificationRepository.save(notificationEntity);
+    /**
+     * 단건 알림 저장 (전송 경로가 아닌 요청 처리 중 저장)
+     * */
+    public void saveNotification(NotificationDraft draft) {
+        notificationBulkRepository.insertAll(List.of(draft));
+        notificationUnreadCounter.incrementAll(List.of(draft));
     }
 
-    public List<NotificationEntity> getNotifications(Long userId, int page, int size) {
+    public List<NotificationResponse> getNotifications(Long userId, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
 
-        return notificationRepository.findByUserIdOrderBySentAtDesc(userId, pageable);
+        return notificationRecipientRepository.findPageByUserId(userId, notificationPartitionPolicy.queryFrom(), pageable);
     }
 
 
-    public NotificationEntity getNotification(Long id) {
-        return notificationRepository.findById(id).orElseThrow(() -> new ApiException(NotificationError.NOT_FOUND_NOTIFICATION));
+    /**
+     * keyset 조회: 다음 페이지 존재 여부 확인을 위해 size + 1 건 조회
+     * */
+    public List<NotificationResponse> getNotificationsByCursor(Long userId, LocalDateTime sentAt, Long notificationId, int size) {
+        Pageable limit = PageRequest.of(0, size + 1);
+
+        if (sentAt == null || notificationId == null) {
+            return notificationRecipientRepository.findFirstPageByUserId(userId, notificationPartitionPolicy.queryFrom(), limit);
+        }
+        return notificationRecipientRepository.findPageByUserIdAfterCursor(userId, notificationPartitionPolicy.queryFrom(), sentAt, notificationId, limit);
     }
 
-    public NotificationEntity getNotificationWithUserId(Long userId, Long notificationId) {
-        return notificationRepository.findNotificationByIdAndUserID(notificationId, userId)
+    public NotificationResponse getNotificationWithUserId(Long userId, Long notificationId) {
+        return notificationRecipientRepository.findResponseByIdAndUserId(notificationId, userId, notificationPartitionPolicy.queryFrom())
                 .orElseThrow(() -> new ApiException(NotificationError.NOT_FOUND_NOTIFICATION));
     }
 
     public boolean hasUnreadNotifications(Long userId) {
-        return notificationRepository.existsByUserIdAndIsReadFalse(userId);
+        return notificationUnreadCounter.get(userId) > 0;
+    }
+
+    public void markAsRead(Long userId, Long notificationId) {
+        int updated = notificationRecipientRepository.markAsRead(notificationId, userId, notificationPartitionPolicy.queryFrom());
+        if (updated > 0) {
+            notificationUnreadCounter.decrement(userId);
+        }
     }
 
-    public List<NotificationEntity> getAllUnreadNotifications(Long userId) {
-        return notificationRepository.findAllByUserIdAndIsReadFalse(userId);
+    public void markAllAsRead(Long userId) {
+        notificationRecipientRepository.markAllAsReadByUserId(userId, notificationPartitionPolicy.queryFrom());
+        notificationUnreadCounter.reset(userId);
     }
 }
@@ -0,0 +1,74 @@
+package com.medeasy.alarm.domain.notification.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.medeasy.alarm.domain.notification.dto.NotificationDraft;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 저장하지 못한 알림 임시 보관 (알림 Redis list, 레플리카 공용)
+ *
+ * 저장 대기열이 가득 찼거나 재시도 후에도 DB 저장에 실패한 알림을 저장 요청 단위 JSON 으로 보관하고,
+ * NotificationBulkWriter 가 저장 대기열에 여유가 있을 때 꺼내 다시 저장한다.
+ * 보관에도 실패하면 알림 기록만 유실되며 (FCM 전송은 완료됨) 오류 로그를 남긴다.
+ * */
+@Slf4j
+@Service
+public class NotificationSpillStore {
+
+    private static final String SPILL_KEY = "alarm:notification:spill";
+
+    private final StringRedisTemplate redisAlarmStringTemplate;
+    private final ObjectMapper objectMapper;
+
+    public NotificationSpillStore(
+            @Qualifier("redisAlarmStringTemplate") StringRedisTemplate redisAlarmStringTemplate,
+            ObjectMapper objectMapper
+    ) {
+        this.redisAlarmStringTemplate = redisAlarmStringTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @return 보관 성공 여부
+     * */
+    public boolean spill(List<NotificationDraft> drafts) {
+        try {
+            redisAlarmStringTemplate.opsForList().rightPush(SPILL_KEY, objectMapper.writeValueAsString(drafts));
+            return true;
+        } catch (Exception e) {
+            log.error("알림 임시 보관 실패, 알림 기록 유실: {}건, {}", drafts.size(), e.getMessage(), e);
+            return false;
+        }
+    }
+
+    /**
+     * 보관된 저장 요청을 앞에서부터 최대 max 개 꺼낸다. (여러 레플리카가 동시에 꺼내도 같은 요청을 중복으로 받지 않는다.)
+     * */
+    public List<List<NotificationDraft>> pop(int max) {
+        List<String> values = redisAlarmStringTemplate.opsForList().leftPop(SPILL_KEY, max);
+        List<List<NotificationDraft>> batches = new ArrayList<>();
+        if (values == null) {
+            return batches;
+        }
+
+        for (String value : values) {
+            try {
+                batches.add(objectMapper.readValue(value, new TypeReference<List<NotificationDraft>>() {}));
+            } catch (Exception e) {
+                log.error("임시 보관 알림 변환 오류, 제외: {}", e.getMessage(), e);
+            }
+        }
+        return batches;
+    }
+
+    public Long size() {
+        return redisAlarmStringTemplate.opsForList().size(SPILL_KEY);
+    }
+}
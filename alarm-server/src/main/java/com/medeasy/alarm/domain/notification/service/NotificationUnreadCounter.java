@@ -0,0 +1,117 @@
+package com.medeasy.alarm.domain.notification.service;
+
+import com.medeasy.alarm.domain.notification.db.NotificationRecipientRepository;
+import com.medeasy.alarm.domain.notification.dto.NotificationDraft;
+import com.medeasy.alarm.domain.notification.partition.NotificationPartitionPolicy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 사용자별 읽지 않은 알림 수 (Redis counter)
+ *
+ * - 알림 저장 시 증가, 단건 읽음 시 감소, 전체 읽음 시 0 으로 초기화
+ * - counter 가 없으면 DB 에서 계산하여 채운다.
+ * - counter 는 DB 에서 채운 시점부터 ttl 동안만 유지하여, 저장 실패, 트랜잭션 롤백 등으로 어긋난 값은 만료 후 DB 기준으로 다시 채운다.
+ *   (증감, 초기화는 남은 ttl 을 유지한다.)
+ * */
+@Slf4j
+@Service
+public class NotificationUnreadCounter {
+
+    private static final String UNREAD_KEY_PREFIX = "notification:unread:";
+
+    // 0 미만으로 내려가지 않도록 감소
+    private static final RedisScript<Long> DECREMENT_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return -1 end " +
+                    "local value = redis.call('DECR', KEYS[1]) " +
+                    "if value < 0 then redis.call('SET', KEYS[1], 0, 'KEEPTTL') return 0 end " +
+                    "return value",
+            Long.class
+    );
+
+    // counter 가 있는 경우에만 0 으로 초기화 (없으면 다음 조회 시 DB 에서 계산)
+    private static final RedisScript<Long> RESET_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end " +
+                    "redis.call('SET', KEYS[1], 0, 'KEEPTTL') return 1",
+            Long.class
+    );
+
+    private final StringRedisTemplate redisAlarmStringTemplate;
+    private final NotificationRecipientRepository notificationRecipientRepository;
+    private final NotificationPartitionPolicy notificationPartitionPolicy;
+    private final Duration ttl;
+
+    public NotificationUnreadCounter(
+            @Qualifier("redisAlarmStringTemplate") StringRedisTemplate redisAlarmStringTemplate,
+            NotificationRecipientRepository notificationRecipientRepository,
+            NotificationPartitionPolicy notificationPartitionPolicy,
+            @Value("${alarm.notification.unread-ttl-seconds:600}") long ttlSeconds
+    ) {
+        this.redisAlarmStringTemplate = redisAlarmStringTemplate;
+        this.notificationRecipientRepository = notificationRecipientRepository;
+        this.notificationPartitionPolicy = notificationPartitionPolicy;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+    }
+
+    public long get(Long userId) {
+        String value = redisAlarmStringTemplate.opsForValue().get(key(userId));
+        if (value != null) {
+            return Long.parseLong(value);
+        }
+
+        long unreadCount = notificationRecipientRepository.countByUserIdAndIsReadFalseAndSentAtGreaterThanEqual(userId, notificationPartitionPolicy.queryFrom());
+        redisAlarmStringTemplate.opsForValue().setIfAbsent(key(userId), String.valueOf(unreadCount), ttl);
+        return unreadCount;
+    }
+
+    /**
+     * 저장된 알림 수만큼 사용자별 counter 증가 (파이프라인 INCRBY)
+     * counter 가 없는 사용자는 다음 조회 시 DB 에서 계산하므로 증가하지 않는다.
+     * */
+    public void incrementAll(Collection<NotificationDraft> drafts) {
+        Map<Long, Long> countsByUserId = drafts.stream()
+                .flatMap(draft -> draft.getRecipientIds().stream())
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+        if (countsByUserId.isEmpty()) {
+            return;
+        }
+
+        List<Long> userIds = new ArrayList<>(countsByUserId.keySet());
+        List<String> current = redisAlarmStringTemplate.opsForValue().multiGet(userIds.stream().map(this::key).toList());
+
+        redisAlarmStringTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (int i = 0; i < userIds.size(); i++) {
+                if (current == null || current.get(i) == null) {
+                    continue;
+                }
+                Long userId = userIds.get(i);
+                connection.stringCommands().incrBy(key(userId).getBytes(StandardCharsets.UTF_8), countsByUserId.get(userId));
+            }
+            return null;
+        });
+    }
+
+    public void decrement(Long userId) {
+        redisAlarmStringTemplate.execute(DECREMENT_SCRIPT, List.of(key(userId)));
+    }
+
+    public void reset(Long userId) {
+        redisAlarmStringTemplate.execute(RESET_SCRIPT, List.of(key(userId)));
+    }
+
+    private String key(Long userId) {
+        return UNREAD_KEY_PREFIX + userId;
+    }
+}
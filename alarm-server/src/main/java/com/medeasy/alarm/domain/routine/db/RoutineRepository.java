@@ -4,20 +4,19 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-import java.time.LocalDate;
-import java.time.LocalTime;
 import java.util.List;
 
 public interface RoutineRepository extends JpaRepository<RoutineEntity, Long> {
+    /**
+     * 타이밍 휠에서 꺼낸 루틴 id로 알림 전송에 필요한 엔티티 그래프 조회
+     * 휠 적재 이후 복용 체크된 루틴은 제외
+     * */
     @Query("SELECT r FROM RoutineEntity r " +
             "JOIN FETCH r.userSchedule us " +
             "JOIN FETCH r.routineGroup rg " +
             "JOIN FETCH rg.user u " +
-            "WHERE r.takeDate = :date " +
-            "AND r.isTaken = false " +
-            "AND us.takeTime BETWEEN :startTime AND :endTime")
-    List<RoutineEntity> findAllByTakeDateAndTakeTimeBetweenWithMedicine(
-            @Param("date") LocalDate date,
-            @Param("startTime") LocalTime startTime,
-            @Param("endTime") LocalTime endTime);
+            "WHERE r.id IN :routineIds " +
+            "AND r.isTaken = false")
+    List<RoutineEntity> findAllByIdInAndIsTakenFalseWithMedicine(
+            @Param("routineIds") List<Long> routineIds);
 }
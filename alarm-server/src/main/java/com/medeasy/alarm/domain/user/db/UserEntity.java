@@ -1,6 +1,5 @@
 package com.medeasy.alarm.domain.user.db;
 
-import com.medeasy.alarm.domain.notification.db.NotificationEntity;
 import com.medeasy.alarm.domain.routine.db.RoutineEntity;
 import com.medeasy.alarm.domain.routine_group.db.RoutineGroupEntity;
 import com.medeasy.alarm.domain.user_care_mapping.db.UserCareMappingEntity;
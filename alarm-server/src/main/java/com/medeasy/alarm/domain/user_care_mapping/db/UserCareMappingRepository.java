@@ -1,9 +1,11 @@
 package com.medeasy.alarm.domain.user_care_mapping.db;
 
+import com.medeasy.alarm.domain.user_care_mapping.dto.CareEdgeDto;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface UserCareMappingRepository extends JpaRepository<UserCareMappingEntity, Long> {
@@ -17,4 +19,12 @@ public interface UserCareMappingRepository extends JpaRepository<UserCareMapping
 
     @Query("SELECT u.careProvider.id FROM UserCareMappingEntity u WHERE u.careReceiver.id = :careReceiverId")
     List<Long> findCareProviderIdsByCareReceiverId(@Param("careReceiverId") Long careReceiverId);
+
+    /**
+     * 여러 피보호자의 보호 관계를 한 번에 조회 (알림 전송 tick 단위 일괄 조회)
+     * */
+    @Query("SELECT new com.medeasy.alarm.domain.user_care_mapping.dto.CareEdgeDto(u.careReceiver.id, u.careProvider.id) " +
+            "FROM UserCareMappingEntity u " +
+            "WHERE u.careReceiver.id IN :careReceiverIds")
+    List<CareEdgeDto> findCareEdgesByCareReceiverIdIn(@Param("careReceiverIds") Collection<Long> careReceiverIds);
 }
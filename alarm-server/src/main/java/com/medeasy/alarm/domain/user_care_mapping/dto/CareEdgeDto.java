@@ -0,0 +1,18 @@
+package com.medeasy.alarm.domain.user_care_mapping.dto;
+
+import lombok.*;
+
+/**
+ * 보호 관계 (피보호자 -> 보호자) 최소 정보
+ * */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CareEdgeDto {
+
+    private Long careReceiverId;
+
+    private Long careProviderId;
+}
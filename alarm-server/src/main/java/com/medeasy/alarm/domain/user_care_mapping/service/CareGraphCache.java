@@ -0,0 +1,200 @@
+package com.medeasy.alarm.domain.user_care_mapping.service;
+
+import com.medeasy.alarm.domain.user_care_mapping.db.UserCareMappingRepository;
+import com.medeasy.alarm.domain.user_care_mapping.dto.CareEdgeDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * 보호 관계 그래프 캐시 조회 (main-server CareGraphCache 와 같은 key 공유)
+ *
+ * - care:providers:{피보호자 id}: 보호자 id 집합, 조회 완료 표시 0 포함
+ * - care:providers:{피보호자 id}:version: 캐시 버전, main-server 가 보호 관계 변경 시 올린다.
+ *
+ * 여러 피보호자의 보호자를 SMEMBERS 파이프라인 1회로 조회하고, key 가 없는 피보호자만 DB IN 쿼리로 조회 후 채운다.
+ * DB 조회 전에 버전을 읽어 두고, 채울 때 버전이 바뀌었으면 저장하지 않는다. (조회 중 변경된 관계가 캐시에 남지 않도록)
+ * 보호 관계 변경 시 캐시 삭제는 main-server 가 수행한다.
+ * */
+@Slf4j
+@Service
+public class CareGraphCache {
+
+    private static final String PROVIDERS_KEY_PREFIX = "care:providers:";
+    private static final String VERSION_KEY_SUFFIX = ":version";
+    private static final String EMPTY_MARK = "0";
+    private static final int IN_QUERY_CHUNK_SIZE = 1000;
+
+    /**
+     * KEYS: 캐시 key, 버전 key 쌍
+     * ARGV: TTL, 이후 key 마다 (조회 전 버전, 보호자 수, 보호자 id...)
+     * 버전이 같은 key 만 교체하며 저장한 key 수를 반환한다.
+     * */
+    private static final RedisScript<Long> PUT_IF_VERSION_SCRIPT = new DefaultRedisScript<>(
+            "local stored = 0 " +
+                    "local arg = 2 " +
+                    "for i = 1, #KEYS, 2 do " +
+                    "  local version = ARGV[arg] " +
+                    "  local count = tonumber(ARGV[arg + 1]) " +
+                    "  if (redis.call('GET', KEYS[i + 1]) or '0') == version then " +
+                    "    redis.call('DEL', KEYS[i]) " +
+                    "    redis.call('SADD', KEYS[i], '" + EMPTY_MARK + "', unpack(ARGV, arg + 2, arg + 1 + count)) " +
+                    "    redis.call('EXPIRE', KEYS[i], ARGV[1]) " +
+                    "    stored = stored + 1 " +
+                    "  end " +
+                    "  arg = arg + 2 + count " +
+                    "end " +
+                    "return stored",
+            Long.class
+    );
+
+    private final StringRedisTemplate redisAlarmStringTemplate;
+    private final UserCareMappingRepository userCareMappingRepository;
+    private final long ttlSeconds;
+
+    public CareGraphCache(
+            @Qualifier("redisAlarmStringTemplate") StringRedisTemplate redisAlarmStringTemplate,
+            UserCareMappingRepository userCareMappingRepository,
+            @Value("${alarm.care-graph.ttl-hours:24}") long ttlHours
+    ) {
+        this.redisAlarmStringTemplate = redisAlarmStringTemplate;
+        this.userCareMappingRepository = userCareMappingRepository;
+        this.ttlSeconds = ttlHours * 3600;
+    }
+
+    /**
+     * @return 보호자가 있는 피보호자만 포함 (피보호자 id -> 보호자 id)
+     * */
+    public Map<Long, List<Long>> getCareProviderIds(Collection<Long> careReceiverIds) {
+        List<Long> receiverIds = new ArrayList<>(new LinkedHashSet<>(careReceiverIds));
+        Map<Long, List<Long>> careProviderIdsByReceiverId = new HashMap<>();
+        if (receiverIds.isEmpty()) {
+            return careProviderIdsByReceiverId;
+        }
+
+        List<Long> missedIds = new ArrayList<>();
+        try {
+            List<Object> results = redisAlarmStringTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                receiverIds.forEach(receiverId -> connection.setCommands().sMembers(key(receiverId)));
+                return null;
+            });
+
+            for (int i = 0; i < receiverIds.size(); i++) {
+                Collection<?> members = (Collection<?>) results.get(i);
+                if (members == null || members.isEmpty()) {
+                    missedIds.add(receiverIds.get(i));
+                    continue;
+                }
+
+                List<Long> providerIds = new ArrayList<>(members.size() - 1);
+                for (Object member : members) {
+                    String value = member instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : member.toString();
+                    if (!EMPTY_MARK.equals(value)) {
+                        providerIds.add(Long.valueOf(value));
+                    }
+                }
+                if (!providerIds.isEmpty()) {
+                    careProviderIdsByReceiverId.put(receiverIds.get(i), providerIds);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("보호 관계 캐시 조회 실패, DB 조회: 피보호자 {}명, {}", receiverIds.size(), e.getMessage());
+            missedIds = receiverIds;
+        }
+
+        if (!missedIds.isEmpty()) {
+            List<String> versions = getVersions(missedIds);
+            Map<Long, List<Long>> loaded = load(missedIds);
+            careProviderIdsByReceiverId.putAll(loaded);
+            if (versions != null) {
+                put(missedIds, versions, loaded);
+            }
+        }
+
+        log.debug("보호 관계 조회: 피보호자 {}명, 캐시 미적중 {}명", receiverIds.size(), missedIds.size());
+        return careProviderIdsByReceiverId;
+    }
+
+    private Map<Long, List<Long>> load(List<Long> receiverIds) {
+        Map<Long, List<Long>> careProviderIdsByReceiverId = new HashMap<>();
+        for (int i = 0; i < receiverIds.size(); i += IN_QUERY_CHUNK_SIZE) {
+            List<Long> chunk = receiverIds.subList(i, Math.min(i + IN_QUERY_CHUNK_SIZE, receiverIds.size()));
+            for (CareEdgeDto edge : userCareMappingRepository.findCareEdgesByCareReceiverIdIn(chunk)) {
+                careProviderIdsByReceiverId
+                        .computeIfAbsent(edge.getCareReceiverId(), key -> new ArrayList<>())
+                        .add(edge.getCareProviderId());
+            }
+        }
+        return careProviderIdsByReceiverId;
+    }
+
+    /**
+     * DB 조회 전 캐시 버전, 조회에 실패하면 null (캐시를 채우지 않는다.)
+     * */
+    private List<String> getVersions(List<Long> receiverIds) {
+        try {
+            List<String> versions = redisAlarmStringTemplate.opsForValue()
+                    .multiGet(receiverIds.stream().map(CareGraphCache::versionKey).toList());
+            if (versions == null) {
+                return null;
+            }
+            return versions.stream().map(version -> version == null ? "0" : version).toList();
+        } catch (Exception e) {
+            log.warn("보호 관계 캐시 버전 조회 실패: 피보호자 {}명, {}", receiverIds.size(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 조회한 피보호자 전체를 저장 (보호자가 없는 피보호자는 조회 완료 표시만 저장)
+     * 조회 이후 main-server 가 버전을 올린 피보호자는 저장하지 않는다.
+     * */
+    private void put(List<Long> receiverIds, List<String> versions, Map<Long, List<Long>> careProviderIdsByReceiverId) {
+        // 스크립트 1회 실행 시간을 제한하기 위해 나누어 저장
+        for (int from = 0; from < receiverIds.size(); from += IN_QUERY_CHUNK_SIZE) {
+            int to = Math.min(from + IN_QUERY_CHUNK_SIZE, receiverIds.size());
+            putChunk(receiverIds.subList(from, to), versions.subList(from, to), careProviderIdsByReceiverId);
+        }
+    }
+
+    private void putChunk(List<Long> receiverIds, List<String> versions, Map<Long, List<Long>> careProviderIdsByReceiverId) {
+        List<String> keys = new ArrayList<>(receiverIds.size() * 2);
+        List<String> args = new ArrayList<>();
+        args.add(String.valueOf(ttlSeconds));
+        for (int i = 0; i < receiverIds.size(); i++) {
+            Long receiverId = receiverIds.get(i);
+            List<Long> providerIds = careProviderIdsByReceiverId.getOrDefault(receiverId, List.of());
+
+            keys.add(PROVIDERS_KEY_PREFIX + receiverId);
+            keys.add(versionKey(receiverId));
+            args.add(versions.get(i));
+            args.add(String.valueOf(providerIds.size()));
+            providerIds.forEach(providerId -> args.add(providerId.toString()));
+        }
+
+        try {
+            Long stored = redisAlarmStringTemplate.execute(PUT_IF_VERSION_SCRIPT, keys, args.toArray());
+            if (stored != null && stored < receiverIds.size()) {
+                log.debug("보호 관계 변경으로 캐시 저장 제외: 피보호자 {}명", receiverIds.size() - stored);
+            }
+        } catch (Exception e) {
+            log.warn("보호 관계 캐시 저장 실패: 피보호자 {}명, {}", receiverIds.size(), e.getMessage());
+        }
+    }
+
+    private static String versionKey(Long receiverId) {
+        return PROVIDERS_KEY_PREFIX + receiverId + VERSION_KEY_SUFFIX;
+    }
+
+    private static byte[] key(Long receiverId) {
+        return (PROVIDERS_KEY_PREFIX + receiverId).getBytes(StandardCharsets.UTF_8);
+    }
+}
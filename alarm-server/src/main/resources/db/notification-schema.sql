@@ -0,0 +1,32 @@
+-- 알림 저장 테이블 (서버 시작 시 실행, JPA validate 이전)
+-- notification_event: 알림 내용 1건, notification_recipient: 수신자별 읽음 여부
+-- 월 단위 파티션은 NotificationPartitionManager 가 생성, 삭제한다.
+
+CREATE SEQUENCE IF NOT EXISTS notification_event_id_seq INCREMENT BY 30;
+CREATE SEQUENCE IF NOT EXISTS notification_recipient_id_seq INCREMENT BY 30;
+
+CREATE TABLE IF NOT EXISTS notification_event (
+    id              BIGINT       NOT NULL,
+    routine_user_id BIGINT,
+    title           VARCHAR(150) NOT NULL,
+    content         VARCHAR(250) NOT NULL,
+    created_at      TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE IF NOT EXISTS notification_recipient (
+    id       BIGINT       NOT NULL,
+    event_id BIGINT       NOT NULL,
+    user_id  BIGINT       NOT NULL,
+    is_read  BOOLEAN      NOT NULL,
+    sent_at  TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id, sent_at)
+) PARTITION BY RANGE (sent_at);
+
+-- 알림 리스트 keyset 조회
+CREATE INDEX IF NOT EXISTS idx_notification_recipient_user_sent_at_id
+    ON notification_recipient (user_id, sent_at DESC, id DESC);
+
+-- 읽지 않은 알림 수 조회
+CREATE INDEX IF NOT EXISTS idx_notification_recipient_unread
+    ON notification_recipient (user_id) WHERE is_read = false;
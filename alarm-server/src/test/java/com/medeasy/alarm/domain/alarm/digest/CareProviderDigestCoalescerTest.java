@@ -0,0 +1,112 @@
+package com.medeasy.alarm.domain.alarm.digest;
+
+import com.google.firebase.messaging.Message;
+import com.medeasy.alarm.domain.alarm.escalation.AlarmTier;
+import com.medeasy.alarm.domain.fcm.service.FcmService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class CareProviderDigestCoalescerTest {
+
+    private FcmService fcmService;
+    private CareProviderDigestCoalescer coalescer;
+
+    // buildFcmMessage 호출 순서대로 기록한 (title, body, token)
+    private final List<List<String>> built = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        fcmService = mock(FcmService.class);
+        when(fcmService.buildFcmMessage(anyString(), anyString(), anyString())).thenAnswer(invocation -> {
+            built.add(List.of(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2)));
+            return Message.builder().setToken(invocation.getArgument(2)).build();
+        });
+        coalescer = new CareProviderDigestCoalescer(fcmService);
+    }
+
+    @Test
+    void token_별_push_가_1건이면_원래_메시지를_그대로_보낸다() {
+        Map<String, Message> messages = coalescer.coalesce(List.of(
+                push("token-a", "엄마", 1, AlarmTier.PRIMARY),
+                push("token-b", "아빠", 2, AlarmTier.PRIMARY)
+        ));
+
+        assertEquals(List.of("token-a", "token-b"), List.copyOf(messages.keySet()));
+        assertEquals(List.of(
+                List.of("엄마 title", "엄마 body", "token-a"),
+                List.of("아빠 title", "아빠 body", "token-b")
+        ), built);
+    }
+
+    @Test
+    void 같은_대상자의_여러_단계_push_는_루틴_수를_합쳐_1건으로_보낸다() {
+        Map<String, Message> messages = coalescer.coalesce(List.of(
+                push("token-a", "엄마", 1, AlarmTier.PRIMARY),
+                push("token-a", "엄마", 2, AlarmTier.REMIND)
+        ));
+
+        assertEquals(1, messages.size());
+        assertEquals(List.of(List.of("엄마님의 복약 알림이 2건 있어요.", "엄마님 3건", "token-a")), built);
+    }
+
+    @Test
+    void 여러_대상자의_push_는_처음_나온_대상자_기준으로_요약한다() {
+        Map<String, Message> messages = coalescer.coalesce(List.of(
+                push("token-a", "엄마", 2, AlarmTier.PRIMARY),
+                push("token-b", "이모", 1, AlarmTier.PRIMARY),
+                push("token-a", "아빠", 2, AlarmTier.PRIMARY)
+        ));
+
+        assertEquals(List.of("token-a", "token-b"), List.copyOf(messages.keySet()));
+        assertTrue(built.contains(List.of("엄마님 외 1명의 복약 알림이 있어요.", "엄마님 2건, 아빠님 2건", "token-a")));
+        assertTrue(built.contains(List.of("이모 title", "이모 body", "token-b")));
+    }
+
+    @Test
+    void 본문에는_최대_3명까지만_이름을_표시한다() {
+        coalescer.coalesce(List.of(
+                push("token-a", "엄마", 1, AlarmTier.PRIMARY),
+                push("token-a", "아빠", 1, AlarmTier.PRIMARY),
+                push("token-a", "할머니", 1, AlarmTier.PRIMARY),
+                push("token-a", "할아버지", 1, AlarmTier.PRIMARY),
+                push("token-a", "이모", 1, AlarmTier.PRIMARY)
+        ));
+
+        assertEquals(List.of(List.of(
+                "엄마님 외 4명의 복약 알림이 있어요.",
+                "엄마님 1건, 아빠님 1건, 할머니님 1건, 외 2명",
+                "token-a"
+        )), built);
+    }
+
+    @Test
+    void push_가_없으면_메시지를_만들지_않는다() {
+        assertTrue(coalescer.coalesce(List.of()).isEmpty());
+        verifyNoInteractions(fcmService);
+    }
+
+    private static CareProviderPush push(String fcmToken, String careReceiverName, int routineCount, AlarmTier tier) {
+        List<Long> routineIds = new ArrayList<>();
+        for (long i = 0; i < routineCount; i++) {
+            routineIds.add(i);
+        }
+        return new CareProviderPush(
+                1L,
+                fcmToken,
+                careReceiverName + " title",
+                careReceiverName + " body",
+                (long) careReceiverName.hashCode(),
+                careReceiverName,
+                routineIds,
+                tier
+        );
+    }
+}
@@ -0,0 +1,100 @@
+package com.medeasy.alarm.domain.alarm.escalation;
+
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.medeasy.alarm.domain.alarm.dto.AlarmRecipient;
+import com.medeasy.alarm.domain.alarm.wheel.RoutineTimingWheel;
+import com.medeasy.alarm.domain.fcm.dto.FcmFailureType;
+import com.medeasy.alarm.domain.fcm.dto.FcmSendReport;
+import com.medeasy.alarm.domain.fcm.limiter.FcmPriority;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlarmDeliveryOutcomeTest {
+
+    private static final List<AlarmRecipient> RECIPIENTS = List.of(user(1L), user(2L), user(3L), user(4L), user(5L));
+
+    @Test
+    void 전송_성공과_유효하지_않은_token_만_전송_완료로_처리한다() {
+        AlarmDeliveryOutcome outcome = new AlarmDeliveryOutcome();
+        outcome.record(FcmPriority.PRIMARY, RECIPIENTS, new FcmSendReport(1, List.of(
+                new FcmSendReport.Failure(1, MessagingErrorCode.UNREGISTERED, "unregistered"),
+                new FcmSendReport.Failure(2, MessagingErrorCode.THIRD_PARTY_AUTH_ERROR, "auth"),
+                new FcmSendReport.Failure(3, null, "timeout", FcmFailureType.PERMANENT),
+                new FcmSendReport.Failure(4, null, "FCM 재시도 큐 초과", FcmFailureType.DROPPED)
+        )));
+
+        assertDelivered(outcome, entry(1L, AlarmTier.PRIMARY));
+        assertDelivered(outcome, entry(2L, AlarmTier.PRIMARY));
+        assertFailed(outcome, entry(3L, AlarmTier.PRIMARY));
+        assertFailed(outcome, entry(4L, AlarmTier.PRIMARY));
+        assertFailed(outcome, entry(5L, AlarmTier.PRIMARY));
+    }
+
+    @Test
+    void 청크_전체_실패는_모든_엔트리를_전송_실패로_처리한다() {
+        AlarmDeliveryOutcome outcome = new AlarmDeliveryOutcome();
+        outcome.record(FcmPriority.REMIND, RECIPIENTS.subList(0, 2), new FcmSendReport(0, List.of(
+                new FcmSendReport.Failure(0, null, "connection reset", FcmFailureType.RETRYABLE),
+                new FcmSendReport.Failure(1, null, "connection reset", FcmFailureType.RETRYABLE)
+        )));
+
+        assertFailed(outcome, entry(1L, AlarmTier.REMIND));
+        assertFailed(outcome, entry(2L, AlarmTier.RE_REMIND));
+    }
+
+    @Test
+    void 재시도_큐에_넣은_메시지는_전송_완료도_실패도_아니다() {
+        AlarmDeliveryOutcome outcome = new AlarmDeliveryOutcome();
+        outcome.record(FcmPriority.REMIND, RECIPIENTS.subList(0, 3), new FcmSendReport(1, List.of(
+                new FcmSendReport.Failure(1, MessagingErrorCode.UNAVAILABLE, "unavailable")
+        ), 1, List.of(1, 2)));
+
+        assertDelivered(outcome, entry(1L, AlarmTier.REMIND));
+        RoutineTimingWheel.Entry retried = entry(2L, AlarmTier.REMIND);
+        RoutineTimingWheel.Entry deferred = entry(3L, AlarmTier.REMIND);
+        assertFalse(outcome.isDelivered(retried));
+        assertFalse(outcome.isFailed(retried));
+        assertFalse(outcome.isDelivered(deferred));
+        assertFalse(outcome.isFailed(deferred));
+    }
+
+    @Test
+    void 우선순위가_다른_단계와_메시지가_없는_엔트리는_전송_완료로_처리한다() {
+        AlarmDeliveryOutcome outcome = new AlarmDeliveryOutcome();
+        outcome.record(FcmPriority.PRIMARY, RECIPIENTS.subList(0, 1), new FcmSendReport(0, List.of(
+                new FcmSendReport.Failure(0, null, "timeout", FcmFailureType.PERMANENT)
+        )));
+
+        assertFailed(outcome, entry(1L, AlarmTier.PRIMARY));
+        // 같은 사용자의 REMIND 알림은 다른 우선순위로 전송된다.
+        assertDelivered(outcome, entry(1L, AlarmTier.REMIND));
+        // 알림 미동의, token 없음
+        assertDelivered(outcome, entry(9L, AlarmTier.PRIMARY));
+    }
+
+    private static void assertDelivered(AlarmDeliveryOutcome outcome, RoutineTimingWheel.Entry entry) {
+        assertTrue(outcome.isDelivered(entry), "delivered: " + entry);
+        assertFalse(outcome.isFailed(entry), "failed: " + entry);
+    }
+
+    private static void assertFailed(AlarmDeliveryOutcome outcome, RoutineTimingWheel.Entry entry) {
+        assertFalse(outcome.isDelivered(entry), "delivered: " + entry);
+        assertTrue(outcome.isFailed(entry), "failed: " + entry);
+    }
+
+    private static RoutineTimingWheel.Entry entry(long userId, AlarmTier tier) {
+        return new RoutineTimingWheel.Entry(userId * 10, userId, 0, tier);
+    }
+
+    private static AlarmRecipient user(Long userId) {
+        return AlarmRecipient.builder()
+                .userId(userId)
+                .name("사용자" + userId)
+                .notificationAgreed(true)
+                .fcmToken("token-" + userId)
+                .build();
+    }
+}
@@ -0,0 +1,187 @@
+package com.medeasy.alarm.domain.alarm.escalation;
+
+import com.medeasy.alarm.domain.alarm.shard.AlarmShardManager;
+import com.medeasy.alarm.domain.alarm.wheel.RoutineTimingWheel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisHashCommands;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.core.*;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Redis 스크립트에 전달하는 key, 인자와 결과 처리 검증 (스크립트 자체는 Redis 에서 실행된다.)
+ * */
+class AlarmEscalationQueueTest {
+
+    private static final long SHARD_COUNT = 2;
+    private static final long VISIBILITY_SECONDS = 300;
+    private static final long NOW = 1_767_250_800L;
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final AlarmShardManager alarmShardManager = mock(AlarmShardManager.class);
+    @SuppressWarnings("unchecked")
+    private final ZSetOperations<String, String> zSetOperations = mock(ZSetOperations.class);
+
+    private AlarmEscalationQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(alarmShardManager.shardOf(anyLong())).thenAnswer(invocation -> invocation.<Long>getArgument(0) % SHARD_COUNT);
+        queue = new AlarmEscalationQueue(redisTemplate, alarmShardManager, VISIBILITY_SECONDS, 30);
+    }
+
+    @Test
+    void 점유한_샤드별로_대기_처리중_key_와_처리_기한을_넘겨_꺼낸다() {
+        when(alarmShardManager.getOwnedShardIds()).thenReturn(List.of(1L));
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenReturn(List.of("REMIND:10:1", "1767250800", "RE_REMIND:11:3", "1767252600"));
+
+        List<RoutineTimingWheel.Entry> entries = queue.pollDue(NOW);
+
+        assertEquals(List.of(
+                new RoutineTimingWheel.Entry(10L, 1L, 1_767_250_800L, AlarmTier.REMIND),
+                new RoutineTimingWheel.Entry(11L, 3L, 1_767_252_600L, AlarmTier.RE_REMIND)
+        ), entries);
+
+        verify(redisTemplate).execute(any(RedisScript.class),
+                eq(List.of("alarm:escalation:jobs:1", "alarm:escalation:inflight:1", "alarm:escalation:inflight-due:1")),
+                eq(String.valueOf(NOW)), eq("1000"), eq(String.valueOf(NOW + VISIBILITY_SECONDS)));
+    }
+
+    @Test
+    void 한_번에_꺼낸_수가_배치_크기면_남은_작업을_다시_꺼낸다() {
+        when(alarmShardManager.getOwnedShardIds()).thenReturn(List.of(0L));
+        List<String> fullBatch = IntStream.range(0, 1000)
+                .boxed()
+                .flatMap(i -> List.of("REMIND:" + i + ":2", String.valueOf(NOW)).stream())
+                .toList();
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenReturn(fullBatch, List.of("REMIND:1000:2", String.valueOf(NOW)));
+
+        assertEquals(1001, queue.pollDue(NOW).size());
+        verify(redisTemplate, times(2)).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+
+    @Test
+    void 변환할_수_없는_작업은_건너뛴다() {
+        when(alarmShardManager.getOwnedShardIds()).thenReturn(List.of(0L));
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenReturn(List.of("UNKNOWN:1:2", String.valueOf(NOW), "REMIND:1:2", String.valueOf(NOW)));
+
+        assertEquals(List.of(new RoutineTimingWheel.Entry(1L, 2L, NOW, AlarmTier.REMIND)), queue.pollDue(NOW));
+    }
+
+    @Test
+    void ack_는_단계_알림만_사용자_샤드의_처리중_key_에서_삭제한다() {
+        RedisConnection connection = mock(RedisConnection.class);
+        RedisZSetCommands zSetCommands = mock(RedisZSetCommands.class);
+        RedisHashCommands hashCommands = mock(RedisHashCommands.class);
+        when(connection.zSetCommands()).thenReturn(zSetCommands);
+        when(connection.hashCommands()).thenReturn(hashCommands);
+
+        queue.ack(List.of(
+                new RoutineTimingWheel.Entry(10L, 1L, NOW, AlarmTier.PRIMARY),
+                new RoutineTimingWheel.Entry(10L, 1L, NOW, AlarmTier.REMIND),
+                new RoutineTimingWheel.Entry(11L, 2L, NOW, AlarmTier.RE_REMIND)
+        ));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<RedisCallback<Object>> callback = ArgumentCaptor.forClass(RedisCallback.class);
+        verify(redisTemplate).executePipelined(callback.capture());
+        callback.getValue().doInRedis(connection);
+
+        verify(zSetCommands).zRem(bytes("alarm:escalation:inflight:1"), bytes("REMIND:10:1"));
+        verify(hashCommands).hDel(bytes("alarm:escalation:inflight-due:1"), bytes("REMIND:10:1"));
+        verify(zSetCommands).zRem(bytes("alarm:escalation:inflight:0"), bytes("RE_REMIND:11:2"));
+        verify(hashCommands).hDel(bytes("alarm:escalation:inflight-due:0"), bytes("RE_REMIND:11:2"));
+        verifyNoMoreInteractions(zSetCommands, hashCommands);
+    }
+
+    @Test
+    void 복용_시각_알림만_ack_하면_Redis_를_호출하지_않는다() {
+        queue.ack(List.of(new RoutineTimingWheel.Entry(10L, 1L, NOW, AlarmTier.PRIMARY)));
+
+        verify(redisTemplate, never()).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    void rehash_는_다른_샤드의_대기_작업을_알림_시각_그대로_옮긴다() {
+        // 샤드 4개 -> 2개: 3번 샤드의 사용자 3, 5 는 1번 샤드로 이동
+        stubScan("alarm:escalation:jobs:*", "alarm:escalation:jobs:1", "alarm:escalation:jobs:3");
+        stubScan("alarm:escalation:inflight:*");
+        stubZSetScan("alarm:escalation:jobs:1", tuple("REMIND:10:1", NOW));
+        stubZSetScan("alarm:escalation:jobs:3", tuple("REMIND:11:3", NOW), tuple("RE_REMIND:12:5", NOW + 1800));
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(1L);
+
+        queue.rehash(NOW);
+
+        verify(redisTemplate).execute(any(RedisScript.class),
+                eq(List.of("alarm:escalation:jobs:3", "alarm:escalation:jobs:1")), eq("REMIND:11:3"), eq(String.valueOf(NOW)));
+        verify(redisTemplate).execute(any(RedisScript.class),
+                eq(List.of("alarm:escalation:jobs:3", "alarm:escalation:jobs:1")), eq("RE_REMIND:12:5"), eq(String.valueOf(NOW + 1800)));
+        verify(redisTemplate, times(2)).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+
+    @Test
+    void rehash_는_다른_샤드의_처리_기한이_지난_처리중_작업을_새_샤드_대기_큐로_되돌린다() {
+        stubScan("alarm:escalation:jobs:*");
+        stubScan("alarm:escalation:inflight:*", "alarm:escalation:inflight:0", "alarm:escalation:inflight:2");
+        when(zSetOperations.rangeByScore("alarm:escalation:inflight:0", Double.NEGATIVE_INFINITY, NOW))
+                .thenReturn(new LinkedHashSet<>(List.of("REMIND:10:2")));
+        when(zSetOperations.rangeByScore("alarm:escalation:inflight:2", Double.NEGATIVE_INFINITY, NOW))
+                .thenReturn(new LinkedHashSet<>(List.of("REMIND:11:3", "RE_REMIND:12:4")));
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(1L);
+
+        queue.rehash(NOW);
+
+        // 현재 샤드와 같은 작업은 pollDue 가 되돌리므로 옮기지 않는다.
+        verify(redisTemplate).execute(any(RedisScript.class),
+                eq(List.of("alarm:escalation:inflight:2", "alarm:escalation:inflight-due:2", "alarm:escalation:jobs:1")),
+                eq("REMIND:11:3"), eq(String.valueOf(NOW)));
+        verify(redisTemplate).execute(any(RedisScript.class),
+                eq(List.of("alarm:escalation:inflight:2", "alarm:escalation:inflight-due:2", "alarm:escalation:jobs:0")),
+                eq("RE_REMIND:12:4"), eq(String.valueOf(NOW)));
+        verify(redisTemplate, times(2)).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+
+    private void stubScan(String pattern, String... keys) {
+        Cursor<String> cursor = cursor(List.of(keys));
+        when(redisTemplate.scan(argThat(options -> options != null && pattern.equals(options.getPattern())))).thenReturn(cursor);
+    }
+
+    @SafeVarargs
+    private void stubZSetScan(String key, ZSetOperations.TypedTuple<String>... tuples) {
+        Cursor<ZSetOperations.TypedTuple<String>> cursor = cursor(List.of(tuples));
+        when(zSetOperations.scan(eq(key), any(ScanOptions.class))).thenReturn(cursor);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Cursor<T> cursor(List<T> items) {
+        Iterator<T> iterator = items.iterator();
+        Cursor<T> cursor = mock(Cursor.class);
+        when(cursor.hasNext()).thenAnswer(invocation -> iterator.hasNext());
+        when(cursor.next()).thenAnswer(invocation -> iterator.next());
+        doCallRealMethod().when(cursor).forEachRemaining(any());
+        return cursor;
+    }
+
+    private static ZSetOperations.TypedTuple<String> tuple(String member, long score) {
+        return new DefaultTypedTuple<>(member, (double) score);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,75 @@
+package com.medeasy.alarm.domain.alarm.wheel;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlarmDispatchJitterTest {
+
+    private static final long WINDOW_SECONDS = 60;
+    private static final int USERS = 60_000;
+
+    @Test
+    void offset_은_0_부터_window_미만이다() {
+        AlarmDispatchJitter jitter = new AlarmDispatchJitter(true, WINDOW_SECONDS);
+
+        for (long userId = -100; userId < USERS; userId++) {
+            long offset = jitter.offsetSeconds(userId);
+            assertTrue(offset >= 0 && offset < WINDOW_SECONDS, "userId=" + userId + ", offset=" + offset);
+        }
+        assertEquals(WINDOW_SECONDS, jitter.getWindowSeconds());
+    }
+
+    @Test
+    void 같은_사용자는_레플리카와_재시작에_관계없이_같은_offset_을_받는다() {
+        AlarmDispatchJitter jitter = new AlarmDispatchJitter(true, WINDOW_SECONDS);
+        AlarmDispatchJitter other = new AlarmDispatchJitter(true, WINDOW_SECONDS);
+
+        for (long userId = 1; userId <= 1000; userId++) {
+            assertEquals(jitter.offsetSeconds(userId), jitter.offsetSeconds(userId));
+            assertEquals(jitter.offsetSeconds(userId), other.offsetSeconds(userId));
+        }
+    }
+
+    @Test
+    void 연속된_사용자는_window_전체에_고르게_나뉜다() {
+        AlarmDispatchJitter jitter = new AlarmDispatchJitter(true, WINDOW_SECONDS);
+
+        int[] counts = new int[(int) WINDOW_SECONDS];
+        for (long userId = 1; userId <= USERS; userId++) {
+            counts[(int) jitter.offsetSeconds(userId)]++;
+        }
+
+        // 초당 평균 1000명, 한 초에 2배 이상 몰리거나 절반 미만으로 비지 않는다.
+        long expected = USERS / WINDOW_SECONDS;
+        for (int second = 0; second < counts.length; second++) {
+            assertTrue(counts[second] > expected / 2 && counts[second] < expected * 2,
+                    "second=" + second + ", count=" + counts[second]);
+        }
+    }
+
+    @Test
+    void 알림_시각은_복용_시각보다_앞서지_않는다() {
+        AlarmDispatchJitter jitter = new AlarmDispatchJitter(true, WINDOW_SECONDS);
+        long scheduledAt = 1_767_250_800L;
+
+        for (long userId = 1; userId <= 1000; userId++) {
+            long dueAt = jitter.dueAt(userId, scheduledAt);
+            assertTrue(dueAt >= scheduledAt && dueAt < scheduledAt + WINDOW_SECONDS);
+        }
+    }
+
+    @Test
+    void 비활성화되거나_window_가_1초_이하면_분산하지_않는다() {
+        AlarmDispatchJitter disabled = new AlarmDispatchJitter(false, WINDOW_SECONDS);
+        AlarmDispatchJitter singleSecond = new AlarmDispatchJitter(true, 1);
+
+        for (long userId = 1; userId <= 100; userId++) {
+            assertEquals(0, disabled.offsetSeconds(userId));
+            assertEquals(0, singleSecond.offsetSeconds(userId));
+            assertEquals(100, disabled.dueAt(userId, 100));
+        }
+        assertEquals(0, disabled.getWindowSeconds());
+        assertEquals(0, singleSecond.getWindowSeconds());
+    }
+}
@@ -0,0 +1,109 @@
+package com.medeasy.alarm.domain.alarm.wheel;
+
+import com.medeasy.alarm.domain.alarm.escalation.AlarmTier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoutineTimingWheelTest {
+
+    private static final long SECONDS_PER_DAY = 86400;
+
+    private RoutineTimingWheel wheel;
+
+    // 서버 시작 시각과 겹치지 않도록 모레 0시를 기준으로 한다.
+    private long midnight;
+
+    @BeforeEach
+    void setUp() {
+        wheel = new RoutineTimingWheel();
+        midnight = RoutineTimingWheel.toEpochSecond(LocalDateTime.now().toLocalDate().plusDays(2).atStartOfDay());
+        wheel.poll(toDateTime(midnight - 10));
+    }
+
+    @Test
+    void 자정을_넘는_구간은_두_날짜의_슬롯을_모두_꺼낸다() {
+        RoutineTimingWheel.Entry beforeMidnight = entry(1L, midnight - 5);
+        RoutineTimingWheel.Entry afterMidnight = entry(2L, midnight + 5);
+        wheel.addAll(List.of(beforeMidnight, afterMidnight));
+
+        List<RoutineTimingWheel.Entry> due = wheel.poll(toDateTime(midnight + 10));
+
+        assertEquals(List.of(beforeMidnight, afterMidnight), due);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void 같은_슬롯의_다음날_엔트리는_도래할_때까지_남겨둔다() {
+        RoutineTimingWheel.Entry today = entry(1L, midnight + 5);
+        RoutineTimingWheel.Entry tomorrow = entry(2L, midnight + SECONDS_PER_DAY + 5);
+        wheel.addAll(List.of(today, tomorrow));
+
+        assertEquals(List.of(today), wheel.poll(toDateTime(midnight + 10)));
+        assertEquals(1, wheel.size());
+
+        assertEquals(List.of(tomorrow), wheel.poll(toDateTime(midnight + SECONDS_PER_DAY + 10)));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void 하루_이상_멈춘_경우에도_슬롯은_한_바퀴만_순회한다() {
+        RoutineTimingWheel.Entry entry = entry(1L, midnight + 5);
+        wheel.add(entry);
+
+        List<RoutineTimingWheel.Entry> due = wheel.poll(toDateTime(midnight + 3 * SECONDS_PER_DAY));
+
+        assertEquals(List.of(entry), due);
+        assertEquals(toDateTime(midnight + 3 * SECONDS_PER_DAY), wheel.getPolledUntil());
+    }
+
+    @Test
+    void 꺼낸_시각_이전으로_적재된_엔트리는_다음_poll_에_바로_꺼낸다() {
+        RoutineTimingWheel.Entry overdue = entry(1L, midnight - 60);
+        wheel.add(overdue);
+
+        // 새로 꺼낼 구간이 없어도 지난 엔트리는 꺼낸다.
+        assertEquals(List.of(overdue), wheel.poll(toDateTime(midnight - 10)));
+        assertTrue(wheel.poll(toDateTime(midnight - 10)).isEmpty());
+    }
+
+    @Test
+    void 사용자_교체_시_지난_엔트리도_함께_교체한다() {
+        wheel.add(entry(1L, midnight - 60));
+        wheel.add(entry(1L, midnight + 60));
+        RoutineTimingWheel.Entry other = entry(2L, midnight - 30);
+        wheel.add(other);
+
+        RoutineTimingWheel.Entry replaced = entry(1L, midnight + 30);
+        wheel.replaceUser(1L, List.of(replaced));
+
+        assertEquals(List.of(other, replaced), wheel.poll(toDateTime(midnight + 120)));
+    }
+
+    @Test
+    void 적재_실패_구간_이전까지만_전송을_보장한다() {
+        assertEquals(midnight - 10, wheel.getCoveredUntil(midnight));
+
+        wheel.markReady();
+        assertEquals(midnight, wheel.getCoveredUntil(midnight));
+
+        wheel.markUnloaded(toDateTime(midnight - 30));
+        assertEquals(midnight - 31, wheel.getCoveredUntil(midnight));
+
+        wheel.markLoaded();
+        assertEquals(midnight, wheel.getCoveredUntil(midnight));
+    }
+
+    private static RoutineTimingWheel.Entry entry(long userId, long dueAt) {
+        return new RoutineTimingWheel.Entry(userId * 100, userId, dueAt, AlarmTier.PRIMARY);
+    }
+
+    private static LocalDateTime toDateTime(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+}
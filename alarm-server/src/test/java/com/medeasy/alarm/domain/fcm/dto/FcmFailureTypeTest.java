@@ -0,0 +1,50 @@
+package com.medeasy.alarm.domain.fcm.dto;
+
+import com.google.firebase.messaging.MessagingErrorCode;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FcmFailureTypeTest {
+
+    @Test
+    void 메시지별_token_오류는_INVALID_TOKEN_이다() {
+        assertEquals(FcmFailureType.INVALID_TOKEN, FcmFailureType.of(MessagingErrorCode.UNREGISTERED));
+        assertEquals(FcmFailureType.INVALID_TOKEN, FcmFailureType.of(MessagingErrorCode.INVALID_ARGUMENT));
+        assertEquals(FcmFailureType.INVALID_TOKEN, FcmFailureType.of(MessagingErrorCode.SENDER_ID_MISMATCH));
+    }
+
+    @Test
+    void 메시지별_일시적_오류는_RETRYABLE_이고_그_외는_PERMANENT_이다() {
+        assertEquals(FcmFailureType.RETRYABLE, FcmFailureType.of(MessagingErrorCode.UNAVAILABLE));
+        assertEquals(FcmFailureType.RETRYABLE, FcmFailureType.of(MessagingErrorCode.QUOTA_EXCEEDED));
+        assertEquals(FcmFailureType.RETRYABLE, FcmFailureType.of(MessagingErrorCode.INTERNAL));
+        assertEquals(FcmFailureType.PERMANENT, FcmFailureType.of(MessagingErrorCode.THIRD_PARTY_AUTH_ERROR));
+        assertEquals(FcmFailureType.PERMANENT, FcmFailureType.of(null));
+    }
+
+    @Test
+    void 청크_전체_실패는_타임아웃을_제외하고_RETRYABLE_이다() {
+        assertEquals(FcmFailureType.RETRYABLE, FcmFailureType.ofChunk(new IOException("connection reset")));
+        assertEquals(FcmFailureType.RETRYABLE, FcmFailureType.ofChunk(new IllegalStateException()));
+        assertEquals(FcmFailureType.PERMANENT, FcmFailureType.ofChunk(new TimeoutException()));
+    }
+
+    @Test
+    void INVALID_TOKEN_과_재시도_대기를_제외한_실패는_전송되지_않은_메시지이다() {
+        FcmSendReport report = new FcmSendReport(1, List.of(
+                new FcmSendReport.Failure(1, MessagingErrorCode.UNREGISTERED, "unregistered"),
+                new FcmSendReport.Failure(2, MessagingErrorCode.UNAVAILABLE, "unavailable"),
+                new FcmSendReport.Failure(3, MessagingErrorCode.UNAVAILABLE, "unavailable"),
+                new FcmSendReport.Failure(4, null, "timeout", FcmFailureType.PERMANENT),
+                new FcmSendReport.Failure(5, null, "FCM 재시도 큐 초과", FcmFailureType.DROPPED)
+        ), 0, List.of(2));
+
+        assertEquals(List.of(1), report.getFailureIndexes(FcmFailureType.INVALID_TOKEN));
+        assertEquals(List.of(3, 4, 5), report.getUndeliveredIndexes());
+    }
+}
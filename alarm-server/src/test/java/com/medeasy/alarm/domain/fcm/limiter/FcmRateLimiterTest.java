@@ -0,0 +1,104 @@
+package com.medeasy.alarm.domain.fcm.limiter;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FcmRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private final AtomicInteger members = new AtomicInteger(1);
+
+    @Test
+    void 하위_우선순위는_예약분을_제외한_예산만큼만_허용한다() {
+        FcmRateLimiter limiter = limiter(10, 100);
+
+        // CARE_PROVIDER 예약분 40 -> 60 까지 허용
+        assertEquals(60, limiter.acquire(FcmPriority.CARE_PROVIDER, 100));
+        assertEquals(0, limiter.acquire(FcmPriority.CARE_PROVIDER, 1));
+
+        // REMIND 예약분 20 -> 남은 40 중 20 까지 허용
+        assertEquals(20, limiter.acquire(FcmPriority.REMIND, 100));
+        assertEquals(0, limiter.acquire(FcmPriority.REMIND, 1));
+
+        assertEquals(20, limiter.getAvailableTokens());
+    }
+
+    @Test
+    void 요청이_예산보다_적으면_요청만큼_허용한다() {
+        FcmRateLimiter limiter = limiter(10, 100);
+
+        assertEquals(10, limiter.acquire(FcmPriority.REMIND, 10));
+        assertEquals(0, limiter.acquire(FcmPriority.REMIND, 0));
+        assertEquals(90, limiter.getAvailableTokens());
+    }
+
+    @Test
+    void PRIMARY_는_예산이_부족해도_전체를_허용하고_부족분을_음수로_남긴다() {
+        FcmRateLimiter limiter = limiter(10, 100);
+
+        assertEquals(150, limiter.acquire(FcmPriority.PRIMARY, 150));
+        assertEquals(-50, limiter.getAvailableTokens());
+
+        // 음수인 동안 하위 우선순위는 전송하지 않는다.
+        assertEquals(0, limiter.acquire(FcmPriority.REMIND, 10));
+        assertEquals(0, limiter.acquire(FcmPriority.CARE_PROVIDER, 10));
+        assertEquals(10, limiter.acquire(FcmPriority.PRIMARY, 10));
+        assertEquals(-60, limiter.getAvailableTokens());
+
+        // 부족분을 채운 이후에 하위 우선순위를 다시 전송한다. (초당 10개)
+        advance(Duration.ofSeconds(8));
+        assertEquals(0, limiter.acquire(FcmPriority.REMIND, 10));
+        advance(Duration.ofSeconds(1));
+        assertEquals(10, limiter.acquire(FcmPriority.REMIND, 10));
+    }
+
+    @Test
+    void 지난_시간만큼_최대_capacity_까지_채운다() {
+        FcmRateLimiter limiter = limiter(1000, 100);
+        limiter.acquire(FcmPriority.PRIMARY, 100);
+        assertEquals(0, limiter.getAvailableTokens());
+
+        advance(Duration.ofMillis(50));
+        assertEquals(50, limiter.getAvailableTokens(), 1e-9);
+
+        advance(Duration.ofSeconds(10));
+        assertEquals(100, limiter.getAvailableTokens());
+    }
+
+    @Test
+    void 레플리카_수만큼_예산을_나누어_사용한다() {
+        members.set(4);
+        FcmRateLimiter limiter = limiter(1000, 100);
+
+        // 버킷 100 / 4 = 25, CARE_PROVIDER 예약분 25 * 0.4 = 10
+        assertEquals(25, limiter.getAvailableTokens());
+        assertEquals(15, limiter.acquire(FcmPriority.CARE_PROVIDER, 100));
+
+        // 초당 1000 / 4 = 250
+        limiter.acquire(FcmPriority.PRIMARY, 10);
+        advance(Duration.ofMillis(20));
+        assertEquals(5, limiter.getAvailableTokens(), 1e-9);
+
+        // 레플리카가 줄면 몫이 커진다.
+        members.set(1);
+        advance(Duration.ofSeconds(1));
+        assertEquals(100, limiter.getAvailableTokens());
+
+        // 레플리카가 늘면 남은 token 을 새 몫으로 줄인다.
+        members.set(2);
+        assertEquals(50, limiter.getAvailableTokens());
+    }
+
+    private FcmRateLimiter limiter(double ratePerSecond, double capacity) {
+        return new FcmRateLimiter(ratePerSecond, capacity, members::get, clock::get);
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toNanos());
+    }
+}
@@ -0,0 +1,164 @@
+package com.medeasy.alarm.domain.fcm.limiter;
+
+import com.google.firebase.messaging.Message;
+import com.medeasy.alarm.domain.fcm.limiter.FcmRetryQueue.RetryMessage;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FcmRetryQueueTest {
+
+    private static final long MAX_DELAY_SECONDS = 300;
+    private static final int MAX_RETRIES = 3;
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void 예산_부족_메시지는_바로_앞에서부터_꺼낸다() {
+        FcmRetryQueue queue = queue(10, MAX_DELAY_SECONDS, MAX_RETRIES, 60_000);
+        List<RetryMessage> messages = deferred(3);
+
+        assertEquals(3, queue.offer(FcmPriority.REMIND, messages));
+        assertEquals(3, queue.readySize(FcmPriority.REMIND));
+
+        List<RetryMessage> polled = queue.poll(FcmPriority.REMIND, 2);
+        assertEquals(List.of(messages.get(0).message(), messages.get(1).message()),
+                polled.stream().map(RetryMessage::message).toList());
+        assertEquals(0, polled.getFirst().attempt());
+        assertSame(messages.getFirst().onSent(), polled.getFirst().onSent());
+        assertEquals(1, queue.size(FcmPriority.REMIND));
+    }
+
+    @Test
+    void 큐가_가득_차면_우선순위와_관계없이_나머지는_넣지_않는다() {
+        FcmRetryQueue queue = queue(5, MAX_DELAY_SECONDS, MAX_RETRIES, 0);
+
+        assertEquals(3, queue.offer(FcmPriority.PRIMARY, deferred(3)));
+        assertEquals(2, queue.offer(FcmPriority.REMIND, deferred(4)));
+        assertEquals(0, queue.offer(FcmPriority.CARE_PROVIDER, deferred(1)));
+        assertTrue(queue.offerRetry(FcmPriority.CARE_PROVIDER, failures(1)).isEmpty());
+
+        // 꺼낸 만큼 다시 넣을 수 있다.
+        assertEquals(2, queue.poll(FcmPriority.PRIMARY, 2).size());
+        assertEquals(List.of(0, 1), queue.offerRetry(FcmPriority.CARE_PROVIDER, failures(3)));
+        assertEquals(5, queue.size(FcmPriority.PRIMARY) + queue.size(FcmPriority.REMIND) + queue.size(FcmPriority.CARE_PROVIDER));
+    }
+
+    @Test
+    void 실패한_메시지는_backoff_이후에_꺼낸다() {
+        FcmRetryQueue queue = queue(10, MAX_DELAY_SECONDS, MAX_RETRIES, 100);
+
+        // 첫 재시도 backoff: 100ms 의 50~100%
+        assertEquals(List.of(0), queue.offerRetry(FcmPriority.REMIND, failures(1)));
+        advance(Duration.ofMillis(49));
+        assertEquals(0, queue.readySize(FcmPriority.REMIND));
+        assertTrue(queue.poll(FcmPriority.REMIND, 1).isEmpty());
+        assertEquals(1, queue.size(FcmPriority.REMIND));
+
+        advance(Duration.ofMillis(51));
+        List<RetryMessage> polled = queue.poll(FcmPriority.REMIND, 1);
+        assertEquals(1, polled.size());
+        assertEquals(1, polled.getFirst().attempt());
+        assertEquals(clock.get() - Duration.ofMillis(100).toNanos(), polled.getFirst().enqueuedAtNanos());
+        assertEquals(0, queue.size(FcmPriority.REMIND));
+    }
+
+    @Test
+    void 실패할수록_backoff_가_두_배씩_늘어난다() {
+        FcmRetryQueue queue = queue(10, MAX_DELAY_SECONDS, MAX_RETRIES, 100);
+
+        // 세 번째 재시도 backoff: 400ms 의 50~100%
+        queue.offerRetry(FcmPriority.REMIND, List.of(new RetryMessage(message(0), 2, clock.get(), null)));
+        advance(Duration.ofMillis(199));
+        assertEquals(0, queue.readySize(FcmPriority.REMIND));
+
+        advance(Duration.ofMillis(201));
+        assertEquals(1, queue.readySize(FcmPriority.REMIND));
+    }
+
+    @Test
+    void 최대_재시도_횟수를_넘은_메시지는_넣지_않는다() {
+        FcmRetryQueue queue = queue(10, MAX_DELAY_SECONDS, 2, 0);
+        Message message = message(0);
+
+        List<RetryMessage> retries = List.of(
+                new RetryMessage(message, 2, clock.get(), null),
+                new RetryMessage(message, 1, clock.get(), null)
+        );
+
+        assertEquals(List.of(1), queue.offerRetry(FcmPriority.PRIMARY, retries));
+        assertEquals(2, queue.poll(FcmPriority.PRIMARY, 1).getFirst().attempt());
+    }
+
+    @Test
+    void 다시_실패해도_처음_큐에_들어온_시각을_유지한다() {
+        FcmRetryQueue queue = queue(10, MAX_DELAY_SECONDS, MAX_RETRIES, 0);
+
+        queue.offerRetry(FcmPriority.REMIND, failures(1));
+        RetryMessage first = queue.poll(FcmPriority.REMIND, 1).getFirst();
+
+        queue.offerRetry(FcmPriority.REMIND, List.of(first));
+        RetryMessage second = queue.poll(FcmPriority.REMIND, 1).getFirst();
+
+        assertEquals(first.enqueuedAtNanos(), second.enqueuedAtNanos());
+        assertEquals(2, second.attempt());
+    }
+
+    @Test
+    void 보관_기간이_지난_메시지는_버리고_크기에서_제외한다() {
+        FcmRetryQueue queue = queue(2, MAX_DELAY_SECONDS, MAX_RETRIES, 0);
+
+        assertEquals(2, queue.offer(FcmPriority.REMIND, deferred(2)));
+        advance(Duration.ofSeconds(MAX_DELAY_SECONDS));
+        assertEquals(2, queue.readySize(FcmPriority.REMIND));
+
+        advance(Duration.ofNanos(1));
+        assertEquals(0, queue.readySize(FcmPriority.REMIND));
+        assertEquals(0, queue.size(FcmPriority.REMIND));
+        assertTrue(queue.poll(FcmPriority.REMIND, 2).isEmpty());
+
+        // 버린 만큼 다시 넣을 수 있다.
+        assertEquals(2, queue.offer(FcmPriority.REMIND, deferred(2)));
+    }
+
+    @Test
+    void 보관_기간은_재시도와_관계없이_처음_큐에_들어온_시각부터_계산한다() {
+        FcmRetryQueue queue = queue(10, MAX_DELAY_SECONDS, MAX_RETRIES, 0);
+        long enqueuedAt = clock.get();
+
+        advance(Duration.ofSeconds(MAX_DELAY_SECONDS + 1));
+        queue.offerRetry(FcmPriority.REMIND, List.of(new RetryMessage(message(0), 1, enqueuedAt, null)));
+
+        assertEquals(0, queue.readySize(FcmPriority.REMIND));
+        assertEquals(0, queue.size(FcmPriority.REMIND));
+    }
+
+    private FcmRetryQueue queue(int capacity, long maxDelaySeconds, int maxRetries, long backoffBaseMillis) {
+        return new FcmRetryQueue(capacity, maxDelaySeconds, maxRetries, backoffBaseMillis, clock::get);
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toNanos());
+    }
+
+    private static List<RetryMessage> deferred(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> RetryMessage.deferred(message(i), () -> {}))
+                .toList();
+    }
+
+    private static List<RetryMessage> failures(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> RetryMessage.firstFailure(message(i), null))
+                .toList();
+    }
+
+    private static Message message(int index) {
+        return Message.builder().setToken("token-" + index).build();
+    }
+}
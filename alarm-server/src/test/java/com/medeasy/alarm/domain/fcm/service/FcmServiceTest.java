@@ -0,0 +1,154 @@
+package com.medeasy.alarm.domain.fcm.service;
+
+import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.Message;
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.medeasy.alarm.common.metrics.AlarmMetrics;
+import com.medeasy.alarm.domain.fcm.dto.FcmFailureType;
+import com.medeasy.alarm.domain.fcm.dto.FcmSendReport;
+import com.medeasy.alarm.domain.fcm.gateway.FcmGateway;
+import com.medeasy.alarm.domain.fcm.limiter.FcmPriority;
+import com.medeasy.alarm.domain.fcm.limiter.FcmRateLimiter;
+import com.medeasy.alarm.domain.fcm.limiter.FcmRetryQueue;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class FcmServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final FcmGateway fcmGateway = mock(FcmGateway.class);
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final FcmRateLimiter fcmRateLimiter = mock(FcmRateLimiter.class);
+    private final FcmRetryQueue fcmRetryQueue = new FcmRetryQueue(10, 300, 3, 60_000);
+
+    private ExecutorService executor;
+    private FcmService fcmService;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        when(fcmRateLimiter.acquire(any(), anyInt())).thenAnswer(invocation -> invocation.getArgument(1));
+        fcmService = new FcmService(redisTemplate, fcmGateway, executor, 8, 30,
+                fcmRateLimiter, fcmRetryQueue, new AlarmMetrics(meterRegistry), 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void 메시지별_INVALID_ARGUMENT_는_유효하지_않은_token_으로_보고한다() throws Exception {
+        when(fcmGateway.sendEach(anyList(), anyLong())).thenReturn(new FcmSendReport(2, List.of(
+                new FcmSendReport.Failure(1, MessagingErrorCode.INVALID_ARGUMENT, "invalid token")
+        )));
+
+        FcmSendReport report = fcmService.sendMessages(messages(3), FcmPriority.PRIMARY);
+
+        assertEquals(List.of(1), report.getFailureIndexes(FcmFailureType.INVALID_TOKEN));
+        assertTrue(report.getUndeliveredIndexes().isEmpty());
+        assertTrue(report.getPendingIndexes().isEmpty());
+    }
+
+    @Test
+    void 청크_전체의_INVALID_ARGUMENT_는_token_정리_대상이_아니고_재시도한다() throws Exception {
+        FirebaseMessagingException exception = firebaseException(MessagingErrorCode.INVALID_ARGUMENT);
+        when(fcmGateway.sendEach(anyList(), anyLong())).thenThrow(exception);
+
+        FcmSendReport report = fcmService.sendMessages(messages(3), FcmPriority.PRIMARY);
+
+        assertTrue(report.getFailureIndexes(FcmFailureType.INVALID_TOKEN).isEmpty());
+        assertEquals(List.of(0, 1, 2), report.getFailureIndexes(FcmFailureType.RETRYABLE));
+        assertEquals(List.of(0, 1, 2), report.getPendingIndexes());
+        assertEquals(3, fcmRetryQueue.size(FcmPriority.PRIMARY));
+    }
+
+    @Test
+    void Firebase_오류가_아닌_청크_전체_실패도_재시도한다() throws Exception {
+        when(fcmGateway.sendEach(anyList(), anyLong())).thenThrow(new IOException("connection reset"));
+
+        FcmSendReport report = fcmService.sendMessages(messages(2), FcmPriority.REMIND);
+
+        assertEquals(List.of(0, 1), report.getPendingIndexes());
+        assertTrue(report.getUndeliveredIndexes().isEmpty());
+    }
+
+    @Test
+    void 청크_타임아웃은_재시도하지_않고_전송되지_않은_것으로_보고한다() throws Exception {
+        when(fcmGateway.sendEach(anyList(), anyLong())).thenThrow(new TimeoutException());
+
+        FcmSendReport report = fcmService.sendMessages(messages(2), FcmPriority.PRIMARY);
+
+        assertEquals(List.of(0, 1), report.getFailureIndexes(FcmFailureType.PERMANENT));
+        assertEquals(List.of(0, 1), report.getUndeliveredIndexes());
+        assertEquals(0, fcmRetryQueue.size(FcmPriority.PRIMARY));
+    }
+
+    @Test
+    void 재시도_큐에_넣지_못한_메시지는_전송되지_않은_것으로_보고하고_지표에_기록한다() throws Exception {
+        // 예산 2건, 재시도 큐 10건 중 8건 사용 중 -> 12건 중 2건 전송, 2건 대기, 8건 제외
+        when(fcmRateLimiter.acquire(any(), anyInt())).thenReturn(2);
+        fcmRetryQueue.offer(FcmPriority.PRIMARY, IntStream.range(0, 8)
+                .mapToObj(i -> FcmRetryQueue.RetryMessage.deferred(message(i), null))
+                .toList());
+        when(fcmGateway.sendEach(anyList(), anyLong())).thenReturn(new FcmSendReport(2, List.of()));
+
+        FcmSendReport report = fcmService.sendMessages(messages(12), FcmPriority.REMIND);
+
+        assertEquals(2, report.getSuccessCount());
+        assertEquals(List.of(2, 3), report.getPendingIndexes());
+        assertEquals(IntStream.range(4, 12).boxed().toList(), report.getFailureIndexes(FcmFailureType.DROPPED));
+        assertEquals(IntStream.range(4, 12).boxed().toList(), report.getUndeliveredIndexes());
+        assertEquals(8, meterRegistry.get("alarm.fcm.dropped").tag("priority", "REMIND").counter().count());
+        verify(fcmGateway).sendEach(argThat(chunk -> chunk.size() == 2), anyLong());
+    }
+
+    @Test
+    void 청크별_결과는_전체_메시지_기준_index_로_합친다() throws Exception {
+        when(fcmGateway.sendEach(anyList(), anyLong())).thenAnswer(invocation -> {
+            List<Message> chunk = invocation.getArgument(0);
+            if (chunk.size() == 500) {
+                return new FcmSendReport(500, List.of());
+            }
+            return new FcmSendReport(chunk.size() - 1, List.of(
+                    new FcmSendReport.Failure(0, MessagingErrorCode.UNREGISTERED, "unregistered")
+            ));
+        });
+
+        FcmSendReport report = fcmService.sendMessages(messages(510), FcmPriority.PRIMARY);
+
+        assertEquals(509, report.getSuccessCount());
+        assertEquals(List.of(500), report.getFailureIndexes(FcmFailureType.INVALID_TOKEN));
+    }
+
+    // FirebaseMessagingException 은 생성자가 공개되어 있지 않아 오류 코드만 가진 mock 으로 대체 (로그 출력용 stack trace 포함)
+    private static FirebaseMessagingException firebaseException(MessagingErrorCode errorCode) {
+        FirebaseMessagingException exception = mock(FirebaseMessagingException.class);
+        when(exception.getMessagingErrorCode()).thenReturn(errorCode);
+        when(exception.getStackTrace()).thenReturn(new StackTraceElement[0]);
+        when(exception.getSuppressed()).thenReturn(new Throwable[0]);
+        return exception;
+    }
+
+    private static List<Message> messages(int count) {
+        return IntStream.range(0, count).mapToObj(FcmServiceTest::message).toList();
+    }
+
+    private static Message message(int index) {
+        return Message.builder().setToken("token-" + index).build();
+    }
+}
@@ -0,0 +1,98 @@
+package com.medeasy.alarm.domain.notification.converter;
+
+import com.medeasy.alarm.common.exception.ApiException;
+import com.medeasy.alarm.domain.notification.dto.NotificationCursorResponse;
+import com.medeasy.alarm.domain.notification.dto.NotificationResponse;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationConverterTest {
+
+    private static final LocalDateTime SENT_AT = LocalDateTime.of(2026, 3, 1, 8, 0, 0, 123_000_000);
+
+    private final NotificationConverter notificationConverter = new NotificationConverter();
+
+    @Test
+    void cursor_는_발송_시각과_알림_id_로_복원된다() {
+        String cursor = notificationConverter.toCursor(notification(42L, SENT_AT));
+
+        NotificationConverter.Cursor parsed = notificationConverter.parseCursor(cursor);
+
+        assertEquals(SENT_AT, parsed.sentAt());
+        assertEquals(42L, parsed.notificationId());
+        assertFalse(cursor.contains("="), "padding 없는 base64url");
+    }
+
+    @Test
+    void 초_단위_시각도_복원된다() {
+        LocalDateTime sentAt = LocalDateTime.of(2026, 3, 1, 8, 0);
+        String cursor = notificationConverter.toCursor(notification(1L, sentAt));
+
+        assertEquals(sentAt, notificationConverter.parseCursor(cursor).sentAt());
+    }
+
+    @Test
+    void 변조된_cursor_는_잘못된_요청으로_처리한다() {
+        String cursor = notificationConverter.toCursor(notification(42L, SENT_AT));
+
+        // base64url 이 아닌 문자
+        assertThrows(ApiException.class, () -> notificationConverter.parseCursor(cursor + "*"));
+        // 잘린 cursor
+        assertThrows(ApiException.class, () -> notificationConverter.parseCursor(cursor.substring(0, cursor.length() / 2)));
+        // 구분자 없음
+        assertThrows(ApiException.class, () -> notificationConverter.parseCursor(encode("2026-03-01T08:00:00")));
+        // id 가 숫자가 아님
+        assertThrows(ApiException.class, () -> notificationConverter.parseCursor(encode(SENT_AT + "|1 OR 1=1")));
+        // 시각 형식이 아님
+        assertThrows(ApiException.class, () -> notificationConverter.parseCursor(encode("yesterday|42")));
+        assertThrows(ApiException.class, () -> notificationConverter.parseCursor(""));
+    }
+
+    @Test
+    void size_보다_많이_조회되면_마지막_알림으로_다음_cursor_를_만든다() {
+        List<NotificationResponse> notifications = notifications(4);
+
+        NotificationCursorResponse response = notificationConverter.toCursorResponse(notifications, 3);
+
+        assertTrue(response.getHasNext());
+        assertEquals(notifications.subList(0, 3), response.getNotifications());
+        assertEquals(3L, notificationConverter.parseCursor(response.getNextCursor()).notificationId());
+    }
+
+    @Test
+    void 마지막_페이지는_cursor_를_만들지_않는다() {
+        List<NotificationResponse> notifications = notifications(3);
+
+        NotificationCursorResponse response = notificationConverter.toCursorResponse(notifications, 3);
+
+        assertFalse(response.getHasNext());
+        assertEquals(notifications, response.getNotifications());
+        assertNull(response.getNextCursor());
+    }
+
+    private static List<NotificationResponse> notifications(int count) {
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(id -> notification(id, SENT_AT.minusMinutes(id)))
+                .toList();
+    }
+
+    private static NotificationResponse notification(Long notificationId, LocalDateTime sentAt) {
+        return NotificationResponse.builder()
+                .notificationId(notificationId)
+                .sentAt(sentAt)
+                .title("복약 알림")
+                .isRead(false)
+                .build();
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
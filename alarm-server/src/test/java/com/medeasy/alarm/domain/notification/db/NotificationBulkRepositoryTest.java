@@ -0,0 +1,147 @@
+package com.medeasy.alarm.domain.notification.db;
+
+import com.medeasy.alarm.domain.notification.dto.NotificationDraft;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class NotificationBulkRepositoryTest {
+
+    private static final String EVENT_SEQUENCE = "notification_event_id_seq";
+    private static final String RECIPIENT_SEQUENCE = "notification_recipient_id_seq";
+    private static final LocalDateTime SENT_AT = LocalDateTime.of(2026, 1, 1, 9, 0);
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+
+    // 실행된 INSERT 문과 인자
+    private final List<String> insertSqls = new ArrayList<>();
+    private final List<Object[]> insertArgs = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenAnswer(invocation -> {
+            insertSqls.add(invocation.getArgument(0));
+            insertArgs.add((Object[]) invocation.getRawArguments()[1]);
+            return 0;
+        });
+    }
+
+    @Test
+    void nextval_값_하나로_이전_allocationSize_구간의_id_를_사용한다() {
+        stubNextval(EVENT_SEQUENCE, List.of(60L));
+        stubNextval(RECIPIENT_SEQUENCE, List.of(90L, 120L));
+
+        repository(1000).insertAll(List.of(draft(7L, 35)));
+
+        // 수신자 35명 -> 2구간 예약, 필요한 만큼만 사용
+        verify(jdbcTemplate).queryForList(contains(EVENT_SEQUENCE), eq(Long.class), eq(1));
+        verify(jdbcTemplate).queryForList(contains(RECIPIENT_SEQUENCE), eq(Long.class), eq(2));
+
+        assertEquals(List.of(31L), column(0, 0));
+        assertEquals(LongStream.rangeClosed(61, 95).boxed().toList(), column(1, 0));
+        assertTrue(column(1, 1).stream().allMatch(eventId -> eventId.equals(31L)));
+    }
+
+    @Test
+    void 시퀀스_초기값_구간은_건너뛰고_부족한_id_를_다시_예약한다() {
+        stubNextval(EVENT_SEQUENCE, List.of(1L), List.of(31L));
+        stubNextval(RECIPIENT_SEQUENCE, List.of(60L));
+
+        repository(1000).insertAll(List.of(draft(7L, 1)));
+
+        verify(jdbcTemplate, times(2)).queryForList(contains(EVENT_SEQUENCE), eq(Long.class), eq(1));
+        assertEquals(List.of(2L), column(0, 0));
+        assertEquals(List.of(31L), column(1, 0));
+    }
+
+    @Test
+    void 수신자가_없는_알림은_저장하지_않고_id_순서는_유지한다() {
+        stubNextval(EVENT_SEQUENCE, List.of(30L));
+        stubNextval(RECIPIENT_SEQUENCE, List.of(30L));
+
+        repository(1000).insertAll(List.of(draft(1L, 1), draft(2L, 0), draft(3L, 2)));
+
+        assertEquals(List.of(1L, 3L), column(0, 0));
+        assertEquals(List.of(1L, 3L), column(0, 1));
+        assertEquals(List.of(1L, 3L, 3L), column(1, 1));
+        assertEquals(List.of(1L, 2L, 3L), column(1, 0));
+    }
+
+    @Test
+    void 수신자가_한_명도_없으면_id_를_예약하지_않는다() {
+        repository(1000).insertAll(List.of(draft(1L, 0)));
+
+        verify(jdbcTemplate, never()).queryForList(anyString(), eq(Long.class), any(Object[].class));
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    @Test
+    void insertBatchSize_건씩_나누어_INSERT_한다() {
+        stubNextval(EVENT_SEQUENCE, List.of(30L));
+        stubNextval(RECIPIENT_SEQUENCE, List.of(30L));
+
+        repository(2).insertAll(List.of(draft(1L, 5)));
+
+        // 알림 1건, 수신자 2 + 2 + 1건
+        assertEquals(4, insertSqls.size());
+        assertTrue(insertSqls.get(0).startsWith("INSERT INTO notification_event "));
+        assertTrue(insertSqls.get(1).endsWith("VALUES (?, ?, ?, ?, ?),(?, ?, ?, ?, ?)"));
+        assertTrue(insertSqls.get(3).endsWith("VALUES (?, ?, ?, ?, ?)"));
+        assertEquals(List.of(10, 10, 5), insertArgs.subList(1, 4).stream().map(args -> args.length).toList());
+    }
+
+    private NotificationBulkRepository repository(int insertBatchSize) {
+        return new NotificationBulkRepository(jdbcTemplate, transactionTemplate, insertBatchSize);
+    }
+
+    @SafeVarargs
+    private void stubNextval(String sequence, List<Long> first, List<Long>... next) {
+        when(jdbcTemplate.queryForList(contains(sequence), eq(Long.class), any(Object[].class))).thenReturn(first, next);
+    }
+
+    /**
+     * @param table  0: notification_event, 1: notification_recipient
+     * @param column 행의 column index
+     * */
+    private List<Long> column(int table, int column) {
+        String prefix = table == 0 ? "INSERT INTO notification_event " : "INSERT INTO notification_recipient ";
+        List<Long> values = new ArrayList<>();
+        for (int i = 0; i < insertSqls.size(); i++) {
+            if (!insertSqls.get(i).startsWith(prefix)) {
+                continue;
+            }
+            Object[] args = insertArgs.get(i);
+            for (int row = 0; row * 5 < args.length; row++) {
+                values.add((Long) args[row * 5 + column]);
+            }
+        }
+        return values;
+    }
+
+    private static NotificationDraft draft(Long routineUserId, int recipients) {
+        return NotificationDraft.builder()
+                .routineUserId(routineUserId)
+                .title("복약 알림")
+                .content("약을 복용할 시간이에요.")
+                .sentAt(SENT_AT)
+                .recipientIds(LongStream.rangeClosed(1, recipients).boxed().toList())
+                .build();
+    }
+}
@@ -14,6 +14,7 @@ import org.springframework.data.redis.connection.lettuce.LettuceClientConfigurat
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializer;
@@ -104,6 +105,22 @@ public class RedisConfig {
         return new StringRedisTemplate(redisConnectionFactoryJwt);
     }
 
+    // 알림 Redis에 대한 StringRedisTemplate (루틴 변경 이벤트 발행 등 문자열 값 전송용)
+    @Bean(name = "redisAlarmStringTemplate")
+    public StringRedisTemplate redisAlarmStringTemplate(
+            @Qualifier("redisConnectionFactoryAlarm") RedisConnectionFactory connectionFactory) {
+        return new StringRedisTemplate(connectionFactory);
+    }
+
+    // 알림 Redis pub/sub 구독 컨테이너 (알림 서버의 보호자 실시간 이벤트 수신)
+    @Bean(name = "redisAlarmMessageListenerContainer")
+    public RedisMessageListenerContainer redisAlarmMessageListenerContainer(
+            @Qualifier("redisConnectionFactoryAlarm") RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
     /**
      * Redis JSON 직렬화 설정
      */
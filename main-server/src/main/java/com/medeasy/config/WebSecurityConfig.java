@@ -3,6 +3,7 @@ package com.medeasy.config;
 import com.medeasy.filter.ExceptionHandlerFilter;
 import com.medeasy.filter.JwtAuthenticationFilter;
 import com.medeasy.domain.auth.util.JwtTokenHelper;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
@@ -60,6 +61,9 @@ public class WebSecurityConfig {
                                     "/error"
                                     )
                             .permitAll()
+                            // SSE 응답 완료 시 async dispatch (최초 요청에서 인증 완료)
+                            .dispatcherTypeMatchers(DispatcherType.ASYNC)
+                            .permitAll()
                             .anyRequest().authenticated()
                 )
 
@@ -0,0 +1,39 @@
+package com.medeasy.domain.alarm_due.db;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 알림 서버 조회용 복약 알림 일정 (루틴 1건당 1행)
+ *
+ * 알림 서버가 매 tick 마다 routine, routine_group, user_schedule 을 조인하지 않도록
+ * 알림 시각(take_date + take_time), 사용자, 약 별명, 복용 여부만 비정규화하여 저장한다.
+ * 테이블과 인덱스는 db/alarm-due-schema.sql 로 생성한다.
+ * */
+@Entity
+@Table(name = "alarm_due")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlarmDueEntity {
+
+    @Id
+    @Column(name = "routine_id")
+    private Long routineId;
+
+    @Column(nullable = false)
+    private LocalDateTime dueAt;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private String nickname;
+
+    @Column(nullable = false)
+    private Boolean isTaken;
+}
@@ -0,0 +1,40 @@
+package com.medeasy.domain.alarm_due.db;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface AlarmDueRepository extends JpaRepository<AlarmDueEntity, Long> {
+
+    /**
+     * 사용자의 fromDate 이후 루틴을 다시 계산하여 반영 (변경된 행만 UPDATE)
+     * 같은 트랜잭션에서 변경한 루틴, 스케줄이 반영되도록 실행 전에 flush 한다.
+     * */
+    @Modifying(flushAutomatically = true)
+    @Query(nativeQuery = true, value = "INSERT INTO alarm_due (routine_id, due_at, user_id, nickname, is_taken) " +
+            "SELECT r.id, r.take_date + us.take_time, rg.user_id, rg.nickname, r.is_taken " +
+            "FROM routine r " +
+            "JOIN routine_group rg ON rg.id = r.routine_group_id " +
+            "JOIN user_schedule us ON us.id = r.user_schedule_id " +
+            "WHERE rg.user_id = :userId " +
+            "AND r.take_date >= :fromDate " +
+            "ON CONFLICT (routine_id) DO UPDATE SET " +
+            "due_at = EXCLUDED.due_at, nickname = EXCLUDED.nickname, is_taken = EXCLUDED.is_taken " +
+            "WHERE (alarm_due.due_at, alarm_due.nickname, alarm_due.is_taken) " +
+            "IS DISTINCT FROM (EXCLUDED.due_at, EXCLUDED.nickname, EXCLUDED.is_taken)")
+    int upsertByUserIdFrom(@Param("userId") Long userId, @Param("fromDate") LocalDate fromDate);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE AlarmDueEntity a SET a.isTaken = :isTaken " +
+            "WHERE a.routineId IN :routineIds")
+    int updateIsTaken(@Param("routineIds") List<Long> routineIds, @Param("isTaken") Boolean isTaken);
+
+    @Modifying
+    @Query("DELETE FROM AlarmDueEntity a WHERE a.dueAt < :before")
+    int deleteByDueAtBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,55 @@
+package com.medeasy.domain.alarm_due.service;
+
+import com.medeasy.domain.alarm_due.db.AlarmDueRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 알림 서버 조회용 alarm_due 갱신
+ *
+ * 루틴 등록, 수정, 복용 체크, 스케줄 시간 변경 시 호출한 트랜잭션 안에서 함께 반영한다.
+ * 루틴 삭제는 FK(ON DELETE CASCADE) 로 반영된다.
+ * */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AlarmDueService {
+
+    // 알림 서버가 자정 전후 누락 알림을 다시 조회할 수 있도록 어제 일정부터 유지
+    private static final int KEEP_DAYS = 1;
+
+    private final AlarmDueRepository alarmDueRepository;
+
+    /**
+     * 사용자의 어제 이후 알림 일정을 루틴 테이블 기준으로 다시 계산
+     * */
+    @Transactional
+    public void refreshUser(Long userId) {
+        int updated = alarmDueRepository.upsertByUserIdFrom(userId, LocalDate.now().minusDays(KEEP_DAYS));
+        log.debug("alarm_due 갱신: userId={}, {}건", userId, updated);
+    }
+
+    @Transactional
+    public void updateIsTaken(List<Long> routineIds, boolean isTaken) {
+        if (routineIds.isEmpty()) {
+            return;
+        }
+        alarmDueRepository.updateIsTaken(routineIds, isTaken);
+    }
+
+    /**
+     * 지난 알림 일정 삭제 (루틴 테이블에는 그대로 남는다.)
+     * */
+    @Scheduled(cron = "0 30 4 * * *")
+    @Transactional
+    public void deleteExpired() {
+        int deleted = alarmDueRepository.deleteByDueAtBefore(LocalDate.now().minusDays(KEEP_DAYS).atStartOfDay());
+        log.info("지난 alarm_due 삭제: {}건", deleted);
+    }
+}
@@ -0,0 +1,41 @@
+package com.medeasy.domain.care_event.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 보호자에게 SSE 로 전달되는 이벤트 내용 (SSE data)
+ * */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CareEvent {
+
+    @JsonProperty("type")
+    private CareEventType type;
+
+    @JsonProperty("care_receiver_id")
+    private Long careReceiverId;
+
+    @JsonProperty("care_receiver_name")
+    private String careReceiverName;
+
+    @JsonProperty("title")
+    private String title;
+
+    @JsonProperty("body")
+    private String body;
+
+    @JsonProperty("routine_ids")
+    private List<Long> routineIds;
+
+    @JsonProperty("occurred_at")
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,29 @@
+package com.medeasy.domain.care_event.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * care:event 채널 메시지 1건 (알림 서버 발행): 같은 이벤트를 받는 보호자 전체와 이벤트 내용
+ * */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CareEventMessage {
+
+    // 전달 확인 key (care:event:ack:{delivery_id}) 구분용
+    @JsonProperty("delivery_id")
+    private String deliveryId;
+
+    @JsonProperty("care_provider_ids")
+    private List<Long> careProviderIds;
+
+    @JsonProperty("event")
+    private CareEvent event;
+}
@@ -0,0 +1,241 @@
+package com.medeasy.domain.care_event.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.medeasy.domain.care_event.dto.CareEventMessage;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 보호자 실시간 이벤트 SSE 연결 관리
+ *
+ * 보호자가 앱을 열어 둔 동안 피보호자의 복약 체크, 복용 시각, 미복용 이벤트를 SSE 로 전달한다.
+ * - 연결 상태: care:sse:{보호자 id} 에 연결된 서버 id 집합을 저장하고 heartbeat 마다 TTL 을 갱신한다.
+ *   알림 서버는 이 key 로 연결 여부를 확인하여 연결된 보호자는 care:event 채널로, 나머지는 FCM 으로 전송한다.
+ * - 이벤트 수신: 모든 서버가 care:event 채널을 구독하고 자신에게 연결된 보호자에게만 전달한다.
+ * - 전달 확인: 전달한 보호자를 care:event:ack:{delivery_id} 에 기록한다.
+ *   알림 서버는 확인 대기 시간 이후 기록되지 않은 보호자에게 FCM 으로 전송한다.
+ *
+ * 서버가 비정상 종료된 경우 연결 상태는 TTL 이후 사라지며, 그 사이 이벤트는 앱 재연결 후 루틴 조회로 확인한다.
+ * */
+@Slf4j
+@Service
+public class CareEventSseService {
+
+    private static final String PRESENCE_KEY_PREFIX = "care:sse:";
+    private static final String CARE_EVENT_CHANNEL = "care:event";
+    private static final String ACK_KEY_PREFIX = "care:event:ack:";
+
+    private final Map<Long, Set<SseEmitter>> emitters = new ConcurrentHashMap<>();
+
+    private final StringRedisTemplate redisAlarmStringTemplate;
+    private final ObjectMapper objectMapper;
+    private final String nodeId;
+    private final long timeoutMillis;
+    private final long presenceTtlSeconds;
+    private final long ackTtlSeconds;
+
+    public CareEventSseService(
+            @Qualifier("redisAlarmStringTemplate") StringRedisTemplate redisAlarmStringTemplate,
+            @Qualifier("redisAlarmMessageListenerContainer") RedisMessageListenerContainer redisAlarmMessageListenerContainer,
+            ObjectMapper objectMapper,
+            @Value("${HOSTNAME:main}") String hostname,
+            @Value("${care-event.sse.timeout-minutes:30}") long timeoutMinutes,
+            @Value("${care-event.sse.presence-ttl-seconds:45}") long presenceTtlSeconds,
+            @Value("${care-event.sse.ack-ttl-seconds:60}") long ackTtlSeconds
+    ) {
+        this.redisAlarmStringTemplate = redisAlarmStringTemplate;
+        this.objectMapper = objectMapper;
+        // 같은 host 에서 재시작한 경우에도 이전 연결 상태와 구분
+        this.nodeId = hostname + ":" + UUID.randomUUID();
+        this.timeoutMillis = timeoutMinutes * 60 * 1000;
+        this.presenceTtlSeconds = presenceTtlSeconds;
+        this.ackTtlSeconds = ackTtlSeconds;
+
+        redisAlarmMessageListenerContainer.addMessageListener(
+                (message, pattern) -> dispatch(message.getBody()),
+                new ChannelTopic(CARE_EVENT_CHANNEL)
+        );
+    }
+
+    public SseEmitter subscribe(Long careProviderId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        emitter.onCompletion(() -> remove(careProviderId, emitter));
+        emitter.onTimeout(() -> remove(careProviderId, emitter));
+        emitter.onError(e -> remove(careProviderId, emitter));
+
+        emitters.computeIfAbsent(careProviderId, key -> ConcurrentHashMap.newKeySet()).add(emitter);
+        refreshPresence(List.of(careProviderId));
+
+        // 연결 직후 응답 헤더를 내려보내기 위한 첫 이벤트
+        send(careProviderId, emitter, SseEmitter.event().name("connected").data(careProviderId));
+
+        log.info("보호자 SSE 연결: userId={}, 서버 연결 수 {}", careProviderId, emitters.size());
+        return emitter;
+    }
+
+    /**
+     * 연결 유지용 comment 전송, 끊어진 연결 정리 후 연결 상태 TTL 갱신
+     * */
+    @Scheduled(fixedDelayString = "${care-event.sse.heartbeat-millis:15000}")
+    public void heartbeat() {
+        emitters.forEach((careProviderId, userEmitters) ->
+                userEmitters.forEach(emitter -> send(careProviderId, emitter, SseEmitter.event().comment("ping")))
+        );
+        refreshPresence(new ArrayList<>(emitters.keySet()));
+    }
+
+    @PreDestroy
+    public void close() {
+        List<Long> careProviderIds = new ArrayList<>(emitters.keySet());
+        emitters.values().forEach(userEmitters -> userEmitters.forEach(SseEmitter::complete));
+        emitters.clear();
+        removePresence(careProviderIds);
+    }
+
+    private void dispatch(byte[] body) {
+        List<CareEventMessage> messages;
+        try {
+            messages = objectMapper.readValue(new String(body, StandardCharsets.UTF_8), new TypeReference<List<CareEventMessage>>() {});
+        } catch (Exception e) {
+            log.error("보호자 실시간 이벤트 변환 오류: {}", e.getMessage(), e);
+            return;
+        }
+
+        int sent = 0;
+        Map<String, List<Long>> deliveredIds = new HashMap<>();
+        for (CareEventMessage message : messages) {
+            for (Long careProviderId : message.getCareProviderIds()) {
+                Set<SseEmitter> userEmitters = emitters.get(careProviderId);
+                if (userEmitters == null) {
+                    continue;
+                }
+
+                boolean delivered = false;
+                for (SseEmitter emitter : userEmitters) {
+                    if (send(careProviderId, emitter, SseEmitter.event().name(message.getEvent().getType().name()).data(message.getEvent()))) {
+                        delivered = true;
+                        sent++;
+                    }
+                }
+                if (delivered && message.getDeliveryId() != null) {
+                    deliveredIds.computeIfAbsent(message.getDeliveryId(), key -> new ArrayList<>()).add(careProviderId);
+                }
+            }
+        }
+
+        if (sent > 0) {
+            ack(deliveredIds);
+            log.debug("보호자 실시간 이벤트 전달: 이벤트 {}건, 연결 {}건", messages.size(), sent);
+        }
+    }
+
+    /**
+     * 전달한 보호자 기록, 기록에 실패하면 알림 서버가 FCM 으로 한 번 더 전송한다.
+     * */
+    private void ack(Map<String, List<Long>> deliveredIds) {
+        if (deliveredIds.isEmpty()) {
+            return;
+        }
+
+        try {
+            redisAlarmStringTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                deliveredIds.forEach((deliveryId, careProviderIds) -> {
+                    byte[] key = (ACK_KEY_PREFIX + deliveryId).getBytes(StandardCharsets.UTF_8);
+                    byte[][] members = careProviderIds.stream()
+                            .map(careProviderId -> careProviderId.toString().getBytes(StandardCharsets.UTF_8))
+                            .toArray(byte[][]::new);
+                    connection.setCommands().sAdd(key, members);
+                    connection.keyCommands().expire(key, ackTtlSeconds);
+                });
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("보호자 실시간 이벤트 전달 기록 실패: 이벤트 {}건, {}", deliveredIds.size(), e.getMessage());
+        }
+    }
+
+    private boolean send(Long careProviderId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+            return true;
+        } catch (Exception e) {
+            // 클라이언트 연결 종료
+            log.debug("보호자 SSE 전송 실패, 연결 정리: userId={}, {}", careProviderId, e.getMessage());
+            emitter.completeWithError(e);
+            remove(careProviderId, emitter);
+            return false;
+        }
+    }
+
+    private void remove(Long careProviderId, SseEmitter emitter) {
+        boolean[] lastConnection = {false};
+        emitters.computeIfPresent(careProviderId, (key, userEmitters) -> {
+            userEmitters.remove(emitter);
+            if (userEmitters.isEmpty()) {
+                lastConnection[0] = true;
+                return null;
+            }
+            return userEmitters;
+        });
+
+        if (lastConnection[0]) {
+            removePresence(List.of(careProviderId));
+            log.info("보호자 SSE 연결 종료: userId={}", careProviderId);
+        }
+    }
+
+    private void refreshPresence(List<Long> careProviderIds) {
+        if (careProviderIds.isEmpty()) {
+            return;
+        }
+
+        byte[] member = nodeId.getBytes(StandardCharsets.UTF_8);
+        try {
+            redisAlarmStringTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (Long careProviderId : careProviderIds) {
+                    byte[] key = presenceKey(careProviderId);
+                    connection.setCommands().sAdd(key, member);
+                    connection.keyCommands().expire(key, presenceTtlSeconds);
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            // 연결 상태가 없으면 알림 서버가 FCM 으로 전송하므로 알림은 유실되지 않는다.
+            log.warn("보호자 SSE 연결 상태 갱신 실패: {}명, {}", careProviderIds.size(), e.getMessage());
+        }
+    }
+
+    private void removePresence(List<Long> careProviderIds) {
+        if (careProviderIds.isEmpty()) {
+            return;
+        }
+
+        byte[] member = nodeId.getBytes(StandardCharsets.UTF_8);
+        try {
+            redisAlarmStringTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                careProviderIds.forEach(careProviderId -> connection.setCommands().sRem(presenceKey(careProviderId), member));
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("보호자 SSE 연결 상태 삭제 실패: {}명, {}", careProviderIds.size(), e.getMessage());
+        }
+    }
+
+    private static byte[] presenceKey(Long careProviderId) {
+        return (PRESENCE_KEY_PREFIX + careProviderId).getBytes(StandardCharsets.UTF_8);
+    }
+}
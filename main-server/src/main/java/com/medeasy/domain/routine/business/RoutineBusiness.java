@@ -8,6 +8,7 @@ import com.medeasy.common.error.SchedulerError;
 import com.medeasy.common.exception.ApiException;
 import com.medeasy.domain.ai.dto.AiResponseDto;
 import com.medeasy.domain.ai.service.GeminiPrescriptionAiService;
+import com.medeasy.domain.alarm_due.service.AlarmDueService;
 import com.medeasy.domain.medicine.db.MedicineDocument;
 import com.medeasy.domain.medicine.service.MedicineDocumentService;
 import com.medeasy.domain.ocr.dto.OcrParsedDto;
@@ -77,6 +78,7 @@ public class RoutineBusiness {
     private final RoutineCreator routineFutureCreator;
     private final UserScheduleBusiness userScheduleBusiness;
     private final RoutineEventService routineEventService;
+    private final AlarmDueService alarmDueService;
 
     // 생성자 주입 + @Qualifier 적용
     public RoutineBusiness(
@@ -102,7 +104,8 @@ public class RoutineBusiness {
             @Qualifier("routineBasicCreator") RoutineCreator routineBasicCreator,
             @Qualifier("routineContainPastCreator") RoutineCreator routineContainPastCreator,
             @Qualifier("routineFutureCreator") RoutineCreator routineFutureCreator,
-            UserScheduleBusiness userScheduleBusiness, RoutineEventService routineEventService) {
+            UserScheduleBusiness userScheduleBusiness, RoutineEventService routineEventService,
+            AlarmDueService alarmDueService) {
         this.routineService = routineService;
         this.routineGroupService = routineGroupService;
         this.userService = userService;
@@ -130,6 +133,7 @@ public class RoutineBusiness {
         this.routineContainPastCreator = routineContainPastCreator;
         this.routineFutureCreator = routineFutureCreator;
         this.routineEventService = routineEventService;
+        this.alarmDueService = alarmDueService;
     }
     /**
      * 단일 약 루틴 저장
@@ -183,6 +187,8 @@ public class RoutineBusiness {
         routineGroupEntity.setUser(userEntity);
         routineGroupService.mappingRoutineGroup(routineGroupEntity, routineEntities);
         routineRepository.saveAll(routineEntities);
+        alarmDueService.refreshUser(userId);
+        routineEventService.publishRoutineChangeEvent(userId);
     }
 
 
@@ -259,8 +265,14 @@ public class RoutineBusiness {
 
         if (allTaken) {
             log.info("알약 복용 체크 이벤트 저장");
-            routineEventService.publishRoutineCheckEvent(userId, targetRoutine.getUserSchedule().getName());
+            routineEventService.publishRoutineCheckEvent(
+                    userId,
+                    targetRoutine.getUserSchedule().getName(),
+                    routineEntities.stream().map(RoutineEntity::getId).toList()
+            );
         }
+        alarmDueService.updateIsTaken(List.of(routineId), isTaken);
+        routineEventService.publishRoutineChangeEvent(userId);
 
         return RoutineCheckResponse.builder()
                 .routineId(routineId)
@@ -287,6 +299,8 @@ public class RoutineBusiness {
                 })
                 .collect(Collectors.toList());
 
+        alarmDueService.updateIsTaken(routineEntities.stream().map(RoutineEntity::getId).toList(), true);
+        routineEventService.publishRoutineChangeEvent(userId);
         return responses;
     }
 
@@ -388,6 +402,7 @@ public class RoutineBusiness {
     public void deleteRoutine(Long userId, Long routineId) {
         // routine 존재 여부 파악
         routineService.deleteRoutineByUserIdAndId(userId, routineId);
+        routineEventService.publishRoutineChangeEvent(userId);
     }
 
     @Deprecated
@@ -592,6 +607,8 @@ public class RoutineBusiness {
         routineGroupEntity.updateRoutine(nickname, medicineId, dose);
 
         routineService.saveAll(newRoutineEntities);
+        alarmDueService.refreshUser(userId);
+        routineEventService.publishRoutineChangeEvent(userId);
 //        routineService.deleteRoutines(notTakenRoutines); // deleteAll 쿼리를 날렸지만, routine_group 컬렉션에는 여전히 남아있기 때문에 지워지지 않음
     }
 
@@ -600,18 +617,22 @@ public class RoutineBusiness {
         RoutineEntity routineEntity=routineService.getUserRoutineById(userId, routineId);
         RoutineGroupEntity routineGroupEntity=routineEntity.getRoutineGroup();
         routineGroupRepository.delete(routineGroupEntity);
+        routineEventService.publishRoutineChangeEvent(userId);
     }
 
     @Transactional
     public void deleteRoutineGroup(Long userId, Long routineGroupId) {
         RoutineGroupEntity routineGroupEntity=routineGroupService.findRoutineGroupById(routineGroupId);
         routineGroupRepository.delete(routineGroupEntity);
+        routineEventService.publishRoutineChangeEvent(userId);
     }
 
     @Transactional
     public void patchRoutineNickname(Long userId, Long routineId, String newNickname) {
         RoutineGroupEntity routineGroupEntity = routineGroupService.findByRoutineIdAndUserId(routineId, userId);
         routineGroupEntity.setNickname(newNickname);
+        alarmDueService.refreshUser(userId);
+        routineEventService.publishRoutineChangeEvent(userId);
     }
 
     /**
@@ -744,6 +765,8 @@ public class RoutineBusiness {
                 .orElseThrow(() -> new ApiException(ErrorCode.SERVER_ERROR, "해당 스케줄의 루틴을 찾을 수 없습니다."));
 
         targetRoutine.setIsTaken(true);
+        alarmDueService.updateIsTaken(List.of(targetRoutine.getId()), true);
+        routineEventService.publishRoutineChangeEvent(userId);
 
         return RoutineCheckResponse.builder()
                 .routineId(targetRoutine.getId())
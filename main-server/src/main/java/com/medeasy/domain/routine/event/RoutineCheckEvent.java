@@ -7,6 +7,7 @@ import lombok.NoArgsConstructor;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @Builder
@@ -23,4 +24,7 @@ public class RoutineCheckEvent implements Serializable {
     // 복약 체크 정보
     private Long userId;
     private LocalDateTime checkedAt;
+
+    // 복용 체크된 루틴 id (알림 서버의 단계 알림 취소용)
+    private List<Long> routineIds;
 }
@@ -1,27 +1,46 @@
 package com.medeasy.domain.routine.event;
 
-import lombok.RequiredArgsConstructor;
+import com.medeasy.domain.routine_check_outbox.db.RoutineCheckOutboxEntity;
+import com.medeasy.domain.routine_check_outbox.db.RoutineCheckOutboxRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class RoutineEventService {
 
-    @Qualifier("redisAlarmTemplate")
-    private final RedisTemplate<String, RoutineCheckEvent> redisTemplate;
-    private static final String ROUTINE_CHECK_QUEUE = "routine:check:events";
+    private final StringRedisTemplate redisAlarmStringTemplate;
+    private final RoutineCheckOutboxRepository routineCheckOutboxRepository;
+    private static final String ROUTINE_CHANGE_CHANNEL = "routine:change";
+
+    public RoutineEventService(
+            @Qualifier("redisAlarmStringTemplate") StringRedisTemplate redisAlarmStringTemplate,
+            RoutineCheckOutboxRepository routineCheckOutboxRepository
+    ) {
+        this.redisAlarmStringTemplate = redisAlarmStringTemplate;
+        this.routineCheckOutboxRepository = routineCheckOutboxRepository;
+    }
 
     /**
-     * 복약 체크 이벤트 생성 및 Redis 큐에 전송
+     * 복약 체크 이벤트를 outbox 에 저장
+     *
+     * 호출한 트랜잭션(복용 체크)과 함께 커밋되며, Redis Stream 발행은 RoutineCheckOutboxRelay 가 수행한다.
+     * 복용 체크 요청은 Redis 를 기다리지 않고, Redis 장애 중 저장된 이벤트는 복구 후 발행된다.
+     * 알림 서버는 consumer group 으로 스트림을 읽어 처리 후 ack 하므로
+     * 서버 재시작, 레플리카 증가 시에도 이벤트가 유실되지 않는다.
      */
-    public void publishRoutineCheckEvent(Long userId, String scheduleName) {
+    @Transactional
+    public void publishRoutineCheckEvent(Long userId, String scheduleName, List<Long> routineIds) {
 
         // 이벤트 생성
         RoutineCheckEvent event = RoutineCheckEvent.builder()
@@ -29,15 +48,45 @@ public class RoutineEventService {
                 .userId(userId)
                 .scheduleName(scheduleName)
                 .checkedAt(LocalDateTime.now())
+                .routineIds(routineIds)
                 .build();
 
-        // Redis 큐에 메시지 추가 (RPUSH)
+        routineCheckOutboxRepository.save(RoutineCheckOutboxEntity.builder()
+                .eventId(event.getEventId())
+                .userId(event.getUserId())
+                .scheduleName(event.getScheduleName())
+                .checkedAt(event.getCheckedAt())
+                .routineIds(event.getRoutineIds().stream().map(String::valueOf).collect(Collectors.joining(",")))
+                .build());
+        log.info("복약 체크 이벤트 outbox 저장: eventId={}", event.getEventId());
+    }
+
+    /**
+     * 사용자의 루틴 변경(등록, 수정, 복용 체크, 삭제) 이벤트 발행
+     *
+     * 알림 서버는 이벤트를 받아 해당 사용자의 오늘 알림 일정만 다시 적재한다.
+     * 트랜잭션 내부에서 호출된 경우 커밋 이후에 발행하여 알림 서버가 커밋 전 데이터를 읽지 않도록 한다.
+     */
+    public void publishRoutineChangeEvent(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    sendRoutineChangeEvent(userId);
+                }
+            });
+            return;
+        }
+
+        sendRoutineChangeEvent(userId);
+    }
+
+    private void sendRoutineChangeEvent(Long userId) {
         try {
-            redisTemplate.opsForList().rightPush(ROUTINE_CHECK_QUEUE, event);
-            log.info("복약 체크 이벤트가 Redis 큐에 전송되었습니다. eventId: {}", event.getEventId());
+            redisAlarmStringTemplate.convertAndSend(ROUTINE_CHANGE_CHANNEL, userId.toString());
         } catch (Exception e) {
-            log.error("Redis 큐에 이벤트 전송 실패: {}", e.getMessage(), e);
-            // 실패 시 대체 처리 로직 (예: DB에 저장하여 나중에 재시도)
+            // 알림 서버는 자정 전체 적재 시 다시 동기화되므로 실패 로그만 남긴다.
+            log.error("루틴 변경 이벤트 전송 실패: userId={}, {}", userId, e.getMessage(), e);
         }
     }
 }
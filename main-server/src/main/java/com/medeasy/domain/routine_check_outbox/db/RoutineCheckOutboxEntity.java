@@ -0,0 +1,40 @@
+package com.medeasy.domain.routine_check_outbox.db;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 발행 대기 중인 복약 체크 이벤트 (Redis Stream 발행 후 삭제)
+ *
+ * 테이블은 db/routine-check-outbox-schema.sql 로 생성한다.
+ * */
+@Entity
+@Table(name = "routine_check_outbox")
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoutineCheckOutboxEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 36)
+    private String eventId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(length = 150)
+    private String scheduleName;
+
+    // 쉼표로 구분한 루틴 id (스트림 필드 형식 그대로)
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String routineIds;
+
+    @Column(nullable = false)
+    private LocalDateTime checkedAt;
+}
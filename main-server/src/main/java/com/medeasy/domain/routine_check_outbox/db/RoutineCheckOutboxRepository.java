@@ -0,0 +1,17 @@
+package com.medeasy.domain.routine_check_outbox.db;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface RoutineCheckOutboxRepository extends JpaRepository<RoutineCheckOutboxEntity, Long> {
+
+    /**
+     * 저장 순서대로 최대 limit 건 조회 후 트랜잭션 종료까지 잠금
+     * 다른 레플리카가 잠근 행은 건너뛰어 여러 레플리카가 서로 다른 이벤트를 발행한다.
+     * */
+    @Query(nativeQuery = true, value = "SELECT * FROM routine_check_outbox ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED")
+    List<RoutineCheckOutboxEntity> findRelayBatch(@Param("limit") int limit);
+}
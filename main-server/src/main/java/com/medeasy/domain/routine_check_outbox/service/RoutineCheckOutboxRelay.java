@@ -0,0 +1,103 @@
+package com.medeasy.domain.routine_check_outbox.service;
+
+import com.medeasy.domain.routine_check_outbox.db.RoutineCheckOutboxEntity;
+import com.medeasy.domain.routine_check_outbox.db.RoutineCheckOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 복약 체크 이벤트 outbox 를 Redis Stream 으로 발행
+ *
+ * 저장 순서대로 batch-size 건씩 잠근 후(SKIP LOCKED) XADD 를 파이프라인으로 묶어 한 번의 왕복으로 발행하고,
+ * 같은 트랜잭션에서 outbox 행을 삭제한다.
+ * Redis 오류 시 트랜잭션이 롤백되어 이벤트가 outbox 에 남고 다음 주기에 다시 발행된다.
+ * 발행 후 커밋 전에 실패하면 같은 이벤트가 다시 발행될 수 있으며, 알림 서버가 event_id 로 중복을 제거한다.
+ * */
+@Slf4j
+@Service
+public class RoutineCheckOutboxRelay {
+
+    private static final byte[] ROUTINE_CHECK_STREAM = "routine:check:stream".getBytes(StandardCharsets.UTF_8);
+
+    private final RoutineCheckOutboxRepository routineCheckOutboxRepository;
+    private final StringRedisTemplate redisAlarmStringTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public RoutineCheckOutboxRelay(
+            RoutineCheckOutboxRepository routineCheckOutboxRepository,
+            @Qualifier("redisAlarmStringTemplate") StringRedisTemplate redisAlarmStringTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${routine.check-outbox.batch-size:500}") int batchSize
+    ) {
+        this.routineCheckOutboxRepository = routineCheckOutboxRepository;
+        this.redisAlarmStringTemplate = redisAlarmStringTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * outbox 가 빌 때까지 batch 단위로 발행
+     * */
+    @Scheduled(fixedDelayString = "${routine.check-outbox.relay-interval-millis:500}")
+    public void relay() {
+        try {
+            int relayed;
+            int total = 0;
+            do {
+                relayed = Objects.requireNonNull(transactionTemplate.execute(status -> relayBatch()));
+                total += relayed;
+            } while (relayed == batchSize);
+
+            if (total > 0) {
+                log.info("복약 체크 이벤트 Redis Stream 발행: {}건", total);
+            }
+        } catch (Exception e) {
+            log.error("복약 체크 이벤트 발행 실패, 다음 주기에 재시도: {}", e.getMessage(), e);
+        }
+    }
+
+    private int relayBatch() {
+        List<RoutineCheckOutboxEntity> events = routineCheckOutboxRepository.findRelayBatch(batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        redisAlarmStringTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (RoutineCheckOutboxEntity event : events) {
+                connection.streamCommands().xAdd(StreamRecords.rawBytes(toFields(event)).withStreamKey(ROUTINE_CHECK_STREAM));
+            }
+            return null;
+        });
+
+        routineCheckOutboxRepository.deleteAllByIdInBatch(events.stream().map(RoutineCheckOutboxEntity::getId).toList());
+        return events.size();
+    }
+
+    private static Map<byte[], byte[]> toFields(RoutineCheckOutboxEntity event) {
+        Map<byte[], byte[]> fields = new HashMap<>();
+        put(fields, "event_id", event.getEventId());
+        put(fields, "user_id", event.getUserId().toString());
+        put(fields, "schedule_name", Objects.toString(event.getScheduleName(), ""));
+        put(fields, "checked_at", event.getCheckedAt().toString());
+        put(fields, "routine_ids", event.getRoutineIds());
+        return fields;
+    }
+
+    private static void put(Map<byte[], byte[]> fields, String key, String value) {
+        fields.put(key.getBytes(StandardCharsets.UTF_8), value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -6,12 +6,14 @@ import com.medeasy.common.error.SchedulerError;
 import com.medeasy.common.error.TokenErrorCode;
 import com.medeasy.common.error.UserErrorCode;
 import com.medeasy.common.exception.ApiException;
+import com.medeasy.domain.alarm_due.service.AlarmDueService;
 import com.medeasy.domain.auth.business.AuthBusiness;
 import com.medeasy.domain.auth.dto.CareAuthCodeResponse;
 import com.medeasy.domain.auth.dto.TokenResponse;
 import com.medeasy.domain.auth.service.AuthCodeService;
 import com.medeasy.domain.auth.util.JwtTokenHelper;
 import com.medeasy.domain.auth.util.TokenHelperIfs;
+import com.medeasy.domain.routine.event.RoutineEventService;
 import com.medeasy.domain.routine.service.RoutineService;
 import com.medeasy.domain.user.dto.*;
 import com.medeasy.domain.user.db.UserEntity;
@@ -21,6 +23,7 @@ import com.medeasy.domain.user_care_mapping.converter.UserCareMappingConverter;
 import com.medeasy.domain.user_care_mapping.db.UserCareMappingEntity;
 import com.medeasy.domain.user_care_mapping.db.UserCareMappingRepository;
 import com.medeasy.domain.user_care_mapping.dto.CareReceiverResponse;
+import com.medeasy.domain.user_care_mapping.service.CareGraphCache;
 import com.medeasy.domain.user_care_mapping.service.UserCareMappingService;
 import com.medeasy.domain.user_schedule.converter.UserScheduleConverter;
 import com.medeasy.domain.user_schedule.db.UserScheduleEntity;
@@ -61,6 +64,9 @@ public class UserBusiness {
     private final UserCareMappingConverter userCareMappingConverter;
     private final UserCareMappingRepository userCareMappingRepository;
     private final JwtTokenHelper jwtTokenHelper;
+    private final RoutineEventService routineEventService;
+    private final AlarmDueService alarmDueService;
+    private final CareGraphCache careGraphCache;
 
 
     /**
@@ -81,6 +87,8 @@ public class UserBusiness {
         }
         if (request.getTakeTime() != null) {
             userScheduleEntity.setTakeTime(request.getTakeTime());
+            alarmDueService.refreshUser(userId);
+            routineEventService.publishRoutineChangeEvent(userId);
         }
 
         return userScheduleConverter.toDto(userScheduleEntity);
@@ -159,6 +167,7 @@ public class UserBusiness {
             throw new ApiException(TokenErrorCode.INVALID_TOKEN, "Refresh token does not match");
         }
 
+        careGraphCache.evictUser(userId);
         userService.deleteUser(userId);
     }
 
@@ -212,6 +221,7 @@ public class UserBusiness {
 
         UserCareMappingEntity userCareMappingEntity=userCareMappingConverter.registerCareRelation(careGiverUserEntity, careReceiverUserEntity);
         UserCareMappingEntity newUserCareMappingEntity=userCareMappingService.save(userCareMappingEntity);
+        careGraphCache.evict(careReceiverId);
 
         return RegisterCareResponse.builder()
                 .careGiverId(newUserCareMappingEntity.getCareProvider().getId())
@@ -231,6 +241,7 @@ public class UserBusiness {
     @Transactional
     public void deleteUserReceiver(Long userId, Long receiverId) {
         userCareMappingService.deleteCareReceiver(userId, receiverId);
+        careGraphCache.evict(receiverId);
     }
 
     @Transactional
@@ -274,17 +285,8 @@ public class UserBusiness {
         return result;
     }
 
-    @Transactional
     public TokenResponse loginByCareReceiver(Long userId, Long careReceiverUserId) {
-        UserEntity userEntity = userService.getUserWithCareReceivers(userId);
-        List<Long> careReceiversIds = Optional.ofNullable(userEntity.getCareReceivers())
-                .orElse(Collections.emptyList())
-                .stream()
-                .map(UserCareMappingEntity::getCareReceiver)
-                .map(UserEntity::getId)
-                .toList();
-
-        if(!careReceiversIds.contains(careReceiverUserId)){
+        if(!userCareMappingService.isCareReceiver(userId, careReceiverUserId)){
             throw new ApiException(UserErrorCode.NOT_FOUND_CARE_RECEIVER);
         }
 
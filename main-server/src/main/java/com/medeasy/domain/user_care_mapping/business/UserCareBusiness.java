@@ -5,34 +5,25 @@ import com.medeasy.common.error.ErrorCode;
 import com.medeasy.common.exception.ApiException;
 import com.medeasy.domain.routine.business.RoutineBusiness;
 import com.medeasy.domain.routine.dto.RoutineGroupDto;
-import com.medeasy.domain.user.db.UserEntity;
-import com.medeasy.domain.user.service.UserService;
 import com.medeasy.domain.user_care_mapping.service.UserCareMappingService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Stream;
 
 @Business
 @RequiredArgsConstructor
 public class UserCareBusiness {
 
-    private final UserService userService;
     private final RoutineBusiness routineBusiness;
     private final UserCareMappingService userCareMappingService;
 
     @Transactional
     public List<RoutineGroupDto> getCareReceiverRoutineListByDate(Long userId, Long careReceiverUserId, LocalDate startDate, LocalDate endDate) {
-        UserEntity userEntity = userService.getUserWithCareReceivers(userId);
-        List<UserEntity> receivers=userCareMappingService.getUserCareReceivers(userEntity);
-
-        boolean isAuthorizedReceiver = Stream.concat(
-                receivers.stream(),
-                Stream.of(userEntity)
-        ).anyMatch(receiver -> receiver.getId().equals(careReceiverUserId));
+        // 본인 또는 보호 대상
+        boolean isAuthorizedReceiver = userId.equals(careReceiverUserId)
+                || userCareMappingService.isCareReceiver(userId, careReceiverUserId);
 
         if (!isAuthorizedReceiver) {
             throw new ApiException(ErrorCode.NOT_FOUND, "조회하려는 보호대상이 존재하지 않습니다.");
@@ -5,6 +5,7 @@ import com.medeasy.common.api.Api;
 import com.medeasy.common.error.UserErrorCode;
 import com.medeasy.common.exception.ApiException;
 import com.medeasy.domain.auth.dto.CareAuthCodeResponse;
+import com.medeasy.domain.care_event.service.CareEventSseService;
 import com.medeasy.domain.routine.business.RoutineBusiness;
 import com.medeasy.domain.routine.dto.RoutineGroupDto;
 import com.medeasy.domain.user.business.UserBusiness;
@@ -14,12 +15,15 @@ import com.medeasy.domain.user.dto.UserListResponse;
 import com.medeasy.domain.user_care_mapping.business.UserCareBusiness;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -33,6 +37,7 @@ public class UserCareController {
     private final UserBusiness userBusiness;
     private final RoutineBusiness routineBusiness;
     private final UserCareBusiness userCareBusiness;
+    private final CareEventSseService careEventSseService;
 
     @Operation(summary = "루틴 관리 대상(피보호자) 등록 API", description =
             """
@@ -163,4 +168,37 @@ public class UserCareController {
         return Api.OK(response);
     }
 
+    @Operation(summary = "보호 대상 실시간 이벤트 구독 API (SSE)", description =
+            """
+                보호 대상 실시간 이벤트 구독 API:
+                
+                앱을 열어 둔 동안 보호 대상의 복약 이벤트를 Server-Sent Events 로 전달받는다.
+                
+                연결되어 있는 동안에는 같은 알림이 FCM 으로 전송되지 않는다.
+                
+            event 이름:
+            
+            connected: 연결 완료 
+            
+            ROUTINE_CHECK: 복약 체크 
+            
+            DOSE_TIME: 복용 시각 
+            
+            MISSED_DOSE: 복용 시각 이후 미복용 
+            
+            data: 
+            
+            type, care_receiver_id, care_receiver_name, title, body, routine_ids, occurred_at
+            """
+    )
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeCareEvents(
+            @Parameter(hidden = true) @UserSession Long userId,
+            HttpServletResponse response
+    ) {
+        // 프록시 응답 버퍼링 비활성화
+        response.setHeader("X-Accel-Buffering", "no");
+        return careEventSseService.subscribe(userId);
+    }
+
 }
@@ -15,6 +15,11 @@ public interface UserCareMappingRepository extends JpaRepository<UserCareMapping
 
     void deleteByCareProviderIdAndCareReceiverId(Long userId, Long careProviderId);
 
+    boolean existsByCareProviderIdAndCareReceiverId(Long careProviderId, Long careReceiverId);
+
     @Query("SELECT u.careProvider.id FROM UserCareMappingEntity u WHERE u.careReceiver.id = :careReceiverId")
     List<Long> findCareProviderIdsByCareReceiverId(@Param("careReceiverId") Long careReceiverId);
+
+    @Query("SELECT u.careReceiver.id FROM UserCareMappingEntity u WHERE u.careProvider.id = :careProviderId")
+    List<Long> findCareReceiverIdsByCareProviderId(@Param("careProviderId") Long careProviderId);
 }
@@ -0,0 +1,99 @@
+package com.medeasy.domain.user_care_mapping.service;
+
+import com.medeasy.domain.user_care_mapping.db.UserCareMappingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * 보호 관계 그래프 캐시 무효화 (알림 Redis, 알림 서버와 공유)
+ *
+ * - care:providers:{피보호자 id}: 보호자 id 집합, 알림 서버가 보호자 알림 전송 대상 조회 시 채운다.
+ * - care:providers:{피보호자 id}:version: 캐시 버전
+ *
+ * 보호 관계 등록, 삭제, 회원 탈퇴 시 커밋 이후 버전을 올리고 key 를 삭제한다.
+ * 알림 서버는 DB 조회 전에 읽은 버전이 그대로인 경우에만 캐시를 채우므로, 변경 이전에 조회한 관계가 캐시에 남지 않는다.
+ * 캐시는 전송 대상 조회에만 사용하며 권한 확인은 DB 에서 한다. (UserCareMappingService.isCareReceiver)
+ * */
+@Slf4j
+@Service
+public class CareGraphCache {
+
+    public static final String PROVIDERS_KEY_PREFIX = "care:providers:";
+    public static final String VERSION_KEY_SUFFIX = ":version";
+
+    private final StringRedisTemplate redisAlarmStringTemplate;
+    private final UserCareMappingRepository userCareMappingRepository;
+    private final long ttlSeconds;
+
+    public CareGraphCache(
+            @Qualifier("redisAlarmStringTemplate") StringRedisTemplate redisAlarmStringTemplate,
+            UserCareMappingRepository userCareMappingRepository,
+            @Value("${care-graph.ttl-hours:24}") long ttlHours
+    ) {
+        this.redisAlarmStringTemplate = redisAlarmStringTemplate;
+        this.userCareMappingRepository = userCareMappingRepository;
+        this.ttlSeconds = ttlHours * 3600;
+    }
+
+    /**
+     * 보호 관계 등록, 삭제 시 피보호자의 캐시 삭제
+     * */
+    public void evict(Long careReceiverId) {
+        evictAfterCommit(List.of(careReceiverId));
+    }
+
+    /**
+     * 회원 탈퇴 시 사용자와 사용자의 피보호자 캐시 삭제 (보호 관계가 삭제되기 전에 호출)
+     * */
+    public void evictUser(Long userId) {
+        List<Long> careReceiverIds = new ArrayList<>();
+        careReceiverIds.add(userId);
+        careReceiverIds.addAll(userCareMappingRepository.findCareReceiverIdsByCareProviderId(userId));
+        evictAfterCommit(careReceiverIds);
+    }
+
+    private void evictAfterCommit(List<Long> careReceiverIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    delete(careReceiverIds);
+                }
+            });
+            return;
+        }
+
+        delete(careReceiverIds);
+    }
+
+    /**
+     * 버전을 먼저 올려 진행 중인 캐시 채우기를 무효화한 뒤 key 삭제
+     * 버전 key 는 캐시 TTL 동안 유지하여 그 사이 시작된 채우기가 이전 버전과 비교되지 않도록 한다.
+     * */
+    private void delete(List<Long> careReceiverIds) {
+        try {
+            redisAlarmStringTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (Long careReceiverId : careReceiverIds) {
+                    String key = PROVIDERS_KEY_PREFIX + careReceiverId;
+                    byte[] versionKey = (key + VERSION_KEY_SUFFIX).getBytes(StandardCharsets.UTF_8);
+                    connection.stringCommands().incr(versionKey);
+                    connection.keyCommands().expire(versionKey, ttlSeconds);
+                    connection.keyCommands().del(key.getBytes(StandardCharsets.UTF_8));
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            // 캐시가 남아있으면 TTL 이후 다시 조회된다. (보호자 알림 대상에만 영향)
+            log.error("보호 관계 캐시 삭제 실패: 피보호자 {}, {}", careReceiverIds, e.getMessage(), e);
+        }
+    }
+}
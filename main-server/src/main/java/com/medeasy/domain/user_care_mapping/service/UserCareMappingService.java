@@ -24,6 +24,13 @@ public class UserCareMappingService {
         return userCareMappingRepository.findAllByCareProviderIdWithFetchJoin(userId);
     }
 
+    /**
+     * 보호 관계 확인 (권한 확인용, 캐시를 거치지 않고 DB 조회)
+     * */
+    public boolean isCareReceiver(Long userId, Long receiverId) {
+        return userCareMappingRepository.existsByCareProviderIdAndCareReceiverId(userId, receiverId);
+    }
+
     public void deleteCareReceiver(Long userId, Long receiverId) {
         userCareMappingRepository.deleteByCareProviderIdAndCareReceiverId(userId, receiverId);
     }
@@ -0,0 +1,28 @@
+-- 알림 서버 조회용 복약 알림 일정 (routine, routine_group, user_schedule 비정규화)
+-- 루틴 삭제 시 FK 로 함께 삭제되며, 등록, 수정, 복용 체크는 main-server 가 같은 트랜잭션에서 갱신한다.
+CREATE TABLE IF NOT EXISTS alarm_due (
+    routine_id BIGINT       NOT NULL PRIMARY KEY REFERENCES routine (id) ON DELETE CASCADE,
+    due_at     TIMESTAMP    NOT NULL,
+    user_id    BIGINT       NOT NULL,
+    nickname   VARCHAR(255) NOT NULL,
+    is_taken   BOOLEAN      NOT NULL
+);
+
+-- 알림 서버 시각 범위 조회 (복용하지 않은 루틴만, index only scan)
+CREATE INDEX IF NOT EXISTS idx_alarm_due_due_at_not_taken
+    ON alarm_due (due_at) INCLUDE (user_id, routine_id)
+    WHERE is_taken = false;
+
+-- 사용자 단위 갱신, 알림 서버 사용자 재적재
+CREATE INDEX IF NOT EXISTS idx_alarm_due_user_id_due_at
+    ON alarm_due (user_id, due_at);
+
+-- 테이블 최초 생성 시 어제 이후 루틴 적재 (이미 데이터가 있으면 건너뜀)
+INSERT INTO alarm_due (routine_id, due_at, user_id, nickname, is_taken)
+SELECT r.id, r.take_date + us.take_time, rg.user_id, rg.nickname, r.is_taken
+FROM routine r
+         JOIN routine_group rg ON rg.id = r.routine_group_id
+         JOIN user_schedule us ON us.id = r.user_schedule_id
+WHERE r.take_date >= CURRENT_DATE - 1
+  AND NOT EXISTS (SELECT 1 FROM alarm_due)
+ON CONFLICT (routine_id) DO NOTHING;
@@ -0,0 +1,10 @@
+-- 복약 체크 이벤트 outbox
+-- 복용 체크와 같은 트랜잭션에서 저장하고, RoutineCheckOutboxRelay 가 Redis Stream(routine:check:stream)에 발행 후 삭제한다.
+CREATE TABLE IF NOT EXISTS routine_check_outbox (
+    id            BIGSERIAL    PRIMARY KEY,
+    event_id      VARCHAR(36)  NOT NULL,
+    user_id       BIGINT       NOT NULL,
+    schedule_name VARCHAR(150),
+    routine_ids   TEXT         NOT NULL,
+    checked_at    TIMESTAMP    NOT NULL
+);